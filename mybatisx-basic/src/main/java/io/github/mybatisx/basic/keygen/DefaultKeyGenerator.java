@@ -35,4 +35,19 @@ public class DefaultKeyGenerator implements KeyGenerator {
     public Object nextId() {
         return this.sequence.nextId();
     }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    @Override
+    public long[] nextIds(int size) {
+        return this.sequence.nextIds(size);
+    }
+
+    @Override
+    public void fill(long[] dst) {
+        this.sequence.fill(dst);
+    }
 }
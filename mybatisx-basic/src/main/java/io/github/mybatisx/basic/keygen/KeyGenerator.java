@@ -37,6 +37,15 @@ public interface KeyGenerator {
         return new UUID(random.nextLong(), random.nextLong()).toString().replace("-", Constants.EMPTY);
     }
 
+    /**
+     * 按表选择主键生成器(默认所有表共用当前生成器)
+     * @param table 表名
+     * @return {@link KeyGenerator}
+     */
+    default KeyGenerator select(final String table) {
+        return this;
+    }
+
     /**
      * 获取唯一ID
      * @return id
@@ -50,4 +59,36 @@ public interface KeyGenerator {
     default String nextIdString() {
         return this.nextId().toString();
     }
+
+    /**
+     * 是否支持批量获取ID
+     * <p>返回true表示{@link #fill(long[])}生成的ID与{@link #nextId()}一致，且{@link #nextIdString()}
+     * 等价于ID的十进制字符串，调用方可通过{@link #nextIds(int)}批量分配；否则应逐个调用{@link #nextId()}或
+     * {@link #nextIdString()}。</p>
+     * @return boolean
+     */
+    default boolean supportsBatch() {
+        return false;
+    }
+
+    /**
+     * 批量获取唯一ID(要求{@link #nextId()}返回数值类型)
+     * @param size 数量
+     * @return id数组
+     */
+    default long[] nextIds(final int size) {
+        final long[] ids = new long[Math.max(size, 0)];
+        this.fill(ids);
+        return ids;
+    }
+
+    /**
+     * 获取唯一ID并填充至指定数组(要求{@link #nextId()}返回数值类型)
+     * @param dst 目标数组
+     */
+    default void fill(final long[] dst) {
+        for (int i = 0, size = dst.length; i < size; i++) {
+            dst[i] = ((Number) this.nextId()).longValue();
+        }
+    }
 }
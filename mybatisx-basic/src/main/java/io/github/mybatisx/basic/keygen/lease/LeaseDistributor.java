@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.lease;
+
+import io.github.sequence.snowflake.SnowflakeException;
+import io.github.sequence.snowflake.distributor.LeasedDistributor;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.management.ManagementFactory;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于数据库租约的机器ID-数据中心ID分配器
+ * <p>启动时从租约表中申请一个空闲或已过期的槽位(数据中心ID与机器ID的组合值)，并由后台线程定期续约；
+ * 节点下线后租约过期即可被其他节点回收。</p>
+ * <p>租约过期时间以数据库时间为准(各节点JVM时区需一致)；本地以续约发起时刻加有效期并扣除安全余量作为截止时间，
+ * 超过截止时间仍未续约成功或租约已被其他节点接管时，{@link #getLeasedSlot()}拒绝生成ID，并由后台线程重新申请槽位。</p>
+ * @author wvkity
+ * @created 2021-08-24
+ * @since 1.0.0
+ */
+public class LeaseDistributor implements LeasedDistributor, Closeable {
+
+    private static final long serialVersionUID = -6146371307467513845L;
+    private static final Logger log = LoggerFactory.getLogger(LeaseDistributor.class);
+    /**
+     * 默认租约表
+     */
+    public static final String DEF_TABLE = "MYBATISX_WORKER_LEASE";
+    /**
+     * 默认租约有效期(毫秒)
+     */
+    public static final long DEF_TTL = 60000L;
+    /**
+     * 申请租约最大重试次数
+     */
+    private static final int MAX_RETRIES = 16;
+    /**
+     * 安全余量占租约有效期的比例(1/4)
+     */
+    private static final int SAFETY_MARGIN_SHIFT = 2;
+    private final int timestampBits;
+    private final int dataCenterBits;
+    private final int workerBits;
+    private final int sequenceBits;
+    private final String table;
+    private final long ttl;
+    /**
+     * 本地租约有效时长(纳秒，租约有效期扣除安全余量)
+     */
+    private final long validNanos;
+    private final String owner;
+    /**
+     * 查询数据库当前时间语句
+     */
+    private final String timestampQuery;
+    private final transient SqlSessionFactory sqlSessionFactory;
+    private final transient ScheduledThreadPoolExecutor scheduler;
+    private volatile long slot;
+    /**
+     * 本地租约截止时间({@link System#nanoTime()})
+     */
+    private volatile long deadline;
+    private volatile boolean lost;
+    private volatile boolean closed;
+
+    public LeaseDistributor(DataSource dataSource, int timestampBits, int workerBits, int dataCenterBits,
+                            int sequenceBits) {
+        this(buildSqlSessionFactory(dataSource), DEF_TABLE, DEF_TTL, true, timestampBits, workerBits,
+            dataCenterBits, sequenceBits);
+    }
+
+    public LeaseDistributor(DataSource dataSource, String table, long ttl, boolean autoCreateTable,
+                            int timestampBits, int workerBits, int dataCenterBits, int sequenceBits) {
+        this(buildSqlSessionFactory(dataSource), table, ttl, autoCreateTable, timestampBits, workerBits,
+            dataCenterBits, sequenceBits);
+    }
+
+    public LeaseDistributor(SqlSessionFactory sqlSessionFactory, String table, long ttl, boolean autoCreateTable,
+                            int timestampBits, int workerBits, int dataCenterBits, int sequenceBits) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.table = table == null || table.trim().isEmpty() ? DEF_TABLE : table;
+        this.ttl = ttl <= 0 ? DEF_TTL : ttl;
+        this.validNanos = TimeUnit.MILLISECONDS.toNanos(this.ttl - (this.ttl >>> SAFETY_MARGIN_SHIFT));
+        this.timestampBits = timestampBits;
+        this.workerBits = workerBits;
+        this.dataCenterBits = dataCenterBits;
+        this.sequenceBits = sequenceBits;
+        this.owner = ownerName();
+        final Configuration configuration = sqlSessionFactory.getConfiguration();
+        if (!configuration.hasMapper(WorkerLeaseMapper.class)) {
+            configuration.addMapper(WorkerLeaseMapper.class);
+        }
+        this.timestampQuery = this.currentTimestampQuery();
+        if (autoCreateTable) {
+            this.execute(it -> it.createTable(this.table));
+        }
+        final long begin = System.nanoTime();
+        this.slot = this.acquire();
+        this.deadline = begin + this.validNanos;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, it -> {
+            final Thread thread = new Thread(it, "WORKER LEASE RENEWAL");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long period = Math.max(this.ttl / 3, 1L);
+        this.scheduler.scheduleAtFixedRate(this::renew, period, period, TimeUnit.MILLISECONDS);
+        log.info("Leased worker slot {} (workerId: {}, dataCenterId: {}) for {}", this.slot, this.getWorkerId(),
+            this.getDataCenterId(), this.owner);
+    }
+
+    /**
+     * 申请租约
+     * @return 槽位
+     */
+    private long acquire() {
+        final long maxSlot = 1L << (this.workerBits + this.dataCenterBits);
+        for (int i = 0; i < MAX_RETRIES; i++) {
+            final long now = this.currentTimeMillis();
+            final long expireAt = now + this.ttl;
+            final List<WorkerLease> leases = this.execute(it -> it.selectAll(this.table));
+            final BitSet used = new BitSet();
+            // 优先回收已过期的槽位
+            for (WorkerLease it : leases) {
+                used.set(it.getSlot().intValue());
+                if (it.getExpireAt() < now) {
+                    it.setOwner(this.owner);
+                    if (this.execute(m -> m.reclaim(this.table, it, now, expireAt)) == 1) {
+                        return it.getSlot();
+                    }
+                }
+            }
+            final int free = used.nextClearBit(0);
+            if (free < maxSlot) {
+                final WorkerLease lease = new WorkerLease();
+                lease.setSlot((long) free);
+                lease.setOwner(this.owner);
+                lease.setExpireAt(expireAt);
+                try {
+                    if (this.execute(it -> it.insert(this.table, lease)) == 1) {
+                        return free;
+                    }
+                } catch (PersistenceException e) {
+                    // 槽位已被其他节点抢占，重试
+                    log.debug("Worker slot {} was taken concurrently, retrying.", free);
+                }
+            } else if (leases.stream().noneMatch(it -> it.getExpireAt() < now)) {
+                break;
+            }
+        }
+        throw new SnowflakeException("No available worker id in lease table " + this.table);
+    }
+
+    /**
+     * 续约
+     */
+    private void renew() {
+        if (this.closed) {
+            return;
+        }
+        if (this.lost) {
+            this.reacquire();
+            return;
+        }
+        final long begin = System.nanoTime();
+        try {
+            final long expireAt = this.currentTimeMillis() + this.ttl;
+            if (this.execute(it -> it.renew(this.table, this.slot, this.owner, expireAt)) == 1) {
+                this.deadline = begin + this.validNanos;
+            } else {
+                this.lost = true;
+                log.error("Lease of worker slot {} has been taken over by another node, "
+                    + "refusing to generate ids until a new slot is leased.", this.slot);
+                this.reacquire();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to renew lease of worker slot {}: ", this.slot, e);
+        }
+    }
+
+    /**
+     * 重新申请租约(原租约已被接管)
+     */
+    private void reacquire() {
+        final long begin = System.nanoTime();
+        try {
+            final long newSlot = this.acquire();
+            // 先发布新槽位，再恢复可用状态
+            this.slot = newSlot;
+            this.deadline = begin + this.validNanos;
+            this.lost = false;
+            log.info("Re-leased worker slot {} (workerId: {}, dataCenterId: {}) for {}", newSlot,
+                this.getWorkerId(), this.getDataCenterId(), this.owner);
+        } catch (Exception e) {
+            log.warn("Failed to re-lease a worker slot for {}: ", this.owner, e);
+        }
+    }
+
+    @Override
+    public long getLeasedSlot() {
+        if (this.lost || this.closed || System.nanoTime() - this.deadline >= 0) {
+            throw new SnowflakeException("Lease of worker slot %d is not valid (lost: %s, closed: %s), "
+                + "refusing to generate ids.", this.slot, this.lost, this.closed);
+        }
+        return this.slot;
+    }
+
+    /**
+     * 释放租约
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.scheduler.shutdownNow();
+        try {
+            this.execute(it -> it.release(this.table, this.slot, this.owner));
+        } catch (Exception e) {
+            log.warn("Failed to release lease of worker slot {}: ", this.slot, e);
+        }
+    }
+
+    /**
+     * 获取数据库当前时间
+     * @return 当前时间(毫秒)
+     */
+    private long currentTimeMillis() {
+        return this.execute(it -> it.selectCurrentTimestamp(this.timestampQuery)).getTime();
+    }
+
+    /**
+     * 根据数据库类型获取查询当前时间语句
+     * @return 查询语句
+     */
+    private String currentTimestampQuery() {
+        String product = "";
+        try (SqlSession session = this.sqlSessionFactory.openSession(true)) {
+            product = session.getConnection().getMetaData().getDatabaseProductName().toUpperCase(Locale.ENGLISH);
+        } catch (Exception e) {
+            log.warn("Failed to read database product name, using the standard timestamp query: ", e);
+        }
+        if (product.contains("ORACLE") || product.startsWith("DM")) {
+            return "SELECT CURRENT_TIMESTAMP FROM DUAL";
+        }
+        if (product.contains("DERBY") || product.contains("DB2") || product.contains("HSQL")) {
+            return "VALUES CURRENT_TIMESTAMP";
+        }
+        if (product.contains("FIREBIRD")) {
+            return "SELECT CURRENT_TIMESTAMP FROM RDB$DATABASE";
+        }
+        return "SELECT CURRENT_TIMESTAMP";
+    }
+
+    private <R> R execute(final MapperCallback<R> callback) {
+        try (SqlSession session = this.sqlSessionFactory.openSession(true)) {
+            return callback.apply(session.getMapper(WorkerLeaseMapper.class));
+        }
+    }
+
+    private static String ownerName() {
+        final String name = ManagementFactory.getRuntimeMXBean().getName() + "#" + UUID.randomUUID().toString();
+        return name.length() > 128 ? name.substring(name.length() - 128) : name;
+    }
+
+    private static SqlSessionFactory buildSqlSessionFactory(final DataSource dataSource) {
+        final Environment environment = new Environment(LeaseDistributor.class.getSimpleName(),
+            new JdbcTransactionFactory(), dataSource);
+        return new SqlSessionFactoryBuilder().build(new Configuration(environment));
+    }
+
+    @Override
+    public int getTimestampBits() {
+        return this.timestampBits;
+    }
+
+    @Override
+    public int getWorkerBits() {
+        return workerBits;
+    }
+
+    @Override
+    public int getDataCenterBits() {
+        return dataCenterBits;
+    }
+
+    @Override
+    public int getSequenceBits() {
+        return this.sequenceBits;
+    }
+
+    @Override
+    public long getWorkerId() {
+        return this.slot & ~(-1L << this.workerBits);
+    }
+
+    @Override
+    public long getDataCenterId() {
+        return this.slot >>> this.workerBits;
+    }
+
+    public long getSlot() {
+        return slot;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    @Override
+    public String toString() {
+        return "LeaseDistributor{" +
+            "timestampBits=" + timestampBits +
+            ", dataCenterBits=" + dataCenterBits +
+            ", workerBits=" + workerBits +
+            ", sequenceBits=" + sequenceBits +
+            ", workerId=" + this.getWorkerId() +
+            ", dataCenterId=" + this.getDataCenterId() +
+            ", slot=" + slot +
+            ", owner='" + owner + '\'' +
+            '}';
+    }
+
+    @FunctionalInterface
+    private interface MapperCallback<R> {
+
+        /**
+         * 执行
+         * @param mapper {@link WorkerLeaseMapper}
+         * @return 结果
+         */
+        R apply(final WorkerLeaseMapper mapper);
+    }
+}
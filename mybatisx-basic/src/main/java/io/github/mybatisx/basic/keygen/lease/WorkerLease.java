@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.lease;
+
+import java.io.Serializable;
+
+/**
+ * 机器ID租约
+ * @author wvkity
+ * @created 2021-08-24
+ * @since 1.0.0
+ */
+public class WorkerLease implements Serializable {
+
+    private static final long serialVersionUID = 2877146538571623317L;
+    /**
+     * 槽位(数据中心ID与机器ID组合值)
+     */
+    private Long slot;
+    /**
+     * 租约持有者
+     */
+    private String owner;
+    /**
+     * 租约过期时间(毫秒)
+     */
+    private Long expireAt;
+    /**
+     * 版本号
+     */
+    private Long version;
+
+    public Long getSlot() {
+        return slot;
+    }
+
+    public void setSlot(Long slot) {
+        this.slot = slot;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Long getExpireAt() {
+        return expireAt;
+    }
+
+    public void setExpireAt(Long expireAt) {
+        this.expireAt = expireAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerLease{" +
+            "slot=" + slot +
+            ", owner='" + owner + '\'' +
+            ", expireAt=" + expireAt +
+            ", version=" + version +
+            '}';
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.lease;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 机器ID租约Mapper接口
+ * @author wvkity
+ * @created 2021-08-24
+ * @since 1.0.0
+ */
+public interface WorkerLeaseMapper {
+
+    /**
+     * 创建租约表
+     * @param table 表名
+     * @return 受影响行数
+     */
+    @Update("CREATE TABLE IF NOT EXISTS ${table} (WORKER_SLOT BIGINT NOT NULL PRIMARY KEY, "
+        + "LEASE_OWNER VARCHAR(128) NOT NULL, EXPIRE_AT BIGINT NOT NULL, LEASE_VERSION BIGINT NOT NULL)")
+    int createTable(@Param("table") final String table);
+
+    /**
+     * 查询数据库当前时间(租约过期时间统一以数据库时间为准)
+     * @param query 查询语句(各数据库语法不同，如Oracle需要FROM DUAL，Derby/DB2使用VALUES)
+     * @return 当前时间
+     */
+    @Select("${query}")
+    Timestamp selectCurrentTimestamp(@Param("query") final String query);
+
+    /**
+     * 查询所有租约
+     * @param table 表名
+     * @return 租约列表
+     */
+    @Select("SELECT WORKER_SLOT AS slot, LEASE_OWNER AS owner, EXPIRE_AT AS expireAt, LEASE_VERSION AS version "
+        + "FROM ${table} ORDER BY WORKER_SLOT")
+    List<WorkerLease> selectAll(@Param("table") final String table);
+
+    /**
+     * 新增租约(槽位为主键，并发插入时仅一个成功)
+     * @param table 表名
+     * @param lease {@link WorkerLease}
+     * @return 受影响行数
+     */
+    @Insert("INSERT INTO ${table} (WORKER_SLOT, LEASE_OWNER, EXPIRE_AT, LEASE_VERSION) "
+        + "VALUES (#{lease.slot}, #{lease.owner}, #{lease.expireAt}, 0)")
+    int insert(@Param("table") final String table, @Param("lease") final WorkerLease lease);
+
+    /**
+     * 回收已过期租约
+     * @param table    表名
+     * @param lease    {@link WorkerLease}
+     * @param now      当前时间
+     * @param expireAt 新过期时间
+     * @return 受影响行数
+     */
+    @Update("UPDATE ${table} SET LEASE_OWNER = #{lease.owner}, EXPIRE_AT = #{expireAt}, "
+        + "LEASE_VERSION = LEASE_VERSION + 1 WHERE WORKER_SLOT = #{lease.slot} "
+        + "AND LEASE_VERSION = #{lease.version} AND EXPIRE_AT < #{now}")
+    int reclaim(@Param("table") final String table, @Param("lease") final WorkerLease lease,
+                @Param("now") final long now, @Param("expireAt") final long expireAt);
+
+    /**
+     * 续约
+     * @param table    表名
+     * @param slot     槽位
+     * @param owner    持有者
+     * @param expireAt 新过期时间
+     * @return 受影响行数
+     */
+    @Update("UPDATE ${table} SET EXPIRE_AT = #{expireAt} WHERE WORKER_SLOT = #{slot} AND LEASE_OWNER = #{owner}")
+    int renew(@Param("table") final String table, @Param("slot") final long slot,
+              @Param("owner") final String owner, @Param("expireAt") final long expireAt);
+
+    /**
+     * 释放租约
+     * @param table 表名
+     * @param slot  槽位
+     * @param owner 持有者
+     * @return 受影响行数
+     */
+    @Update("UPDATE ${table} SET EXPIRE_AT = 0 WHERE WORKER_SLOT = #{slot} AND LEASE_OWNER = #{owner}")
+    int release(@Param("table") final String table, @Param("slot") final long slot,
+                @Param("owner") final String owner);
+}
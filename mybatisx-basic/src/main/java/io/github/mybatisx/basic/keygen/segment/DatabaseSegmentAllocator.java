@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+
+/**
+ * 基于数据库表的号段分配器
+ * <p>在同一事务中推进号段最大值并读取结果，依赖行锁保证多节点并发申请时号段互不重叠。</p>
+ * @author wvkity
+ * @created 2021-08-26
+ * @since 1.0.0
+ */
+public class DatabaseSegmentAllocator implements SegmentAllocator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSegmentAllocator.class);
+    /**
+     * 默认号段表
+     */
+    public static final String DEF_TABLE = "MYBATISX_ID_SEGMENT";
+    private final String table;
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public DatabaseSegmentAllocator(DataSource dataSource) {
+        this(buildSqlSessionFactory(dataSource), DEF_TABLE, true);
+    }
+
+    public DatabaseSegmentAllocator(DataSource dataSource, String table, boolean autoCreateTable) {
+        this(buildSqlSessionFactory(dataSource), table, autoCreateTable);
+    }
+
+    public DatabaseSegmentAllocator(SqlSessionFactory sqlSessionFactory, String table, boolean autoCreateTable) {
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.table = table == null || table.trim().isEmpty() ? DEF_TABLE : table;
+        final Configuration configuration = sqlSessionFactory.getConfiguration();
+        if (!configuration.hasMapper(SegmentMapper.class)) {
+            configuration.addMapper(SegmentMapper.class);
+        }
+        if (autoCreateTable) {
+            try (SqlSession session = this.sqlSessionFactory.openSession(true)) {
+                session.getMapper(SegmentMapper.class).createTable(this.table);
+            }
+        }
+    }
+
+    @Override
+    public long allocate(final String tag, final int step) {
+        for (int i = 0; i < 2; i++) {
+            try (SqlSession session = this.sqlSessionFactory.openSession(false)) {
+                final SegmentMapper mapper = session.getMapper(SegmentMapper.class);
+                if (mapper.increase(this.table, tag, step, System.currentTimeMillis()) == 1) {
+                    final Long maxId = mapper.selectMaxId(this.table, tag);
+                    session.commit();
+                    return maxId;
+                }
+                session.rollback();
+            }
+            this.register(tag);
+        }
+        throw new PersistenceException("Failed to allocate id segment of '" + tag + "' from table " + this.table);
+    }
+
+    /**
+     * 注册业务标识
+     * @param tag 业务标识
+     */
+    private void register(final String tag) {
+        try (SqlSession session = this.sqlSessionFactory.openSession(true)) {
+            session.getMapper(SegmentMapper.class).insert(this.table, tag, System.currentTimeMillis());
+        } catch (PersistenceException e) {
+            // 已被其他节点注册
+            log.debug("Segment tag '{}' was registered concurrently.", tag);
+        }
+    }
+
+    private static SqlSessionFactory buildSqlSessionFactory(final DataSource dataSource) {
+        final Environment environment = new Environment(DatabaseSegmentAllocator.class.getSimpleName(),
+            new JdbcTransactionFactory(), dataSource);
+        return new SqlSessionFactoryBuilder().build(new Configuration(environment));
+    }
+
+    public String getTable() {
+        return table;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 号段
+ * @author wvkity
+ * @created 2021-08-26
+ * @since 1.0.0
+ */
+final class Segment {
+
+    /**
+     * 已分配的最大值
+     */
+    private final AtomicLong cursor;
+    /**
+     * 号段最大值
+     */
+    private final long max;
+
+    Segment(final long max, final int step) {
+        this.cursor = new AtomicLong(max - step);
+        this.max = max;
+    }
+
+    /**
+     * 获取下一个ID
+     * @return ID，号段耗尽时返回{@link Long#MIN_VALUE}
+     */
+    long next() {
+        for (; ; ) {
+            final long current = this.cursor.get();
+            if (current >= this.max) {
+                return Long.MIN_VALUE;
+            }
+            if (this.cursor.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * 从号段中获取连续ID填充至数组
+     * @param dst  目标数组
+     * @param from 起始下标
+     * @return 填充数量
+     */
+    int take(final long[] dst, final int from) {
+        for (; ; ) {
+            final long current = this.cursor.get();
+            final int size = (int) Math.min(this.max - current, dst.length - from);
+            if (size <= 0) {
+                return 0;
+            }
+            if (this.cursor.compareAndSet(current, current + size)) {
+                for (int i = 0; i < size; i++) {
+                    dst[from + i] = current + 1 + i;
+                }
+                return size;
+            }
+        }
+    }
+
+    /**
+     * 剩余可用数量
+     * @return 数量
+     */
+    long remaining() {
+        return Math.max(this.max - this.cursor.get(), 0L);
+    }
+}
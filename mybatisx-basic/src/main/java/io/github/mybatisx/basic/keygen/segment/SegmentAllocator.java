@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+/**
+ * 号段分配器
+ * @author wvkity
+ * @created 2021-08-26
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface SegmentAllocator {
+
+    /**
+     * 申请号段
+     * @param tag  业务标识
+     * @param step 号段长度
+     * @return 号段最大值(号段区间为: (maxId - step, maxId])
+     */
+    long allocate(final String tag, final int step);
+}
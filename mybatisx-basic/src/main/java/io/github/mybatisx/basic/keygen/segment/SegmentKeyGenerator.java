@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+import io.github.mybatisx.basic.keygen.KeyGenerator;
+import io.github.mybatisx.exception.MyBatisException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 号段模式ID生成器
+ * <p>每次从{@link SegmentAllocator}申请一段连续ID在内存中分配，当前号段剩余量低于阈值时由后台线程预先申请下一号段(双缓冲)，
+ * 号段耗尽后直接切换，避免每次插入都访问数据库。单节点内ID严格递增，多节点间按号段交错递增。</p>
+ * @author wvkity
+ * @created 2021-08-26
+ * @since 1.0.0
+ */
+public class SegmentKeyGenerator implements KeyGenerator, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentKeyGenerator.class);
+    /**
+     * 默认业务标识
+     */
+    public static final String DEF_TAG = "DEFAULT";
+    /**
+     * 默认号段长度
+     */
+    public static final int DEF_STEP = 1000;
+    /**
+     * 默认预加载因子(剩余量低于号段长度的该比例时预加载下一号段)
+     */
+    public static final double DEF_PRELOAD_FACTOR = 0.9D;
+    private final SegmentAllocator allocator;
+    private final String tag;
+    private final int step;
+    private final long preloadThreshold;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition loaded = this.lock.newCondition();
+    private final AtomicBoolean loading = new AtomicBoolean(false);
+    private final ThreadPoolExecutor executor;
+    private volatile Segment current;
+    private volatile Segment next;
+
+    public SegmentKeyGenerator(DataSource dataSource) {
+        this(new DatabaseSegmentAllocator(dataSource), DEF_TAG, DEF_STEP);
+    }
+
+    public SegmentKeyGenerator(DataSource dataSource, String tag, int step) {
+        this(new DatabaseSegmentAllocator(dataSource), tag, step);
+    }
+
+    public SegmentKeyGenerator(SegmentAllocator allocator, String tag, int step) {
+        this(allocator, tag, step, DEF_PRELOAD_FACTOR);
+    }
+
+    public SegmentKeyGenerator(SegmentAllocator allocator, String tag, int step, double preloadFactor) {
+        this.allocator = allocator;
+        this.tag = tag == null || tag.trim().isEmpty() ? DEF_TAG : tag;
+        this.step = step < 1 ? DEF_STEP : step;
+        final double factor = preloadFactor <= 0 || preloadFactor > 1 ? DEF_PRELOAD_FACTOR : preloadFactor;
+        this.preloadThreshold = (long) (this.step * factor);
+        this.executor = new ThreadPoolExecutor(1, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), it -> {
+            final Thread thread = new Thread(it, "SEGMENT PRELOADER(" + this.tag + ")");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.current = this.allocate();
+    }
+
+    @Override
+    public Object nextId() {
+        for (; ; ) {
+            final Segment segment = this.current;
+            this.preloadIfNecessary(segment);
+            final long value = segment.next();
+            if (value != Long.MIN_VALUE) {
+                return value;
+            }
+            this.switchSegment(segment);
+        }
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return true;
+    }
+
+    @Override
+    public void fill(long[] dst) {
+        int index = 0;
+        final int size = dst.length;
+        while (index < size) {
+            final Segment segment = this.current;
+            this.preloadIfNecessary(segment);
+            final int count = segment.take(dst, index);
+            if (count > 0) {
+                index += count;
+            } else {
+                this.switchSegment(segment);
+            }
+        }
+    }
+
+    /**
+     * 当前号段剩余量低于阈值时异步加载下一号段
+     * @param segment 当前号段
+     */
+    private void preloadIfNecessary(final Segment segment) {
+        if (this.next == null && segment.remaining() < this.preloadThreshold
+            && this.loading.compareAndSet(false, true)) {
+            if (this.next != null) {
+                // 上一次预加载已在检查与标记之间完成，避免覆盖未使用的号段
+                this.finishLoading();
+                return;
+            }
+            try {
+                this.executor.execute(this::preload);
+            } catch (Exception e) {
+                this.loading.set(false);
+                log.warn("Failed to schedule segment preloading of '{}': ", this.tag, e);
+            }
+        }
+    }
+
+    private void preload() {
+        try {
+            final Segment segment = this.allocate();
+            this.lock.lock();
+            try {
+                this.next = segment;
+            } finally {
+                this.lock.unlock();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to preload segment of '{}': ", this.tag, e);
+        } finally {
+            this.finishLoading();
+        }
+    }
+
+    /**
+     * 结束预加载并唤醒等待切换号段的线程
+     */
+    private void finishLoading() {
+        this.loading.set(false);
+        this.lock.lock();
+        try {
+            this.loaded.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * 切换号段(下一号段未就绪时等待预加载完成或同步申请)
+     * @param exhausted 已耗尽的号段
+     */
+    private void switchSegment(final Segment exhausted) {
+        this.lock.lock();
+        try {
+            while (this.current == exhausted) {
+                if (this.next != null) {
+                    this.current = this.next;
+                    this.next = null;
+                } else if (this.loading.get()) {
+                    this.loaded.awaitUninterruptibly();
+                } else {
+                    this.current = this.allocate();
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private Segment allocate() {
+        final long max;
+        try {
+            max = this.allocator.allocate(this.tag, this.step);
+        } catch (Exception e) {
+            throw new MyBatisException("Failed to allocate id segment of '" + this.tag + "'", e);
+        }
+        return new Segment(max, this.step);
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow();
+    }
+
+    public SegmentAllocator getAllocator() {
+        return allocator;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public int getStep() {
+        return step;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 号段Mapper接口
+ * @author wvkity
+ * @created 2021-08-26
+ * @since 1.0.0
+ */
+public interface SegmentMapper {
+
+    /**
+     * 创建号段表
+     * @param table 表名
+     * @return 受影响行数
+     */
+    @Update("CREATE TABLE IF NOT EXISTS ${table} (BIZ_TAG VARCHAR(128) NOT NULL PRIMARY KEY, "
+        + "MAX_ID BIGINT NOT NULL, UPDATE_TIME BIGINT NOT NULL)")
+    int createTable(@Param("table") final String table);
+
+    /**
+     * 新增业务号段(业务标识为主键，并发插入时仅一个成功)
+     * @param table 表名
+     * @param tag   业务标识
+     * @param now   当前时间
+     * @return 受影响行数
+     */
+    @Insert("INSERT INTO ${table} (BIZ_TAG, MAX_ID, UPDATE_TIME) VALUES (#{tag}, 0, #{now})")
+    int insert(@Param("table") final String table, @Param("tag") final String tag, @Param("now") final long now);
+
+    /**
+     * 推进号段最大值
+     * @param table 表名
+     * @param tag   业务标识
+     * @param step  号段长度
+     * @param now   当前时间
+     * @return 受影响行数
+     */
+    @Update("UPDATE ${table} SET MAX_ID = MAX_ID + #{step}, UPDATE_TIME = #{now} WHERE BIZ_TAG = #{tag}")
+    int increase(@Param("table") final String table, @Param("tag") final String tag, @Param("step") final int step,
+                 @Param("now") final long now);
+
+    /**
+     * 查询号段最大值
+     * @param table 表名
+     * @param tag   业务标识
+     * @return 最大值
+     */
+    @Select("SELECT MAX_ID FROM ${table} WHERE BIZ_TAG = #{tag}")
+    Long selectMaxId(@Param("table") final String table, @Param("tag") final String tag);
+}
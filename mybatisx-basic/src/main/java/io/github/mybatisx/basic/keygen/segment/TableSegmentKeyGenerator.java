@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+import io.github.mybatisx.basic.keygen.KeyGenerator;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 按表启用号段模式的主键生成器
+ * <p>指定的表各自以表名作为业务标识使用独立的{@link SegmentKeyGenerator}(首次使用时创建)，其余表及未指定表的调用
+ * 均委托给默认主键生成器(如雪花算法)。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class TableSegmentKeyGenerator implements KeyGenerator, Closeable {
+
+    private final KeyGenerator delegate;
+    private final SegmentAllocator allocator;
+    private final Set<String> tables;
+    private final int step;
+    private final double preloadFactor;
+    private final Map<String, SegmentKeyGenerator> generators = new ConcurrentHashMap<>();
+
+    public TableSegmentKeyGenerator(KeyGenerator delegate, SegmentAllocator allocator, Collection<String> tables) {
+        this(delegate, allocator, tables, SegmentKeyGenerator.DEF_STEP, SegmentKeyGenerator.DEF_PRELOAD_FACTOR);
+    }
+
+    public TableSegmentKeyGenerator(KeyGenerator delegate, SegmentAllocator allocator, Collection<String> tables,
+                                    int step, double preloadFactor) {
+        this.delegate = delegate;
+        this.allocator = allocator;
+        this.tables = tables == null ? Collections.emptySet() : tables.stream()
+            .filter(it -> it != null && !it.trim().isEmpty()).map(TableSegmentKeyGenerator::normalize)
+            .collect(Collectors.toSet());
+        this.step = step;
+        this.preloadFactor = preloadFactor;
+    }
+
+    @Override
+    public KeyGenerator select(final String table) {
+        if (table == null) {
+            return this.delegate;
+        }
+        final String tag = normalize(table);
+        if (!this.tables.contains(tag)) {
+            return this.delegate;
+        }
+        final SegmentKeyGenerator generator = this.generators.get(tag);
+        if (generator != null) {
+            return generator;
+        }
+        return this.generators.computeIfAbsent(tag, it -> new SegmentKeyGenerator(this.allocator, it, this.step,
+            this.preloadFactor));
+    }
+
+    @Override
+    public String nextUuid() {
+        return this.delegate.nextUuid();
+    }
+
+    @Override
+    public Object nextId() {
+        return this.delegate.nextId();
+    }
+
+    @Override
+    public String nextIdString() {
+        return this.delegate.nextIdString();
+    }
+
+    @Override
+    public boolean supportsBatch() {
+        return this.delegate.supportsBatch();
+    }
+
+    @Override
+    public long[] nextIds(int size) {
+        return this.delegate.nextIds(size);
+    }
+
+    @Override
+    public void fill(long[] dst) {
+        this.delegate.fill(dst);
+    }
+
+    @Override
+    public void close() {
+        this.generators.values().forEach(SegmentKeyGenerator::close);
+        this.generators.clear();
+    }
+
+    private static String normalize(final String table) {
+        return table.trim().toUpperCase(Locale.ENGLISH);
+    }
+
+    public KeyGenerator getDelegate() {
+        return delegate;
+    }
+
+    public Set<String> getTables() {
+        return Collections.unmodifiableSet(tables);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.lease;
+
+import io.github.sequence.snowflake.SnowflakeConfig;
+import io.github.sequence.snowflake.SnowflakeException;
+import io.github.sequence.snowflake.SnowflakeSequenceInfo;
+import io.github.sequence.snowflake.Strategy;
+import io.github.sequence.snowflake.core.DefaultSnowflakeSequence;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 数据库租约分配器测试
+ * @author wvkity
+ * @created 2021-08-24
+ * @since 1.0.0
+ */
+public class LeaseDistributorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseDistributorTest.class);
+    private static final long TTL = 600L;
+    private final List<LeaseDistributor> distributors = new ArrayList<>();
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    public void setup() {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:lease" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    public void destroy() {
+        this.distributors.forEach(LeaseDistributor::close);
+        this.distributors.clear();
+    }
+
+    @Test
+    public void uniqueLeaseTest() {
+        final Set<Long> slots = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            final LeaseDistributor distributor = this.create(5, 5, 12);
+            log.info("{}", distributor);
+            Assertions.assertTrue(distributor.getWorkerId() <= 31 && distributor.getDataCenterId() <= 31);
+            Assertions.assertTrue(slots.add(distributor.getSlot()));
+        }
+    }
+
+    @Test
+    public void reclaimTest() {
+        final LeaseDistributor first = this.create(5, 5, 12);
+        final LeaseDistributor second = this.create(5, 5, 12);
+        Assertions.assertNotEquals(first.getSlot(), second.getSlot());
+        first.close();
+        final LeaseDistributor third = this.create(5, 5, 12);
+        Assertions.assertEquals(first.getSlot(), third.getSlot());
+        Assertions.assertFalse(third.isLost());
+    }
+
+    @Test
+    public void exhaustedTest() {
+        for (int i = 0; i < 4; i++) {
+            this.create(1, 1, 20);
+        }
+        Assertions.assertThrows(RuntimeException.class, () -> this.create(1, 1, 20));
+    }
+
+    @Test
+    public void takeoverTest() throws Exception {
+        final LeaseDistributor distributor = this.create(1, 1, 20);
+        final DefaultSnowflakeSequence sequence = new DefaultSnowflakeSequence(
+            SnowflakeConfig.millisSnowflakeConfig(Strategy.DEFAULT, distributor));
+        final long original = distributor.getSlot();
+        Assertions.assertEquals(original, this.slotOf(sequence.parse(sequence.nextId())));
+        // 其余槽位被其他节点占用，当前槽位被接管后无可用槽位
+        final long farFuture = System.currentTimeMillis() + 3600000L;
+        for (long slot = 0; slot < 4; slot++) {
+            if (slot != original) {
+                this.update("INSERT INTO " + LeaseDistributor.DEF_TABLE
+                    + " (WORKER_SLOT, LEASE_OWNER, EXPIRE_AT, LEASE_VERSION) VALUES (?, 'other', ?, 0)", slot,
+                    farFuture);
+            }
+        }
+        this.update("UPDATE " + LeaseDistributor.DEF_TABLE
+            + " SET LEASE_OWNER = 'other', EXPIRE_AT = ? WHERE WORKER_SLOT = ?", farFuture, original);
+        Assertions.assertTrue(this.await(distributor::isLost));
+        Assertions.assertThrows(SnowflakeException.class, distributor::getLeasedSlot);
+        Assertions.assertThrows(SnowflakeException.class, sequence::nextId);
+        // 释放一个槽位后重新申请
+        final long released = original == 0 ? 1 : 0;
+        this.update("UPDATE " + LeaseDistributor.DEF_TABLE + " SET EXPIRE_AT = 0 WHERE WORKER_SLOT = ?",
+            released);
+        Assertions.assertTrue(this.await(() -> !distributor.isLost()));
+        Assertions.assertEquals(released, distributor.getSlot());
+        Assertions.assertEquals(released, distributor.getLeasedSlot());
+        Assertions.assertEquals(released, this.slotOf(sequence.parse(sequence.nextId())));
+    }
+
+    @Test
+    public void expiredLeaseTest() throws Exception {
+        final LeaseDistributor distributor = this.create(5, 5, 12);
+        final DefaultSnowflakeSequence sequence = new DefaultSnowflakeSequence(
+            SnowflakeConfig.millisSnowflakeConfig(Strategy.DEFAULT, distributor));
+        sequence.nextId();
+        // 模拟数据库不可用: 续约持续失败直至超过租约截止时间
+        this.update("DROP TABLE " + LeaseDistributor.DEF_TABLE);
+        Assertions.assertTrue(this.await(() -> {
+            try {
+                distributor.getLeasedSlot();
+                return false;
+            } catch (SnowflakeException e) {
+                return true;
+            }
+        }));
+        Assertions.assertFalse(distributor.isLost());
+        Assertions.assertThrows(SnowflakeException.class, sequence::nextId);
+    }
+
+    @Test
+    public void timestampQueryTest() {
+        // H2兼容各数据库的当前时间查询语法，通过改写数据库产品名称模拟Oracle、DM、Derby、DB2等数据库
+        final String[] products = {"Oracle", "DM DBMS", "Apache Derby", "DB2/LINUXX8664", "MySQL"};
+        for (int i = 0; i < products.length; i++) {
+            final LeaseDistributor distributor = new LeaseDistributor(this.productOf(products[i]),
+                "LEASE_" + i, TTL, true, 41, 5, 5, 12);
+            this.distributors.add(distributor);
+            Assertions.assertEquals(distributor.getSlot(), distributor.getLeasedSlot(), products[i]);
+        }
+    }
+
+    private LeaseDistributor create(final int workerBits, final int dataCenterBits, final int sequenceBits) {
+        final LeaseDistributor distributor = new LeaseDistributor(this.dataSource, LeaseDistributor.DEF_TABLE, TTL,
+            true, 41, workerBits, dataCenterBits, sequenceBits);
+        this.distributors.add(distributor);
+        return distributor;
+    }
+
+    private long slotOf(final SnowflakeSequenceInfo info) {
+        return (info.getDataCenterId() << 1) | info.getWorkerId();
+    }
+
+    private DataSource productOf(final String product) {
+        return proxy(DataSource.class, this.dataSource, "getConnection", connection ->
+            proxy(Connection.class, (Connection) connection, "getMetaData", metaData ->
+                proxy(DatabaseMetaData.class, (DatabaseMetaData) metaData, "getDatabaseProductName",
+                    ignore -> product)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final T target, final String method,
+                               final UnaryOperator<Object> mapper) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (it, m, args) -> {
+            final Object result;
+            try {
+                result = m.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            return method.equals(m.getName()) ? mapper.apply(result) : result;
+        });
+    }
+
+    private void update(final String sql, final Object... args) throws SQLException {
+        try (Connection connection = this.dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                ps.setObject(i + 1, args[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+
+    private boolean await(final BooleanSupplier condition) throws InterruptedException {
+        final long end = System.currentTimeMillis() + TTL * 10;
+        while (System.currentTimeMillis() < end) {
+            if (condition.getAsBoolean()) {
+                return true;
+            }
+            Thread.sleep(20L);
+        }
+        return condition.getAsBoolean();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.basic.keygen.segment;
+
+import io.github.mybatisx.basic.keygen.KeyGenerator;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 号段模式ID生成器测试
+ * @author wvkity
+ * @created 2021-08-26
+ * @since 1.0.0
+ */
+public class SegmentKeyGeneratorTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    public void setup() {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:segment" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    public void increasingTest() {
+        final SegmentKeyGenerator generator = new SegmentKeyGenerator(this.dataSource, "order", 10);
+        long last = 0;
+        for (int i = 0; i < 100; i++) {
+            final long id = (Long) generator.nextId();
+            Assertions.assertEquals(last + 1, id);
+            last = id;
+        }
+        final long[] ids = generator.nextIds(25);
+        for (long id : ids) {
+            Assertions.assertEquals(++last, id);
+        }
+        generator.close();
+    }
+
+    @Test
+    public void multipleNodesTest() throws InterruptedException {
+        final DatabaseSegmentAllocator allocator = new DatabaseSegmentAllocator(this.dataSource);
+        final SegmentKeyGenerator first = new SegmentKeyGenerator(allocator, "user", 50);
+        final SegmentKeyGenerator second = new SegmentKeyGenerator(allocator, "user", 50);
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            final SegmentKeyGenerator generator = (i & 1) == 0 ? first : second;
+            executor.execute(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    Assertions.assertTrue(ids.add((Long) generator.nextId()));
+                }
+            });
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        Assertions.assertEquals(8000, ids.size());
+        first.close();
+        second.close();
+    }
+
+    @Test
+    public void concurrentSwitchTest() throws InterruptedException {
+        // 号段很短且分配较慢，使号段切换与后台预加载频繁交错
+        final DatabaseSegmentAllocator database = new DatabaseSegmentAllocator(this.dataSource);
+        final AtomicInteger allocations = new AtomicInteger();
+        final SegmentAllocator allocator = (tag, step) -> {
+            allocations.incrementAndGet();
+            try {
+                Thread.sleep(2L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return database.allocate(tag, step);
+        };
+        final int step = 20, threads = 16, perThread = 500;
+        final SegmentKeyGenerator generator = new SegmentKeyGenerator(allocator, "race", step, 0.5D);
+        final Set<Long> ids = ConcurrentHashMap.newKeySet();
+        final AtomicLong failures = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            final boolean batch = (i & 1) == 1;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    long last = 0;
+                    for (int j = 0; j < perThread; ) {
+                        final long[] values = batch ? generator.nextIds(7) : new long[]{(Long) generator.nextId()};
+                        for (long value : values) {
+                            // 单节点内每个线程获取的ID严格递增且全局唯一
+                            if (value <= last || !ids.add(value)) {
+                                failures.incrementAndGet();
+                            }
+                            last = value;
+                        }
+                        j += values.length;
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        generator.close();
+        Assertions.assertEquals(0, failures.get());
+        final long total = ids.size();
+        final long max = ids.stream().mapToLong(Long::longValue).max().orElse(0L);
+        // 除最后一个预加载号段外，不得丢弃或覆盖已申请的号段
+        Assertions.assertTrue(allocations.get() <= (total + step - 1) / step + 1,
+            "allocations: " + allocations.get() + ", ids: " + total);
+        Assertions.assertTrue(max <= (long) allocations.get() * step);
+        Assertions.assertEquals(total, ids.stream().filter(it -> it > 0 && it <= max).count());
+    }
+
+    @Test
+    public void tableSegmentTest() {
+        final AtomicLong fallback = new AtomicLong(1000000L);
+        final KeyGenerator delegate = fallback::incrementAndGet;
+        final TableSegmentKeyGenerator generator = new TableSegmentKeyGenerator(delegate,
+            new DatabaseSegmentAllocator(this.dataSource), Arrays.asList("t_order", "T_USER"), 10, 0.9D);
+        final KeyGenerator order = generator.select("T_ORDER");
+        final KeyGenerator user = generator.select("t_user");
+        Assertions.assertTrue(order instanceof SegmentKeyGenerator);
+        Assertions.assertSame(order, generator.select("t_order"));
+        Assertions.assertNotSame(order, user);
+        // 各表独立计数
+        Assertions.assertEquals(1L, order.nextId());
+        Assertions.assertEquals(2L, order.nextId());
+        Assertions.assertEquals(1L, user.nextId());
+        // 未指定的表及直接调用使用默认生成器
+        Assertions.assertSame(delegate, generator.select("t_role"));
+        Assertions.assertSame(delegate, generator.select(null));
+        Assertions.assertEquals(1000001L, generator.nextId());
+        generator.close();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.batch;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.ReflectorFactory;
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeException;
+import org.apache.ibatis.type.TypeHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量参数绑定器
+ * <p>按{@link MappedStatement}预先解析属性读取器到{@link TypeHandler}的绑定计划，逐行直接绑定到{@link PreparedStatement}，
+ * 替代每行创建参数Map、{@code DefaultParameterHandler}及MetaObject逐级解析属性。
+ * 属性读取器取自{@link ReflectorFactory}，与MetaObject取值规则一致。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public final class BatchParameterBinder {
+
+    private static final Object[] NO_ARGUMENTS = new Object[0];
+    /**
+     * 批量参数名
+     */
+    static final String PARAM_ENTITY = "entity";
+    static final String PARAM_FIRST = "param1";
+    /**
+     * 实体类
+     */
+    private final Class<?> entityClass;
+    /**
+     * 参数映射
+     */
+    private final List<ParameterMapping> parameterMappings;
+    /**
+     * 属性读取器(按参数顺序)
+     */
+    private final Invoker[] getters;
+    private final TypeHandler<Object>[] typeHandlers;
+    private final JdbcType[] jdbcTypes;
+    private final JdbcType jdbcTypeForNull;
+
+    private BatchParameterBinder(Class<?> entityClass, List<ParameterMapping> parameterMappings,
+                                 Invoker[] getters, TypeHandler<Object>[] typeHandlers, JdbcType[] jdbcTypes,
+                                 JdbcType jdbcTypeForNull) {
+        this.entityClass = entityClass;
+        this.parameterMappings = parameterMappings;
+        this.getters = getters;
+        this.typeHandlers = typeHandlers;
+        this.jdbcTypes = jdbcTypes;
+        this.jdbcTypeForNull = jdbcTypeForNull;
+    }
+
+    /**
+     * 编译绑定计划
+     * @param ms          {@link MappedStatement}
+     * @param bs          {@link BoundSql}
+     * @param entityClass 实体类
+     * @return {@link BatchParameterBinder}，存在无法直接绑定的参数(附加参数、OUT参数、Map实体等)时返回null
+     */
+    public static BatchParameterBinder compile(final MappedStatement ms, final BoundSql bs,
+                                               final Class<?> entityClass) {
+        if (entityClass == null || Map.class.isAssignableFrom(entityClass)
+            || ms.getConfiguration().getTypeHandlerRegistry().hasTypeHandler(entityClass)) {
+            return null;
+        }
+        final List<ParameterMapping> pms = bs.getParameterMappings();
+        final int size = pms == null ? 0 : pms.size();
+        final Invoker[] getters = new Invoker[size];
+        final ReflectorFactory reflectorFactory = ms.getConfiguration().getReflectorFactory();
+        final TypeHandler<Object>[] typeHandlers = newTypeHandlers(size);
+        final JdbcType[] jdbcTypes = new JdbcType[size];
+        for (int i = 0; i < size; i++) {
+            final ParameterMapping pm = pms.get(i);
+            final String property = pm.getProperty();
+            if (pm.getMode() == ParameterMode.OUT || bs.hasAdditionalParameter(property)) {
+                return null;
+            }
+            final Invoker getter = resolve(reflectorFactory, entityClass, property);
+            if (getter == null) {
+                return null;
+            }
+            getters[i] = getter;
+            typeHandlers[i] = typeHandler(pm);
+            jdbcTypes[i] = pm.getJdbcType();
+        }
+        return new BatchParameterBinder(entityClass, pms, getters, typeHandlers, jdbcTypes,
+            ms.getConfiguration().getJdbcTypeForNull());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeHandler<Object>[] newTypeHandlers(final int size) {
+        return (TypeHandler<Object>[]) new TypeHandler<?>[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypeHandler<Object> typeHandler(final ParameterMapping pm) {
+        return (TypeHandler<Object>) pm.getTypeHandler();
+    }
+
+    /**
+     * 检查绑定计划是否适用
+     * @param bs          {@link BoundSql}
+     * @param entityClass 实体类
+     * @return boolean
+     */
+    public boolean matches(final BoundSql bs, final Class<?> entityClass) {
+        if (this.entityClass != entityClass) {
+            return false;
+        }
+        final List<ParameterMapping> pms = bs.getParameterMappings();
+        if (pms == this.parameterMappings) {
+            return true;
+        }
+        final int size = pms == null ? 0 : pms.size();
+        if (size != this.getters.length) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            final ParameterMapping it = pms.get(i);
+            final ParameterMapping cached = this.parameterMappings.get(i);
+            if (!it.getProperty().equals(cached.getProperty()) || it.getTypeHandler() != cached.getTypeHandler()
+                || it.getJdbcType() != cached.getJdbcType() || it.getMode() != cached.getMode()
+                || bs.hasAdditionalParameter(it.getProperty())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 检查实体是否可直接绑定
+     * @param entity 实体
+     * @return boolean
+     */
+    public boolean supports(final Object entity) {
+        return entity != null && entity.getClass() == this.entityClass;
+    }
+
+    /**
+     * 绑定参数
+     * @param ps     {@link PreparedStatement}
+     * @param entity 实体
+     * @throws SQLException SQL异常
+     */
+    public void bind(final PreparedStatement ps, final Object entity) throws SQLException {
+        for (int i = 0, size = this.getters.length; i < size; i++) {
+            final Object value = this.getValue(i, entity);
+            JdbcType jdbcType = this.jdbcTypes[i];
+            if (value == null && jdbcType == null) {
+                jdbcType = this.jdbcTypeForNull;
+            }
+            try {
+                this.typeHandlers[i].setParameter(ps, i + 1, value, jdbcType);
+            } catch (TypeException | SQLException e) {
+                throw new TypeException("Could not set parameters for mapping: " + this.parameterMappings.get(i)
+                    + ". Cause: " + e, e);
+            }
+        }
+    }
+
+    private Object getValue(final int index, final Object entity) {
+        try {
+            try {
+                return this.getters[index].invoke(entity, NO_ARGUMENTS);
+            } catch (Throwable t) {
+                throw ExceptionUtil.unwrapThrowable(t);
+            }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable t) {
+            final String property = this.parameterMappings.get(index).getProperty();
+            throw new ReflectionException("Could not get property '" + property.substring(property.indexOf('.') + 1)
+                + "' from " + entity.getClass() + ".  Cause: " + t.toString(), t);
+        }
+    }
+
+    /**
+     * 解析属性读取器(仅支持entity.prop形式，嵌套属性运行时类型无法静态确定)
+     * @param reflectorFactory {@link ReflectorFactory}
+     * @param entityClass      实体类
+     * @param property         属性
+     * @return {@link Invoker}，无法解析时返回null
+     */
+    private static Invoker resolve(final ReflectorFactory reflectorFactory, final Class<?> entityClass,
+                                   final String property) {
+        final int dot = property.indexOf('.');
+        if (dot < 0 || property.indexOf('.', dot + 1) >= 0 || property.indexOf('[') >= 0) {
+            return null;
+        }
+        final String root = property.substring(0, dot);
+        final String name = property.substring(dot + 1);
+        if (name.isEmpty() || !(PARAM_ENTITY.equals(root) || PARAM_FIRST.equals(root))) {
+            return null;
+        }
+        final Reflector reflector = reflectorFactory.findForClass(entityClass);
+        return reflector.hasGetter(name) ? reflector.getGetInvoker(name) : null;
+    }
+}
@@ -40,6 +40,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 批量操作处理器
@@ -49,6 +50,11 @@ import java.util.Map;
  */
 public class BatchStatementInvokeHandler extends AbstractBatchHandler {
 
+    /**
+     * 批量参数绑定器缓存
+     */
+    private final Map<MappedStatement, BatchParameterBinder> binderCache = new ConcurrentHashMap<>();
+
     @Override
     public Object intercept(Invocation invocation) throws Throwable {
         final Object target = invocation.getTarget();
@@ -92,31 +98,71 @@ public class BatchStatementInvokeHandler extends AbstractBatchHandler {
         ps.clearParameters();
         final int realBatchSize = bdw.getBatchSize() <= 0 ? this.defBatchSize : bdw.getBatchSize();
         final List<Object> data = bdw.getData();
-        final List<Object> batchParams = new ArrayList<>(data.size());
-        for (Object entity: data) {
+        final BatchParameterBinder binder = this.getBinder(ms, bs, data.get(0));
+        int start = 0;
+        int pending = 0;
+        for (Object entity : data) {
             if (entity == null) {
                 throw new MyBatisPluginException("The data to insert cannot be NULL.");
             }
-            final Map<String, Object> paramMap = new HashMap<>();
-            paramMap.put("entity", entity);
-            paramMap.put("param1", entity);
-            final DefaultParameterHandler dph = new DefaultParameterHandler(ms, paramMap, bs);
-            dph.setParameters(ps);
+            if (binder != null && binder.supports(entity)) {
+                binder.bind(ps, entity);
+            } else {
+                this.setParameters(ms, ps, bs, entity);
+            }
             ps.addBatch();
-            batchParams.add(entity);
-            if (batchParams.size() % realBatchSize == 0) {
-                this.execBatch(ms, ps, bdw, batchParams, strategy);
-                batchParams.clear();
+            if (++pending == realBatchSize) {
+                this.execBatch(ms, ps, bdw, data.subList(start, start + pending), strategy);
+                start += pending;
+                pending = 0;
             }
         }
-        if (batchParams.size() % realBatchSize != 0) {
-            this.execBatch(ms, ps, bdw, batchParams, strategy);
-            batchParams.clear();
+        if (pending > 0) {
+            this.execBatch(ms, ps, bdw, data.subList(start, start + pending), strategy);
         }
         ps.clearBatch();
         ps.clearParameters();
     }
 
+    /**
+     * 获取批量参数绑定器(按{@link MappedStatement}缓存)
+     * @param ms     {@link MappedStatement}
+     * @param bs     {@link BoundSql}
+     * @param entity 首个实体
+     * @return {@link BatchParameterBinder}，无法直接绑定时返回null
+     */
+    protected BatchParameterBinder getBinder(final MappedStatement ms, final BoundSql bs, final Object entity) {
+        if (entity == null) {
+            return null;
+        }
+        final Class<?> entityClass = entity.getClass();
+        final BatchParameterBinder cached = this.binderCache.get(ms);
+        if (cached != null && cached.matches(bs, entityClass)) {
+            return cached;
+        }
+        final BatchParameterBinder binder = BatchParameterBinder.compile(ms, bs, entityClass);
+        if (binder != null) {
+            this.binderCache.put(ms, binder);
+        }
+        return binder;
+    }
+
+    /**
+     * 通过{@link DefaultParameterHandler}设置参数(无法直接绑定时使用)
+     * @param ms     {@link MappedStatement}
+     * @param ps     {@link PreparedStatement}
+     * @param bs     {@link BoundSql}
+     * @param entity 实体
+     * @throws SQLException SQL异常
+     */
+    protected void setParameters(final MappedStatement ms, final PreparedStatement ps, final BoundSql bs,
+                                 final Object entity) throws SQLException {
+        final Map<String, Object> paramMap = new HashMap<>(4);
+        paramMap.put(BatchParameterBinder.PARAM_ENTITY, entity);
+        paramMap.put(BatchParameterBinder.PARAM_FIRST, entity);
+        new DefaultParameterHandler(ms, paramMap, bs).setParameters(ps);
+    }
+
     protected void execBatch(final MappedStatement ms, final PreparedStatement ps, final BatchDataWrapper<Object> bdw,
                            final List<Object> batchParams, final KeyGeneratorStrategy strategy) throws SQLException {
         bdw.addRows(ps.executeBatch());
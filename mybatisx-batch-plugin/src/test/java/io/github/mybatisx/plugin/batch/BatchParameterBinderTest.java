@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.batch;
+
+import io.github.mybatisx.batch.BatchDataWrapper;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.ibatis.type.BaseTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 批量参数绑定测试
+ * <p>同一批数据分别经{@link BatchParameterBinder}及{@code DefaultParameterHandler}写入，入库结果须一致。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class BatchParameterBinderTest {
+
+    @Test
+    public void bindTest() throws Exception {
+        final AtomicInteger binderFallbacks = new AtomicInteger();
+        final AtomicInteger handlerFallbacks = new AtomicInteger();
+        final List<List<Object>> bound = this.insert(new CountingHandler(binderFallbacks, true));
+        final List<List<Object>> fallback = this.insert(new CountingHandler(handlerFallbacks, false));
+        Assertions.assertEquals(fallback, bound);
+        Assertions.assertEquals(5, bound.size());
+        // 子类实体无法直接绑定，退回DefaultParameterHandler
+        Assertions.assertEquals(1, binderFallbacks.get());
+        Assertions.assertEquals(5, handlerFallbacks.get());
+        Assertions.assertEquals(Arrays.asList(2L, null, null, null, "TAG:NONE"), bound.get(1));
+        Assertions.assertEquals(Arrays.asList(3L, "c", new BigDecimal("3.50"), true, "TAG:C"), bound.get(2));
+        Assertions.assertEquals(Arrays.asList(5L, "sub", new BigDecimal("5.00"), false, "TAG:SUB"), bound.get(4));
+    }
+
+    @Test
+    public void getterTest() {
+        final Configuration cfg = new Configuration();
+        cfg.addMapper(RowMapper.class);
+        final MappedStatement ms = cfg.getMappedStatement(RowMapper.class.getName() + ".insertBatch");
+        final BoundSql bs = ms.getBoundSql(null);
+        final BatchParameterBinder binder = BatchParameterBinder.compile(ms, bs, Row.class);
+        Assertions.assertNotNull(binder);
+        Assertions.assertTrue(binder.matches(bs, Row.class));
+        Assertions.assertFalse(binder.matches(bs, SubRow.class));
+        Assertions.assertTrue(binder.supports(new Row()));
+        Assertions.assertFalse(binder.supports(new SubRow()));
+        // 与MetaObject一致：不存在读取方法的属性无法直接绑定
+        Assertions.assertNull(BatchParameterBinder.compile(ms, bs, Object.class));
+    }
+
+    private List<List<Object>> insert(final BatchStatementInvokeHandler handler) throws Exception {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:batch" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_ROW (ID BIGINT PRIMARY KEY, NAME VARCHAR(32), AMOUNT DECIMAL(10, 2), "
+                + "ACTIVE BOOLEAN, TAG VARCHAR(32))");
+        }
+        final Configuration cfg = new Configuration(new Environment("test", new JdbcTransactionFactory(),
+            dataSource));
+        cfg.setJdbcTypeForNull(JdbcType.NULL);
+        final BatchParameterInterceptor parameterInterceptor = new BatchParameterInterceptor();
+        parameterInterceptor.setProperties(new Properties());
+        final BatchStatementInterceptor statementInterceptor = new BatchStatementInterceptor(handler);
+        statementInterceptor.setProperties(new Properties());
+        cfg.addInterceptor(parameterInterceptor);
+        cfg.addInterceptor(statementInterceptor);
+        cfg.addMapper(RowMapper.class);
+        final SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(cfg);
+        try (final SqlSession session = factory.openSession(true)) {
+            final List<Row> rows = Arrays.asList(new Row(1L, "a", new BigDecimal("1.25"), true, "a"),
+                new Row(2L, null, null, null, null), new Row(3L, "c", new BigDecimal("3.5"), true, "c"),
+                new Row(4L, "d", new BigDecimal("4"), false, null), new SubRow(5L, "sub", new BigDecimal("5"), false));
+            Assertions.assertEquals(5, session.getMapper(RowMapper.class).insertBatch(BatchDataWrapper.wrap(2,
+                rows)));
+        }
+        final List<List<Object>> result = new ArrayList<>();
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet rs = statement.executeQuery("SELECT ID, NAME, AMOUNT, ACTIVE, TAG FROM T_ROW ORDER BY ID")) {
+            while (rs.next()) {
+                result.add(Arrays.asList(rs.getObject(1), rs.getObject(2), rs.getObject(3), rs.getObject(4),
+                    rs.getObject(5)));
+            }
+        }
+        return result;
+    }
+
+    public interface RowMapper {
+
+        @Insert("INSERT INTO T_ROW (ID, NAME, AMOUNT, ACTIVE, TAG) VALUES (#{entity.id}, #{entity.name}, "
+            + "#{entity.amount}, #{entity.active}, #{entity.tag, typeHandler=" +
+            "io.github.mybatisx.plugin.batch.BatchParameterBinderTest$TagTypeHandler})")
+        int insertBatch(@Param(BatchDataWrapper.PARAM_BATCH_DATA_WRAPPER) final BatchDataWrapper<Row> wrapper);
+    }
+
+    /**
+     * 统计通过DefaultParameterHandler绑定的行数
+     */
+    public static class CountingHandler extends BatchStatementInvokeHandler {
+
+        private final AtomicInteger fallbacks;
+        private final boolean useBinder;
+
+        public CountingHandler(AtomicInteger fallbacks, boolean useBinder) {
+            this.fallbacks = fallbacks;
+            this.useBinder = useBinder;
+        }
+
+        @Override
+        protected BatchParameterBinder getBinder(MappedStatement ms, BoundSql bs, Object entity) {
+            return this.useBinder ? super.getBinder(ms, bs, entity) : null;
+        }
+
+        @Override
+        protected void setParameters(MappedStatement ms, PreparedStatement ps, BoundSql bs, Object entity)
+            throws SQLException {
+            this.fallbacks.incrementAndGet();
+            super.setParameters(ms, ps, bs, entity);
+        }
+    }
+
+    public static class TagTypeHandler extends BaseTypeHandler<String> {
+
+        @Override
+        public void setParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+            throws SQLException {
+            ps.setString(i, "TAG:" + (parameter == null ? "NONE" : parameter.toUpperCase()));
+        }
+
+        @Override
+        public void setNonNullParameter(PreparedStatement ps, int i, String parameter, JdbcType jdbcType)
+            throws SQLException {
+            ps.setString(i, parameter);
+        }
+
+        @Override
+        public String getNullableResult(ResultSet rs, String columnName) throws SQLException {
+            return rs.getString(columnName);
+        }
+
+        @Override
+        public String getNullableResult(ResultSet rs, int columnIndex) throws SQLException {
+            return rs.getString(columnIndex);
+        }
+
+        @Override
+        public String getNullableResult(CallableStatement cs, int columnIndex) throws SQLException {
+            return cs.getString(columnIndex);
+        }
+    }
+
+    public static class Row {
+        private Long id;
+        private String name;
+        private BigDecimal amount;
+        private Boolean active;
+        private String tag;
+
+        public Row() {
+        }
+
+        public Row(Long id, String name, BigDecimal amount, Boolean active, String tag) {
+            this.id = id;
+            this.name = name;
+            this.amount = amount;
+            this.active = active;
+            this.tag = tag;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public Boolean isActive() {
+            return active;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    public static class SubRow extends Row {
+
+        public SubRow() {
+        }
+
+        public SubRow(Long id, String name, BigDecimal amount, Boolean active) {
+            super(id, name, amount, active, "sub");
+        }
+    }
+}
@@ -43,6 +43,7 @@ import io.github.mybatisx.core.support.select.StandardSelection;
 import io.github.mybatisx.exception.MyBatisException;
 import io.github.mybatisx.immutable.ImmutableLinkedMap;
 import io.github.mybatisx.immutable.ImmutableList;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
 import io.github.mybatisx.plugin.paging.RangeMode;
 import io.github.mybatisx.support.basic.Matched;
 import io.github.mybatisx.support.constant.Slot;
@@ -262,6 +263,10 @@ public abstract class AbstractExtCriteria<T> implements ExtCriteria<T> {
      * 每页数目
      */
     protected long pageSize;
+    /**
+     * 键集分页对象
+     */
+    protected KeysetPageable keyset;
     /**
      * 联表引用属性
      */
@@ -758,6 +763,9 @@ public abstract class AbstractExtCriteria<T> implements ExtCriteria<T> {
      * @return {@link RangeMode}
      */
     public RangeMode getMode() {
+        if (this.keyset != null) {
+            return RangeMode.NONE;
+        }
         if (this.rowStart >= 0 && this.rowEnd > 0) {
             return RangeMode.SCOPE;
         } else if (this.pageStart > 0 && this.pageEnd > 0) {
@@ -766,6 +774,14 @@ public abstract class AbstractExtCriteria<T> implements ExtCriteria<T> {
         return RangeMode.NONE;
     }
 
+    /**
+     * 获取键集分页对象
+     * @return {@link KeysetPageable}
+     */
+    public KeysetPageable getKeyset() {
+        return this.keyset;
+    }
+
     /**
      * 获取聚合函数
      * @param alias 聚合函数别名
@@ -43,6 +43,7 @@ import io.github.mybatisx.core.support.select.NativeSelection;
 import io.github.mybatisx.core.support.select.Selection;
 import io.github.mybatisx.core.support.select.StandardSelection;
 import io.github.mybatisx.core.support.select.SubSelection;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
 import io.github.mybatisx.support.basic.Matched;
 import io.github.mybatisx.support.constant.Slot;
 
@@ -164,6 +165,12 @@ public abstract class AbstractCommonQueryCriteria<T, C extends CommonQueryCriter
         return this.self();
     }
 
+    @Override
+    public C keyset(final KeysetPageable keyset) {
+        this.keyset = keyset;
+        return this.self();
+    }
+
     @Override
     public C foreign(ExtCriteria<?> query) {
         this.addForeign(query);
@@ -46,6 +46,7 @@ import io.github.mybatisx.core.support.select.NativeSelection;
 import io.github.mybatisx.core.support.select.Selection;
 import io.github.mybatisx.core.support.select.StandardSelection;
 import io.github.mybatisx.core.support.select.SubSelection;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
 import io.github.mybatisx.support.basic.Matched;
 import io.github.mybatisx.support.constant.Slot;
 
@@ -176,6 +177,12 @@ public abstract class AbstractGenericQueryCriteria<T, C extends GenericQueryCrit
         return this.self();
     }
 
+    @Override
+    public C keyset(final KeysetPageable keyset) {
+        this.keyset = keyset;
+        return this.self();
+    }
+
     @Override
     public C foreign(ExtCriteria<?> query) {
         this.addForeign(query);
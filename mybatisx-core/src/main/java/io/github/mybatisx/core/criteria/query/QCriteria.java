@@ -20,6 +20,8 @@ import io.github.mybatisx.core.criteria.CriteriaWrapper;
 import io.github.mybatisx.core.criteria.ExtCriteria;
 import io.github.mybatisx.core.support.func.Function;
 import io.github.mybatisx.executor.resultset.EmbedResult;
+import io.github.mybatisx.plugin.paging.KeysetFetch;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
 import io.github.mybatisx.plugin.paging.RangeFetch;
 import io.github.mybatisx.support.constant.Join;
 
@@ -36,7 +38,7 @@ import java.util.function.Consumer;
  * @since 1.0.0
  */
 public interface QCriteria<T, C extends QCriteria<T, C>> extends CriteriaWrapper<T, C>,
-        EmbedResult, RangeFetch {
+        EmbedResult, RangeFetch, KeysetFetch {
 
     // region Extension methods
 
@@ -212,6 +214,23 @@ public interface QCriteria<T, C extends QCriteria<T, C>> extends CriteriaWrapper
      */
     C rangeWithPage(final long pageStart, final long pageEnd, final long pageSize);
 
+    /**
+     * 键集(Seek)分页
+     * @param size     每页数目
+     * @param lastKeys 上一页最后一条记录的排序键值(与ORDER BY顺序一致)
+     * @return {@code this}
+     */
+    default C keyset(final long size, final Object... lastKeys) {
+        return this.keyset(KeysetPageable.of(size, lastKeys));
+    }
+
+    /**
+     * 键集(Seek)分页
+     * @param keyset {@link KeysetPageable}
+     * @return {@code this}
+     */
+    C keyset(final KeysetPageable keyset);
+
     // endregion
 
     // region Nested sub query methods
@@ -126,6 +126,14 @@ public abstract class AbstractSupplier implements Supplier, Constants {
         return "${" + PARAM_CRITERIA + ".segment}";
     }
 
+    /**
+     * 条件部分(脚本)，用于注入伴生{@link org.apache.ibatis.mapping.MappedStatement MappedStatement}
+     * @return 条件部分，null表示结构未知不注入伴生语句
+     */
+    public String where() {
+        return null;
+    }
+
     /**
      * 主键条件
      * @return 条件
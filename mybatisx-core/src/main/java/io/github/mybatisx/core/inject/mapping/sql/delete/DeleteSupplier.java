@@ -39,8 +39,13 @@ public class DeleteSupplier extends AbstractSupplier {
 
     @Override
     public String get() {
-        return this.delete(Scripts.convertToWhereTag(this.table.columns().stream().map(it ->
+        return this.delete(this.where());
+    }
+
+    @Override
+    public String where() {
+        return Scripts.convertToWhereTag(this.table.columns().stream().map(it ->
             Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ, Operation.REPLACE, NULL, it, EMPTY, true, true, Slot.AND))
-            .collect(Collectors.joining(NEW_LINE))));
+            .collect(Collectors.joining(NEW_LINE)));
     }
 }
@@ -39,4 +39,9 @@ public class SelectAllSupplier extends AbstractSupplier {
         return this.select(this.table.columns().stream().map(Column::getColumn)
             .collect(Collectors.joining(COMMA_SPACE)), "");
     }
+
+    @Override
+    public String where() {
+        return EMPTY;
+    }
 }
@@ -41,8 +41,13 @@ public class SelectListByEntitySupplier extends AbstractSupplier {
     @Override
     public String get() {
         return this.select(this.table.columns().stream().map(Column::getColumn).collect(Collectors.joining(COMMA_SPACE)),
-            Scripts.convertToWhereTag(this.table.columns().stream().map(it ->
-                Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ, Operation.REPLACE, NULL, it,
-                    EMPTY, true, true, Slot.AND)).collect(Collectors.joining(NEW_LINE))));
+            this.where());
+    }
+
+    @Override
+    public String where() {
+        return Scripts.convertToWhereTag(this.table.columns().stream().map(it ->
+            Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ, Operation.REPLACE, NULL, it,
+                EMPTY, true, true, Slot.AND)).collect(Collectors.joining(NEW_LINE)));
     }
 }
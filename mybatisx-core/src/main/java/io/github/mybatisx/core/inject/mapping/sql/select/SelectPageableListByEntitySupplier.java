@@ -24,7 +24,6 @@ import io.github.mybatisx.support.constant.Symbol;
 import io.github.mybatisx.core.inject.mapping.sql.AbstractSupplier;
 import io.github.mybatisx.core.inject.mapping.utils.Scripts;
 
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -41,10 +40,14 @@ public class SelectPageableListByEntitySupplier extends AbstractSupplier {
 
     @Override
     public String get() {
-        final Set<Column> columns = this.table.columns();
         return this.select(this.table.columns().stream().map(Column::getColumn).collect(Collectors.joining(COMMA_SPACE)),
-            Scripts.convertToWhereTag(this.table.columns().stream().map(it ->
-                Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ, Operation.REPLACE, NULL, it,
-                    EMPTY, true, true, Slot.AND)).collect(Collectors.joining(NEW_LINE))));
+            this.where());
+    }
+
+    @Override
+    public String where() {
+        return Scripts.convertToWhereTag(this.table.columns().stream().map(it ->
+            Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ, Operation.REPLACE, NULL, it,
+                EMPTY, true, true, Slot.AND)).collect(Collectors.joining(NEW_LINE)));
     }
 }
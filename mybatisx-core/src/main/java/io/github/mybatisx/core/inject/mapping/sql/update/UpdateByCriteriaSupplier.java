@@ -35,6 +35,11 @@ public class UpdateByCriteriaSupplier extends AbstractCriteriaSupplier {
     @Override
     public String get() {
         return this.update("SET " + Constants.DOLLAR_BRACE_OPEN + Constants.PARAM_CRITERIA + Constants.DOT +
-            "updateSegment" + Constants.BRACE_CLOSE, this.getUpdateCondition());
+            "updateSegment" + Constants.BRACE_CLOSE, this.where());
+    }
+
+    @Override
+    public String where() {
+        return this.getUpdateCondition();
     }
 }
@@ -47,6 +47,11 @@ public class UpdateMixedSupplier extends AbstractCriteriaSupplier {
         this.table.optimisticLockOptional().map(this::convertToOptimisticLockIfTag).ifPresent(it ->
             script.append(NEW_LINE).append(it));
         return this.update(Scripts.convertToTrimTag(script.toString(), "SET", null, null, COMMA_SPACE),
-            this.getUpdateCondition());
+            this.where());
+    }
+
+    @Override
+    public String where() {
+        return this.getUpdateCondition();
     }
 }
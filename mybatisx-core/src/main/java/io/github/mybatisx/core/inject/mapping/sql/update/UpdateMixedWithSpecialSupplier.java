@@ -43,6 +43,11 @@ public class UpdateMixedWithSpecialSupplier extends AbstractCriteriaSupplier {
             Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ, Operation.REPLACE, NULL, it, COMMA_SPACE,
                 false, true, Slot.NONE)).collect(Collectors.joining(NEW_LINE));
         return this.update(Scripts.convertToTrimTag(setBody, "SET", null, null, COMMA_SPACE),
-            this.getUpdateCondition());
+            this.where());
+    }
+
+    @Override
+    public String where() {
+        return this.getUpdateCondition();
     }
 }
@@ -42,13 +42,18 @@ public class UpdateWithSpecialExcNullSupplier extends AbstractSupplier {
     @Override
     public String get() {
         final Set<Column> columns = table.filtrate(it -> it.isUpdatable() && !it.isMultiTenant());
+        String script = columns.stream().map(it -> Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ,
+            Operation.REPLACE, NULL, it, COMMA_SPACE, false, true, Slot.NONE)).collect(Collectors.joining(NEW_LINE));
+        return update(Scripts.convertToTrimTag(script, "SET", null, null, COMMA_SPACE),
+            this.where());
+    }
+
+    @Override
+    public String where() {
         // 主键
         final StringBuilder condition = this.addPrimaryKeyCondition();
         // 租户
         this.addMultiTenantCondition(condition);
-        String script = columns.stream().map(it -> Scripts.convertToIfTag(PARAM_ENTITY, Symbol.EQ,
-            Operation.REPLACE, NULL, it, COMMA_SPACE, false, true, Slot.NONE)).collect(Collectors.joining(NEW_LINE));
-        return update(Scripts.convertToTrimTag(script, "SET", null, null, COMMA_SPACE),
-            Scripts.convertToTrimTag(condition.toString(), "WHERE", "AND |OR ", NULL, NULL));
+        return Scripts.convertToTrimTag(condition.toString(), "WHERE", "AND |OR ", NULL, NULL);
     }
 }
@@ -38,14 +38,19 @@ public class UpdateWithSpecialSupplier extends AbstractSupplier {
 
     @Override
     public String get() {
-        // 主键
-        final StringBuilder condition = this.addPrimaryKeyCondition();
-        // 租户
-        this.addMultiTenantCondition(condition);
         String script = table.filtrate(it -> it.isUpdatable() && !it.isMultiTenant()).stream().map(it ->
             SPACE + Scripts.convertToPartArg(Constants.PARAM_ENTITY, Operation.REPLACE, it))
             .collect(Collectors.joining(COMMA + NEW_LINE));
         return update(Scripts.convertToTrimTag(script, "SET", null, null, COMMA_SPACE),
-            Scripts.convertToTrimTag(condition.toString(), "WHERE", "AND |OR ", NULL, NULL));
+            this.where());
+    }
+
+    @Override
+    public String where() {
+        // 主键
+        final StringBuilder condition = this.addPrimaryKeyCondition();
+        // 租户
+        this.addMultiTenantCondition(condition);
+        return Scripts.convertToTrimTag(condition.toString(), "WHERE", "AND |OR ", NULL, NULL);
     }
 }
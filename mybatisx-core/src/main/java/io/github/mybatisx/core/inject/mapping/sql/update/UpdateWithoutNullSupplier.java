@@ -48,13 +48,18 @@ public class UpdateWithoutNullSupplier extends AbstractSupplier {
         // 乐观锁
         this.table.optimisticLockOptional().map(this::convertToOptimisticLockIfTag).ifPresent(it ->
             script.append(NEW_LINE).append(it));
+        return update(Scripts.convertToTrimTag(script.toString(), "SET", null, null, COMMA_SPACE),
+            this.where());
+    }
+
+    @Override
+    public String where() {
         // 主键
         final StringBuilder condition = this.addPrimaryKeyCondition();
         // 乐观锁
         this.addOptimisticLockCondition(condition);
         // 租户
         this.addMultiTenantCondition(condition);
-        return update(Scripts.convertToTrimTag(script.toString(), "SET", null, null, COMMA_SPACE),
-            Scripts.convertToTrimTag(condition.toString(), "WHERE", "AND |OR ", NULL, NULL));
+        return Scripts.convertToTrimTag(condition.toString(), "WHERE", "AND |OR ", NULL, NULL);
     }
 }
@@ -24,8 +24,10 @@ import io.github.mybatisx.basic.metadata.Table;
 import io.github.mybatisx.support.config.MyBatisGlobalConfiguration;
 import io.github.mybatisx.support.config.MyBatisLocalConfigurationCache;
 import io.github.mybatisx.support.inject.mapping.sql.Supplier;
+import io.github.mybatisx.core.inject.mapping.sql.AbstractSupplier;
 import io.github.mybatisx.core.inject.mapping.sql.SupplierBuilder;
 import io.github.mybatisx.core.inject.mapping.sql.SupplierCache;
+import io.github.mybatisx.plugin.utils.CompanionStatements;
 import io.github.mybatisx.session.MyBatisConfiguration;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
@@ -166,6 +168,36 @@ public abstract class AbstractInvokeMethod<T extends Supplier> extends AbstractM
         return keyGenerator;
     }
 
+    @Override
+    protected void injectCompanionMappedStatements(final Class<?> mapperInterface, final MappedStatement ms,
+                                                   final Table table) {
+        // MyBatisConfiguration中创建的是代理对象(仅暴露get方法)，直接创建目标对象以获取条件部分
+        final Supplier supplier = SupplierCache.newInstance(getClass(), table, getGlobalConfiguration());
+        if (!(supplier instanceof AbstractSupplier)) {
+            return;
+        }
+        final AbstractSupplier it = (AbstractSupplier) supplier;
+        final String where = it.where();
+        if (where == null) {
+            return;
+        }
+        final Class<?> entity = table.getEntity();
+        final SqlCommandType commandType = ms.getSqlCommandType();
+        if (commandType == SqlCommandType.SELECT) {
+            // 总记录数
+            this.addCompanionMappedStatement(ms, CompanionStatements.COUNT_SUFFIX,
+                it.select("COUNT(*) RECORDS", where), entity, Long.class);
+            // 是否存在
+            this.addCompanionMappedStatement(ms, CompanionStatements.EXISTS_SUFFIX,
+                it.select("CASE WHEN COUNT(*) > 0 THEN 1 ELSE 0 END RECORDS", where), entity, Integer.class);
+        } else if (commandType == SqlCommandType.UPDATE || commandType == SqlCommandType.DELETE) {
+            // 更新(删除)前查询原数据
+            this.addCompanionMappedStatement(ms, CompanionStatements.SOURCES_SUFFIX,
+                CompanionStatements.makeSourcesScript(table.getFullName(), where), entity, entity);
+            CompanionStatements.registerTableName(ms, table.getFullName());
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public T create(final Object... args) {
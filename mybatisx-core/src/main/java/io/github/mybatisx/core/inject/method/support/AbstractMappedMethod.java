@@ -68,7 +68,12 @@ public abstract class AbstractMappedMethod implements MappedMethod {
             ((MyBatisConfiguration) this.configuration).addSupplier(getClass());
         }
         // 注入
-        this.injectMappedStatement(mapperInterface, resultType, table);
+        final boolean loaded = this.hasStatement(mapperInterface.getName() + "." + invokeMethod());
+        final MappedStatement ms = this.injectMappedStatement(mapperInterface, resultType, table);
+        if (!loaded && ms != null) {
+            // 注入伴生语句(XML或SqlProvider配置的语句结构未知，忽略)
+            this.injectCompanionMappedStatements(mapperInterface, ms, table);
+        }
     }
 
     /**
@@ -179,6 +184,28 @@ public abstract class AbstractMappedMethod implements MappedMethod {
             null, resultType, new NoKeyGenerator(), null, null);
     }
 
+    /**
+     * 添加伴生{@link MappedStatement}对象到容器(查询类型)
+     * @param ms            原{@link MappedStatement}对象
+     * @param suffix        唯一标识后缀
+     * @param script        SQL脚本
+     * @param parameterType 参数类型
+     * @param resultType    返回值类型
+     * @return {@link MappedStatement}对象
+     */
+    protected MappedStatement addCompanionMappedStatement(final MappedStatement ms, final String suffix,
+                                                          final String script, final Class<?> parameterType,
+                                                          final Class<?> resultType) {
+        final String statementName = ms.getId() + suffix;
+        if (hasStatement(statementName)) {
+            return this.configuration.getMappedStatement(statementName, false);
+        }
+        return this.assistant.addMappedStatement(statementName, createSqlSource(ScriptBuilder.build(script),
+            parameterType), StatementType.PREPARED, SqlCommandType.SELECT, null, null, null, parameterType, null,
+            resultType, null, false, true, false, new NoKeyGenerator(), null, null, this.configuration.getDatabaseId(),
+            this.languageDriver, null);
+    }
+
     /**
      * 检查容器中是否存在{@link MappedStatement}对象
      * @param statementName 唯一名称
@@ -225,6 +252,17 @@ public abstract class AbstractMappedMethod implements MappedMethod {
         return MyBatisLocalConfigurationCache.getGlobalConfiguration(this.configuration);
     }
 
+    /**
+     * 注入伴生{@link MappedStatement}对象(统计、存在性、更新前查询)
+     * @param mapperInterface mapper接口
+     * @param ms              已注入的{@link MappedStatement}对象
+     * @param table           {@link Table}
+     */
+    protected void injectCompanionMappedStatements(final Class<?> mapperInterface, final MappedStatement ms,
+                                                   final Table table) {
+        // empty
+    }
+
     /**
      * 注入{@link MappedStatement}对象
      * @param mapperInterface mapper接口
@@ -135,15 +135,44 @@ public class DefaultSysBuiltAuditedHandler extends AbstractAuditedHandler<Proper
         if (Objects.nonNull(property)) {
             boolean isUuid = false;
             if (property.isSnowflake() || (isUuid = property.isUuid())) {
-                final KeyGenerator kg = mgc.getKeyGenerator();
-                if (Objects.nonNull(kg)) {
+                final KeyGenerator global = mgc.getKeyGenerator();
+                if (Objects.nonNull(global)) {
+                    final KeyGenerator kg = global.select(table.getName());
                     final boolean isString = String.class.equals(property.getJavaType());
-                    final List<AuditedMetadata> metadataList = new ArrayList<>();
-                    for (Object target : sources) {
-                        final Object value = isUuid ? kg.nextUuid() : isString ? kg.nextIdString() : kg.nextId();
-                        final AuditedMetadata metadata = this.audited(ms, parameter, target, property, value);
-                        if (Objects.nonNull(metadata)) {
-                            metadataList.add(metadata);
+                    final int size = sources.size();
+                    final List<AuditedMetadata> metadataList = new ArrayList<>(size);
+                    if (!isUuid && size > 1 && kg.supportsBatch()) {
+                        // 批量数据仅为主键为空的对象一次性分配ID
+                        final List<Object> targets = new ArrayList<>(size);
+                        for (Object target : sources) {
+                            if (property.canInvoke(target) && Objects.isNull(property.getValue(target))) {
+                                targets.add(target);
+                            }
+                        }
+                        if (!targets.isEmpty()) {
+                            final long[] ids = kg.nextIds(targets.size());
+                            int index = 0;
+                            for (Object target : targets) {
+                                final long id = ids[index++];
+                                final AuditedMetadata metadata = this.audited(ms, parameter, target, property,
+                                    isString ? String.valueOf(id) : id);
+                                if (Objects.nonNull(metadata)) {
+                                    metadataList.add(metadata);
+                                }
+                            }
+                        }
+                    } else {
+                        for (Object target : sources) {
+                            final Object value;
+                            if (isUuid) {
+                                value = kg.nextUuid();
+                            } else {
+                                value = isString ? kg.nextIdString() : kg.nextId();
+                            }
+                            final AuditedMetadata metadata = this.audited(ms, parameter, target, property, value);
+                            if (Objects.nonNull(metadata)) {
+                                metadataList.add(metadata);
+                            }
                         }
                     }
                     return metadataList;
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.core.inject;
+
+import io.github.mybatisx.annotation.Id;
+import io.github.mybatisx.annotation.Table;
+import io.github.mybatisx.constant.Constants;
+import io.github.mybatisx.plugin.utils.CompanionStatements;
+import io.github.mybatisx.session.MyBatisConfiguration;
+import io.github.mybatisx.session.MyBatisSqlSessionFactoryBuilder;
+import io.github.mybatisx.support.config.MyBatisLocalConfigurationCache;
+import io.github.mybatisx.support.mapper.BaseMapper;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 伴生语句测试
+ * <p>伴生语句与原语句须渲染出相同的条件及参数绑定。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class CompanionStatementsTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:companion" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (final Connection connection = this.dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_USER (ID BIGINT PRIMARY KEY, NAME VARCHAR(32), STATUS INT, "
+                + "VERSION INT)");
+            for (int i = 1; i <= 10; i++) {
+                statement.execute("INSERT INTO T_USER VALUES (" + i + ", 'user" + (i % 3) + "', " + (i % 2) + ", 1)");
+            }
+        }
+    }
+
+    @Test
+    public void selectCompanionTest() {
+        final SqlSessionFactory factory = this.build();
+        final MappedStatement ms = factory.getConfiguration().getMappedStatement(msId("selectListByEntity"));
+        final MappedStatement records = CompanionStatements.getIfExists(ms, CompanionStatements.COUNT_SUFFIX);
+        final MappedStatement exists = CompanionStatements.getIfExists(ms, CompanionStatements.EXISTS_SUFFIX);
+        Assertions.assertNotNull(records);
+        Assertions.assertNotNull(exists);
+        final Map<String, Object> parameter = entityParameter(null, "user1", 1);
+        assertSameCondition(ms.getBoundSql(parameter), records.getBoundSql(parameter));
+        assertSameCondition(ms.getBoundSql(parameter), exists.getBoundSql(parameter));
+        try (final SqlSession session = factory.openSession(true)) {
+            final List<Object> list = session.selectList(ms.getId(), parameter);
+            Assertions.assertEquals(2, list.size());
+            Assertions.assertEquals(2L, ((Number) session.selectOne(records.getId(), parameter)).longValue());
+            Assertions.assertEquals(1, ((Number) session.selectOne(exists.getId(), parameter)).intValue());
+            final Map<String, Object> none = entityParameter(null, "nobody", null);
+            Assertions.assertEquals(0L, ((Number) session.selectOne(records.getId(), none)).longValue());
+            Assertions.assertEquals(0, ((Number) session.selectOne(exists.getId(), none)).intValue());
+        }
+    }
+
+    @Test
+    public void sourcesCompanionTest() {
+        final SqlSessionFactory factory = this.build();
+        final Map<String, Object> parameter = entityParameter(3L, "user0", 1);
+        for (String method : new String[]{"update", "updateWithoutNull", "delete"}) {
+            final MappedStatement ms = factory.getConfiguration().getMappedStatement(msId(method));
+            final MappedStatement sources = CompanionStatements.getIfExists(ms, CompanionStatements.SOURCES_SUFFIX);
+            Assertions.assertNotNull(sources, method);
+            final BoundSql bs = ms.getBoundSql(parameter);
+            final BoundSql sbs = sources.getBoundSql(parameter);
+            assertSameCondition(bs, sbs);
+            Assertions.assertEquals("T_USER", CompanionStatements.getTableName(ms), method);
+            Assertions.assertEquals(condition(bs.getSql()),
+                squash(CompanionStatements.getWhereCondition(ms, sbs.getSql())), method);
+            try (final SqlSession session = factory.openSession(true)) {
+                final List<Object> list = session.selectList(sources.getId(), parameter);
+                Assertions.assertEquals(1, list.size(), method);
+                Assertions.assertEquals(3L, ((User) list.get(0)).getId(), method);
+            }
+        }
+    }
+
+    @Test
+    public void tableNamePerConfigurationTest() {
+        final SqlSessionFactory first = this.build();
+        final SqlSessionFactory second = this.build();
+        final MappedStatement fms = first.getConfiguration().getMappedStatement(msId("update"));
+        final MappedStatement sms = second.getConfiguration().getMappedStatement(msId("update"));
+        Assertions.assertEquals(fms.getId(), sms.getId());
+        Assertions.assertEquals("T_USER", CompanionStatements.getTableName(fms));
+        Assertions.assertEquals("T_USER", CompanionStatements.getTableName(sms));
+        // 唯一标识相同的语句互不影响
+        CompanionStatements.registerTableName(sms, "X_USER");
+        Assertions.assertEquals("T_USER", CompanionStatements.getTableName(fms));
+        Assertions.assertEquals("X_USER", CompanionStatements.getTableName(sms));
+        final String sourcesSql = CompanionStatements.getIfExists(fms, CompanionStatements.SOURCES_SUFFIX)
+            .getBoundSql(entityParameter(3L, "user0", 1)).getSql();
+        Assertions.assertNotNull(CompanionStatements.getWhereCondition(fms, sourcesSql));
+        Assertions.assertNull(CompanionStatements.getWhereCondition(sms, sourcesSql));
+    }
+
+    private SqlSessionFactory build() {
+        final MyBatisConfiguration cfg = new MyBatisConfiguration(MyBatisLocalConfigurationCache.newInstance());
+        cfg.setEnvironment(new Environment("test", new JdbcTransactionFactory(), this.dataSource));
+        cfg.addMapper(UserMapper.class);
+        return new MyBatisSqlSessionFactoryBuilder().build(cfg);
+    }
+
+    private static void assertSameCondition(final BoundSql expected, final BoundSql actual) {
+        Assertions.assertEquals(condition(expected.getSql()), condition(actual.getSql()), actual.getSql());
+        // 条件参数位于SET参数之后
+        final List<String> expectedProperties = properties(expected);
+        final List<String> actualProperties = properties(actual);
+        Assertions.assertFalse(actualProperties.isEmpty(), actual.getSql());
+        Assertions.assertEquals(expectedProperties.subList(expectedProperties.size() - actualProperties.size(),
+            expectedProperties.size()), actualProperties, actual.getSql());
+    }
+
+    private static String condition(final String sql) {
+        final String value = squash(sql);
+        final int index = value.toUpperCase(Locale.ENGLISH).indexOf(" WHERE ");
+        return index < 0 ? "" : value.substring(index + 7);
+    }
+
+    private static String squash(final String value) {
+        return value.replaceAll("\\s+", " ").trim();
+    }
+
+    private static List<String> properties(final BoundSql bs) {
+        return bs.getParameterMappings().stream().map(ParameterMapping::getProperty).collect(Collectors.toList());
+    }
+
+    private static Map<String, Object> entityParameter(final Long id, final String name, final Integer status) {
+        final User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setStatus(status);
+        user.setVersion(1);
+        final Map<String, Object> parameter = new HashMap<>();
+        parameter.put(Constants.PARAM_ENTITY, user);
+        return parameter;
+    }
+
+    private static String msId(final String method) {
+        return UserMapper.class.getName() + "." + method;
+    }
+
+    public interface UserMapper extends BaseMapper<User, User, Long> {
+    }
+
+    @Table(name = "T_USER")
+    public static class User {
+        @Id
+        private Long id;
+        private String name;
+        private Integer status;
+        private Integer version;
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Integer getStatus() {
+            return status;
+        }
+
+        public void setStatus(Integer status) {
+            this.status = status;
+        }
+
+        public Integer getVersion() {
+            return version;
+        }
+
+        public void setVersion(Integer version) {
+            this.version = version;
+        }
+    }
+}
@@ -34,6 +34,7 @@ import io.github.mybatisx.event.EventPhase;
 import io.github.mybatisx.jsql.parser.SqlParser;
 import io.github.mybatisx.plugin.backup.process.QueryProcessor;
 import io.github.mybatisx.plugin.handler.AbstractUpdateHandler;
+import io.github.mybatisx.plugin.utils.CompanionStatements;
 import io.github.mybatisx.plugin.utils.PluginUtil;
 import io.github.mybatisx.reflect.Reflections;
 import io.github.mybatisx.reflection.MetaObjects;
@@ -132,7 +133,7 @@ public abstract class AbstractBackupHandler extends AbstractUpdateHandler implem
         if (this.filter(ms, parameter) && !this.isAnnotationPresent(ms, BackupNotFilter.class)) {
             final BoundSql bs = ms.getBoundSql(parameter);
             final String originalSql = bs.getSql().trim();
-            final String where = sqlParser.parseWhereCondition(originalSql);
+            final String where = this.getWhereCondition(ms, parameter, originalSql);
             final boolean nonCondition = Objects.isBlank(where);
             if (nonCondition && !this.nonConditionFilter) {
                 // 无条件不拦截备份
@@ -179,6 +180,25 @@ public abstract class AbstractBackupHandler extends AbstractUpdateHandler implem
         return invocation.proceed();
     }
 
+    /**
+     * 获取条件部分(优先从注入时生成的伴生语句截取，否则解析原SQL)
+     * @param ms          {@link MappedStatement}
+     * @param parameter   方法参数
+     * @param originalSql 原SQL语句
+     * @return 条件部分
+     */
+    protected String getWhereCondition(final MappedStatement ms, final Object parameter, final String originalSql) {
+        final MappedStatement sms = CompanionStatements.getIfExists(ms, CompanionStatements.SOURCES_SUFFIX);
+        if (Objects.nonNull(sms)) {
+            final String condition = CompanionStatements.getWhereCondition(ms,
+                sms.getBoundSql(parameter).getSql());
+            if (Objects.nonNull(condition)) {
+                return condition.isEmpty() ? null : condition;
+            }
+        }
+        return this.sqlParser.parseWhereCondition(originalSql);
+    }
+
     /**
      * 数据备份参数份处理
      * @param executor      {@link Executor}
@@ -301,14 +321,14 @@ public abstract class AbstractBackupHandler extends AbstractUpdateHandler implem
                                 sources = this.getSourcesFromSystem(executor, ms, parameter, sourceClass, querySql,
                                     condition, commandType);
                             } else {
-                                sources = this.getSourcesFromSystem(executor, ms, parameter, sourceClass,
-                                    this.makeQuerySourcesSql(originalSql, condition), condition, commandType);
+                                sources = this.getSourcesFromDefault(executor, ms, parameter, sourceClass,
+                                    originalSql, condition, commandType);
                             }
                         }
                     }
                 } else {
-                    sources = this.getSourcesFromSystem(executor, ms, parameter, sourceClass,
-                        this.makeQuerySourcesSql(originalSql, condition), condition, commandType);
+                    sources = this.getSourcesFromDefault(executor, ms, parameter, sourceClass, originalSql,
+                        condition, commandType);
                 }
             } catch (Exception e) {
                 log.error("Data backup failed: {}", e.getMessage(), e);
@@ -453,6 +473,32 @@ public abstract class AbstractBackupHandler extends AbstractUpdateHandler implem
         return executor.query(sms, parameter, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER, cacheKey, sbs);
     }
 
+    /**
+     * 默认方式查询备份数据(优先使用注入时生成的伴生语句)
+     * @param executor    {@link Executor}
+     * @param ms          {@link MappedStatement}
+     * @param parameter   方法参数
+     * @param sourceClass 元数据类
+     * @param originalSql 原SQL语句
+     * @param condition   条件部分
+     * @param commandType 当前执行类型
+     * @return 备份数据
+     * @throws SQLException 查询备份数据可能会出现异常
+     */
+    protected List<Object> getSourcesFromDefault(final Executor executor, final MappedStatement ms,
+                                                 final Object parameter, final Class<?> sourceClass,
+                                                 final String originalSql, final String condition,
+                                                 final CommandType commandType) throws SQLException {
+        final MappedStatement sms = CompanionStatements.getIfExists(ms, CompanionStatements.SOURCES_SUFFIX);
+        if (Objects.nonNull(sms) && Objects.isNotEmpty(sms.getResultMaps())
+            && sms.getResultMaps().get(0).getType().equals(sourceClass)) {
+            // 伴生语句与原语句参数一致，无需截取参数
+            return this.query(executor, sms, parameter);
+        }
+        return this.getSourcesFromSystem(executor, ms, parameter, sourceClass,
+            this.makeQuerySourcesSql(ms, originalSql, condition), condition, commandType);
+    }
+
     /**
      * 统计条件参数个数
      * @param conditionSql 条件语句
@@ -498,6 +544,23 @@ public abstract class AbstractBackupHandler extends AbstractUpdateHandler implem
         }
     }
 
+    /**
+     * 构建查询备份数据SQL语句(优先使用注入时登记的表名)
+     * @param ms          {@link MappedStatement}
+     * @param originalSql 原SQL语句
+     * @param condition   条件部分
+     * @return 完整SQL语句
+     */
+    protected String makeQuerySourcesSql(final MappedStatement ms, final String originalSql,
+                                         final String condition) {
+        final String tableName = CompanionStatements.getTableName(ms);
+        if (Objects.isNotBlank(tableName)) {
+            return CompanionStatements.makeSourcesScript(tableName, Objects.isBlank(condition) ? null :
+                ("WHERE " + condition));
+        }
+        return this.makeQuerySourcesSql(originalSql, condition);
+    }
+
     /**
      * 构建查询备份数据SQL语句
      * @param originalSql 原SQL语句
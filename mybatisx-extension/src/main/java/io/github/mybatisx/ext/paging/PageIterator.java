@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.ext.paging;
+
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 键集分页迭代器
+ * <p>按键集分页逐页懒加载，每页以上一页最后一条记录的排序键作为起点，不查询总记录数也不扫描偏移量，
+ * 适用于全表扫描等大批量数据处理。指定预取页数及线程池时由后台线程预先加载，已加载未消费的页数不超过预取页数，
+ * 内存占用保持恒定。</p>
+ * <p>预取时查询在线程池线程中执行，不参与当前线程的事务；未遍历完时需调用{@link #close()}结束后台加载，
+ * 关闭时不会中断正在执行的查询，后台线程在当前查询完成后退出。</p>
+ * @param <E> 记录类型
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PageIterator<E> implements Iterator<List<E>>, Closeable {
+
+    /**
+     * 结束标识
+     */
+    private static final Object END = new Object();
+    /**
+     * 队列等待超时时间(毫秒)，超时后检查是否已关闭
+     */
+    private static final long WAIT_TIMEOUT = 100L;
+    /**
+     * 分页查询
+     */
+    private final Function<KeysetPageable, List<E>> fetcher;
+    /**
+     * 预取队列
+     */
+    private final BlockingQueue<Object> queue;
+    /**
+     * 下一页键集分页对象(同步加载)
+     */
+    private KeysetPageable keyset;
+    /**
+     * 已加载的下一页
+     */
+    private Object nextPage;
+    /**
+     * 是否已关闭
+     */
+    private volatile boolean closed;
+
+    public PageIterator(Function<KeysetPageable, List<E>> fetcher, KeysetPageable keyset) {
+        this(fetcher, keyset, 0, null);
+    }
+
+    /**
+     * 构造方法
+     * @param fetcher  分页查询(执行后由分页插件回填是否存在下一页及下一页起始键)
+     * @param keyset   第一页键集分页对象(必须指定排序键属性)
+     * @param prefetch 预取页数(小于1或未指定线程池时同步加载)
+     * @param executor 预取线程池
+     */
+    public PageIterator(Function<KeysetPageable, List<E>> fetcher, KeysetPageable keyset,
+                        int prefetch, Executor executor) {
+        Objects.requireNonNull(fetcher, "The page fetcher cannot be null.");
+        Objects.requireNonNull(keyset, "The keyset pageable object cannot be null.");
+        if (keyset.getKeyProperties() == null || keyset.getKeyProperties().isEmpty()) {
+            throw new IllegalArgumentException("The keyset pageable object must specify the key properties.");
+        }
+        this.fetcher = fetcher;
+        this.keyset = keyset;
+        if (prefetch > 0 && executor != null) {
+            this.queue = new ArrayBlockingQueue<>(prefetch);
+            executor.execute(this::prefetch);
+        } else {
+            this.queue = null;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.nextPage == null && !this.closed) {
+            this.nextPage = this.queue == null ? this.load() : this.take();
+        }
+        if (this.nextPage instanceof RuntimeException) {
+            final RuntimeException e = (RuntimeException) this.nextPage;
+            this.nextPage = END;
+            throw e;
+        }
+        return this.nextPage != null && this.nextPage != END;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<E> next() {
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final List<E> page = (List<E>) this.nextPage;
+        this.nextPage = null;
+        return page;
+    }
+
+    /**
+     * 逐条遍历记录
+     * @return {@link Iterator}
+     */
+    public Iterator<E> rows() {
+        return new Iterator<E>() {
+            private Iterator<E> current = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!this.current.hasNext()) {
+                    if (!PageIterator.this.hasNext()) {
+                        return false;
+                    }
+                    this.current = PageIterator.this.next().iterator();
+                }
+                return true;
+            }
+
+            @Override
+            public E next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return this.current.next();
+            }
+        };
+    }
+
+    /**
+     * 逐页流
+     * @return {@link Stream}
+     */
+    public Stream<List<E>> pages() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+            Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    /**
+     * 逐条记录流
+     * @return {@link Stream}
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.rows(), Spliterator.ORDERED),
+            false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        this.closed = true;
+        this.nextPage = END;
+        if (this.queue != null) {
+            this.queue.clear();
+        }
+    }
+
+    /**
+     * 加载下一页(加载失败时结束迭代)
+     * @return 下一页记录、异常或结束标识
+     */
+    private Object load() {
+        try {
+            return this.fetch();
+        } catch (RuntimeException e) {
+            this.keyset = null;
+            return e;
+        }
+    }
+
+    /**
+     * 同步加载下一页
+     * @return 下一页记录或结束标识
+     */
+    private Object fetch() {
+        final KeysetPageable current = this.keyset;
+        if (current == null) {
+            return END;
+        }
+        final List<E> page = this.fetcher.apply(current);
+        this.keyset = this.nextKeyset(current, page);
+        return page == null || page.isEmpty() ? END : page;
+    }
+
+    /**
+     * 从预取队列中获取下一页
+     * @return 下一页记录、异常或结束标识
+     */
+    private Object take() {
+        try {
+            while (!this.closed) {
+                final Object page = this.queue.poll(WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+                if (page != null) {
+                    return page;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            this.close();
+        }
+        return END;
+    }
+
+    /**
+     * 后台预取(队列满时等待，直到消费者取走或关闭)
+     */
+    private void prefetch() {
+        while (!this.closed) {
+            final Object page = this.load();
+            if (!this.offer(page) || page == END || page instanceof RuntimeException) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 将已加载的页放入预取队列
+     * @param page 已加载的页、异常或结束标识
+     * @return 是否已放入(已关闭时返回false)
+     */
+    private boolean offer(final Object page) {
+        try {
+            while (!this.closed) {
+                if (this.queue.offer(page, WAIT_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 计算下一页键集分页对象
+     * @param current 当前页键集分页对象
+     * @param page    当前页记录
+     * @return 下一页键集分页对象，无下一页时返回null
+     */
+    private KeysetPageable nextKeyset(final KeysetPageable current, final List<E> page) {
+        if (page == null || page.isEmpty() || !current.isHasNext()) {
+            return null;
+        }
+        final List<Object> nextKeys = current.getNextKeys();
+        if (nextKeys == null || nextKeys.isEmpty()) {
+            return null;
+        }
+        return current.next();
+    }
+}
@@ -0,0 +1 @@
+package io.github.mybatisx.ext.paging;
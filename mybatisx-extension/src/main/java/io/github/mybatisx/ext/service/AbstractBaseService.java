@@ -17,7 +17,11 @@ package io.github.mybatisx.ext.service;
 
 import io.github.mybatisx.Objects;
 import io.github.mybatisx.batch.BatchDataWrapper;
+import io.github.mybatisx.core.criteria.query.QCriteria;
+import io.github.mybatisx.ext.paging.PageIterator;
 import io.github.mybatisx.executor.resultset.EmbedResult;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+import io.github.mybatisx.plugin.paging.config.PageableContext;
 import io.github.mybatisx.reflect.Reflections;
 import io.github.mybatisx.support.criteria.Criteria;
 import io.github.mybatisx.support.mapper.BaseMapper;
@@ -31,6 +35,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * 基础Service抽象类
@@ -295,6 +300,26 @@ public abstract class AbstractBaseService<M extends BaseMapper<T, U, ID>, T, U,
         return this.mapper.selectPageableListWithMapObject(criteria, pageable);
     }
 
+    @Override
+    public PageIterator<U> pageIterator(QCriteria<T, ?> criteria, KeysetPageable keyset,
+                                        int prefetch, Executor executor) {
+        return new PageIterator<>(it -> this.selectListByKeyset(criteria, it), keyset, prefetch, executor);
+    }
+
+    /**
+     * 按键集分页查询(键集分页对象绑定到分页上下文，不修改调用方的{@link Criteria}对象，可在预取线程中执行)
+     * @param criteria {@link Criteria}
+     * @param keyset   {@link KeysetPageable}
+     * @return 多条记录
+     */
+    protected List<U> selectListByKeyset(final Criteria<T> criteria, final KeysetPageable keyset) {
+        final PageableContext context = new PageableContext();
+        context.setKeyset(keyset);
+        final List<List<U>> result = new ArrayList<>(1);
+        PageableContext.runWith(context, () -> result.add(this.mapper.selectListByCriteria(criteria)));
+        return result.get(0);
+    }
+
     @Override
     public List<U> selectAll() {
         return this.mapper.selectAll();
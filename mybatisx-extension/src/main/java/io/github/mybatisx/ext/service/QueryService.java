@@ -15,6 +15,9 @@
  */
 package io.github.mybatisx.ext.service;
 
+import io.github.mybatisx.core.criteria.query.QCriteria;
+import io.github.mybatisx.ext.paging.PageIterator;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
 import io.github.mybatisx.support.criteria.Criteria;
 import io.github.paging.Pageable;
 
@@ -22,6 +25,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * 查询操作Service接口
@@ -253,6 +257,27 @@ public interface QueryService<T, U, ID> {
      */
     List<Map<String, Object>> selectListWithMapObject(final Criteria<T> criteria, final Pageable pageable);
 
+    /**
+     * 根据{@link QCriteria}对象按键集分页逐页迭代查询(同步加载)
+     * @param criteria {@link QCriteria}对象(排序需与排序键属性一致)
+     * @param keyset   第一页键集分页对象(需指定排序键属性)
+     * @return {@link PageIterator}
+     */
+    default PageIterator<U> pageIterator(final QCriteria<T, ?> criteria, final KeysetPageable keyset) {
+        return this.pageIterator(criteria, keyset, 0, null);
+    }
+
+    /**
+     * 根据{@link QCriteria}对象按键集分页逐页迭代查询
+     * @param criteria {@link QCriteria}对象(排序需与排序键属性一致)
+     * @param keyset   第一页键集分页对象(需指定排序键属性)
+     * @param prefetch 预取页数
+     * @param executor 预取线程池
+     * @return {@link PageIterator}
+     */
+    PageIterator<U> pageIterator(final QCriteria<T, ?> criteria, final KeysetPageable keyset,
+                                 final int prefetch, final Executor executor);
+
     /**
      * 查询所有记录
      * @return 所有记录
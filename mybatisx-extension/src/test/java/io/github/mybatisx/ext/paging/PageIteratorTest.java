@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.ext.paging;
+
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 键集分页迭代器测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PageIteratorTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void before() {
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @AfterEach
+    public void after() throws InterruptedException {
+        this.executor.shutdownNow();
+        Assertions.assertTrue(this.executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void synchronousTest() {
+        final AtomicInteger calls = new AtomicInteger();
+        final PageIterator<Integer> iterator = new PageIterator<>(fetcher(25, calls), keyset(10));
+        Assertions.assertEquals(0, calls.get());
+        Assertions.assertEquals(sizes(10, 10, 5), this.pageSizes(iterator));
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void prefetchTest() {
+        final AtomicInteger calls = new AtomicInteger();
+        final PageIterator<Integer> iterator = new PageIterator<>(fetcher(25, calls), keyset(10), 2,
+            this.executor);
+        final List<Integer> rows = new ArrayList<>();
+        iterator.rows().forEachRemaining(rows::add);
+        Assertions.assertEquals(range(25), rows);
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void exactLastPageTest() {
+        final AtomicInteger calls = new AtomicInteger();
+        // 最后一页恰好满页时依据多查询的一条记录判断已无下一页，不再发起空页查询
+        Assertions.assertEquals(sizes(10, 10), this.pageSizes(new PageIterator<>(fetcher(20, calls),
+            keyset(10))));
+        Assertions.assertEquals(2, calls.get());
+        calls.set(0);
+        Assertions.assertEquals(sizes(10, 10), this.pageSizes(new PageIterator<>(fetcher(20, calls),
+            keyset(10), 1, this.executor)));
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void exceptionTest() {
+        for (int prefetch = 0; prefetch < 2; prefetch++) {
+            final AtomicInteger calls = new AtomicInteger();
+            final Function<KeysetPageable, List<Integer>> delegate = fetcher(25, calls);
+            final PageIterator<Integer> iterator = new PageIterator<>(it -> {
+                if (calls.get() == 1) {
+                    calls.incrementAndGet();
+                    throw new IllegalStateException("broken");
+                }
+                return delegate.apply(it);
+            }, keyset(10), prefetch, this.executor);
+            Assertions.assertEquals(10, iterator.next().size());
+            final IllegalStateException e = Assertions.assertThrows(IllegalStateException.class,
+                iterator::hasNext);
+            Assertions.assertEquals("broken", e.getMessage());
+            Assertions.assertFalse(iterator.hasNext());
+            Assertions.assertEquals(2, calls.get());
+        }
+    }
+
+    @Test
+    public void earlyCloseTest() throws InterruptedException {
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        final Function<KeysetPageable, List<Integer>> delegate = fetcher(100, calls);
+        final PageIterator<Integer> iterator = new PageIterator<>(it -> {
+            if (calls.get() == 1) {
+                // 模拟执行中的查询
+                fetching.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+            }
+            return delegate.apply(it);
+        }, keyset(10), 1, this.executor);
+        Assertions.assertEquals(10, iterator.next().size());
+        Assertions.assertTrue(fetching.await(5, TimeUnit.SECONDS));
+        iterator.close();
+        Assertions.assertFalse(iterator.hasNext());
+        release.countDown();
+        this.executor.shutdown();
+        Assertions.assertTrue(this.executor.awaitTermination(5, TimeUnit.SECONDS));
+        // 关闭时不中断执行中的查询，后台线程在当前查询完成后退出
+        Assertions.assertFalse(interrupted.get());
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    private List<Integer> pageSizes(final PageIterator<Integer> iterator) {
+        final List<Integer> sizes = new ArrayList<>();
+        iterator.forEachRemaining(it -> sizes.add(it.size()));
+        return sizes;
+    }
+
+    private static KeysetPageable keyset(final long size) {
+        return KeysetPageable.of(size).properties("id");
+    }
+
+    /**
+     * 模拟键集分页查询(多查询一条记录并回填是否存在下一页及下一页起始键)
+     * @param total 总记录数(ID从1开始连续递增)
+     * @param calls 查询次数
+     * @return 分页查询
+     */
+    private static Function<KeysetPageable, List<Integer>> fetcher(final int total, final AtomicInteger calls) {
+        return it -> {
+            calls.incrementAndGet();
+            final int start = it.isFirst() ? 0 : (Integer) it.getLastKeys().get(0);
+            final int size = (int) it.getSize();
+            final List<Integer> rows = new ArrayList<>();
+            for (int id = start + 1; id <= total && rows.size() <= size; id++) {
+                rows.add(id);
+            }
+            final boolean hasNext = rows.size() > size;
+            final List<Integer> page = hasNext ? new ArrayList<>(rows.subList(0, size)) : rows;
+            it.setHasNext(hasNext);
+            if (!page.isEmpty()) {
+                it.setNextKeys(Collections.singletonList(page.get(page.size() - 1)));
+            }
+            return page;
+        };
+    }
+
+    private static List<Integer> sizes(final Integer... sizes) {
+        final List<Integer> list = new ArrayList<>(sizes.length);
+        Collections.addAll(list, sizes);
+        return list;
+    }
+
+    private static List<Integer> range(final int total) {
+        final List<Integer> list = new ArrayList<>(total);
+        for (int i = 1; i <= total; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+}
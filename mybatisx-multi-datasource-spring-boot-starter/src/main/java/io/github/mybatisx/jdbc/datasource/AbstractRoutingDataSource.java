@@ -27,7 +27,7 @@ import java.sql.SQLException;
  * @created 2021-08-04
  * @since 1.0.0
  */
-public abstract class AbstractRoutingDataSource extends AbstractDataSource {
+public abstract class AbstractRoutingDataSource extends AbstractDataSource implements RoutingDataSource {
 
     @Override
     public Connection getConnection() throws SQLException {
@@ -53,6 +53,11 @@ public abstract class AbstractRoutingDataSource extends AbstractDataSource {
         return iface.isInstance(this) || this.determineDataSource().isWrapperFor(iface);
     }
 
+    @Override
+    public DataSource getTargetDataSource() {
+        return this.determineDataSource();
+    }
+
     /**
      * 指定数据源
      * @return {@link DataSource}
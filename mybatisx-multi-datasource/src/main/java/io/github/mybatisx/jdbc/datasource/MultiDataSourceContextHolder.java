@@ -18,6 +18,7 @@ package io.github.mybatisx.jdbc.datasource;
 import io.github.mybatisx.Objects;
 
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 /**
  * 读写数据源切换决策工具
@@ -106,4 +107,25 @@ public class MultiDataSourceContextHolder {
         optional().ifPresent(LocalDataSourceNodeManager::clear);
         DATA_SOURCE_CACHE.remove();
     }
+
+    /**
+     * 包装任务，在执行任务的线程中沿用当前线程选择的数据源
+     * @param task 任务
+     * @param <T>  结果类型
+     * @return 包装后的任务
+     */
+    public static <T> Callable<T> wrap(final Callable<T> task) {
+        final LocalDataSource local = MultiDataSourceContextHolder.get();
+        if (Objects.isNull(local)) {
+            return task;
+        }
+        return () -> {
+            MultiDataSourceContextHolder.push(local);
+            try {
+                return task.call();
+            } finally {
+                MultiDataSourceContextHolder.remove();
+            }
+        };
+    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jdbc.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * 路由数据源
+ * <p>根据当前线程上下文路由到实际的目标数据源，供插件等组件识别实际数据源(如解析数据库方言)。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public interface RoutingDataSource {
+
+    /**
+     * 获取当前线程路由到的目标数据源
+     * @return {@link DataSource}
+     */
+    DataSource getTargetDataSource();
+}
@@ -18,6 +18,7 @@ package io.github.mybatisx.plugin.paging;
 import io.github.mybatisx.Objects;
 import io.github.mybatisx.plugin.paging.dialect.Dialect;
 import io.github.mybatisx.plugin.handler.AbstractSelectHandler;
+import io.github.mybatisx.plugin.utils.PluginUtil;
 import io.github.paging.Pageable;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
@@ -134,15 +135,37 @@ public abstract class AbstractPageableHandler extends AbstractSelectHandler {
                                              final RowBounds rb, final ResultHandler<?> rh,
                                              final CacheKey cacheKey, final BoundSql bs) throws Exception {
         if (this.dialect.canExecutePaging(ms, parameter, rb)) {
-            parameter = this.dialect.handleParameter(ms, bs, parameter, cacheKey);
-            final String pageableSql = this.dialect.makeQueryListSql(ms, bs, parameter, rb, cacheKey);
-            final BoundSql newBs = new BoundSql(ms.getConfiguration(), pageableSql, bs.getParameterMappings(), parameter);
-            return executor.query(ms, parameter, RowBounds.DEFAULT, rh, cacheKey, newBs);
+            return this.doExecuteQueryPaging(executor, ms, parameter, rb, rh, cacheKey, bs);
         } else {
             return executor.query(ms, parameter, rb, rh, cacheKey, bs);
         }
     }
 
+    /**
+     * 执行分页查询(不检查是否需要分页)
+     * @param executor  {@link Executor}
+     * @param ms        {@link MappedStatement}
+     * @param parameter 方法参数
+     * @param rb        {@link RowBounds}
+     * @param rh        {@link ResultHandler}
+     * @param cacheKey  缓存key
+     * @param bs        {@link BoundSql}
+     * @param <E>       结果类型
+     * @return 查询结果
+     * @throws Exception 异常信息
+     */
+    protected <E> List<E> doExecuteQueryPaging(final Executor executor, final MappedStatement ms, Object parameter,
+                                               final RowBounds rb, final ResultHandler<?> rh,
+                                               final CacheKey cacheKey, final BoundSql bs) throws Exception {
+        parameter = this.dialect.handleParameter(ms, bs, parameter, cacheKey);
+        final String pageableSql = this.dialect.makeQueryListSql(ms, bs, parameter, rb, cacheKey);
+        final BoundSql newBs = new BoundSql(ms.getConfiguration(), pageableSql, bs.getParameterMappings(), parameter);
+        for (Map.Entry<String, Object> entry : PluginUtil.getAdditionalParameter(bs).entrySet()) {
+            newBs.setAdditionalParameter(entry.getKey(), entry.getValue());
+        }
+        return executor.query(ms, parameter, RowBounds.DEFAULT, rh, cacheKey, newBs);
+    }
+
     @Override
     public boolean filter(MappedStatement ms, Object parameter) {
         final RangeFetch rangeFetch = this.getRangeFetch(parameter);
@@ -160,6 +183,9 @@ public abstract class AbstractPageableHandler extends AbstractSelectHandler {
             case STANDARD:
                 this.dialectClass = properties.getProperty(Dialect.PROP_KEY_STANDARD_DIALECT_PROXY);
                 break;
+            case KEYSET:
+                this.dialectClass = properties.getProperty(Dialect.PROP_KEY_KEYSET_DIALECT_PROXY);
+                break;
             default:
                 break;
         }
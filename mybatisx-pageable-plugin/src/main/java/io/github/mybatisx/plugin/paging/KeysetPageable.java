@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 键集(Seek)分页
+ * <p>根据上一页最后一条记录的排序键值定位下一页，生成{@code WHERE (k1, k2) > (?, ?) ORDER BY k1, k2 LIMIT ?}，
+ * 查询耗时与页码无关。排序键取自SQL语句的ORDER BY(与{@link #getLastKeys()}一一对应)，最后一个排序键必须唯一且非空。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class KeysetPageable implements Serializable {
+
+    private static final long serialVersionUID = 4416283730474581126L;
+    /**
+     * 默认每页数目
+     */
+    public static final long DEF_SIZE = 20L;
+    /**
+     * 每页数目
+     */
+    private long size;
+    /**
+     * 上一页最后一条记录的排序键值(为空则查询第一页)
+     */
+    private List<Object> lastKeys;
+    /**
+     * 排序键对应的结果属性名(用于自动提取下一页键值)
+     */
+    private List<String> keyProperties;
+    /**
+     * 当前页最后一条记录的排序键值
+     */
+    private List<Object> nextKeys;
+    /**
+     * 是否存在下一页
+     */
+    private boolean hasNext;
+
+    public KeysetPageable() {
+        this(DEF_SIZE, null);
+    }
+
+    public KeysetPageable(long size, List<Object> lastKeys) {
+        this.size = size < 1 ? DEF_SIZE : size;
+        this.lastKeys = lastKeys == null ? Collections.emptyList() : lastKeys;
+    }
+
+    /**
+     * 是否为第一页
+     * @return boolean
+     */
+    public boolean isFirst() {
+        return this.lastKeys == null || this.lastKeys.isEmpty();
+    }
+
+    /**
+     * 设置排序键对应的结果属性名
+     * @param properties 属性名
+     * @return {@link KeysetPageable}
+     */
+    public KeysetPageable properties(final String... properties) {
+        this.keyProperties = properties == null ? null : Arrays.asList(properties);
+        return this;
+    }
+
+    /**
+     * 下一页
+     * @return {@link KeysetPageable}
+     */
+    public KeysetPageable next() {
+        final KeysetPageable it = new KeysetPageable(this.size,
+            this.nextKeys == null ? null : new ArrayList<>(this.nextKeys));
+        it.keyProperties = this.keyProperties;
+        return it;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public List<Object> getLastKeys() {
+        return lastKeys;
+    }
+
+    public void setLastKeys(List<Object> lastKeys) {
+        this.lastKeys = lastKeys;
+    }
+
+    public List<String> getKeyProperties() {
+        return keyProperties;
+    }
+
+    public void setKeyProperties(List<String> keyProperties) {
+        this.keyProperties = keyProperties;
+    }
+
+    public List<Object> getNextKeys() {
+        return nextKeys;
+    }
+
+    public void setNextKeys(List<Object> nextKeys) {
+        this.nextKeys = nextKeys;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * 创建键集分页对象
+     * @param size     每页数目
+     * @param lastKeys 上一页最后一条记录的排序键值
+     * @return {@link KeysetPageable}
+     */
+    public static KeysetPageable of(final long size, final Object... lastKeys) {
+        return new KeysetPageable(size, lastKeys == null ? null : Arrays.asList(lastKeys));
+    }
+}
@@ -30,5 +30,9 @@ public enum PageableMode {
     /**
      * 常规
      */
-    STANDARD
+    STANDARD,
+    /**
+     * 键集(Seek)
+     */
+    KEYSET
 }
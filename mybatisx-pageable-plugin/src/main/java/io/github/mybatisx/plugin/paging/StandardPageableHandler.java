@@ -15,10 +15,15 @@
  */
 package io.github.mybatisx.plugin.paging;
 
+import io.github.mybatisx.Objects;
 import io.github.mybatisx.plugin.paging.adapter.StandardPageableAdapter;
+import io.github.mybatisx.plugin.paging.concurrent.ConcurrentCountExecutor;
+import io.github.mybatisx.plugin.paging.concurrent.CountTaskDecorator;
+import io.github.mybatisx.plugin.paging.config.StandardPageableThreadLocalCache;
 import io.github.mybatisx.plugin.paging.dialect.Dialect;
 import io.github.mybatisx.plugin.paging.dialect.PageableDialect;
 import io.github.mybatisx.plugin.exception.MyBatisPluginException;
+import io.github.mybatisx.plugin.utils.PluginUtil;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
@@ -29,7 +34,12 @@ import org.apache.ibatis.session.RowBounds;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 /**
  * 分页处理器
@@ -40,6 +50,14 @@ import java.util.Optional;
 public class StandardPageableHandler extends RangePageableHandler {
 
     private static final String DEF_DIALECT = StandardPageableAdapter.class.getCanonicalName();
+    /**
+     * 并行查询总记录数执行器(未开启时为空)
+     */
+    private volatile ConcurrentCountExecutor concurrentCountExecutor;
+    /**
+     * 并行查询总记录数任务装饰器
+     */
+    private CountTaskDecorator countTaskDecorator;
 
     @Override
     protected PageableMode getMode() {
@@ -64,9 +82,31 @@ public class StandardPageableHandler extends RangePageableHandler {
             final List<?> result;
             if (this.dialect.filter(ms, parameter, rb)) {
                 final PageableDialect pd = (PageableDialect) this.dialect;
-                if (pd.canExecutingQueryRecord(ms, parameter, rb)
-                    && !pd.executingQueryRecordAfter(executor, ms, parameter, rb, bs, rh)) {
-                    return pd.executingPagingAfter(new ArrayList<>(), parameter, rb);
+                if (pd.canExecutingQueryRecord(ms, parameter, rb)) {
+                    final ConcurrentCountExecutor cce = this.concurrentCountExecutor;
+                    // 分页查询会修改BoundSql参数映射，总记录数查询使用副本
+                    final BoundSql rbs = cce == null || !cce.isAvailable(executor) ? null : copyBoundSql(ms, bs);
+                    final Future<Long> future = rbs == null ? null :
+                        this.submitQueryRecord(cce, ms, parameter, rb, rbs, rh, pd);
+                    if (future != null) {
+                        // 并行查询总记录数与分页数据
+                        final List<?> list;
+                        try {
+                            list = this.doExecuteQueryPaging(executor, ms, parameter, rb, rh, cacheKey, bs);
+                        } catch (Exception e) {
+                            future.cancel(true);
+                            throw e;
+                        }
+                        final long records = this.awaitQueryRecord(cce, future, () ->
+                            pd.executingQueryRecord(executor, ms, parameter, rb, rbs, rh));
+                        if (!pd.executingQueryRecordAfter(records, parameter, rb)) {
+                            return pd.executingPagingAfter(new ArrayList<>(), parameter, rb);
+                        }
+                        return this.dialect.executingPagingAfter(list, parameter, rb);
+                    }
+                    if (!pd.executingQueryRecordAfter(executor, ms, parameter, rb, bs, rh)) {
+                        return pd.executingPagingAfter(new ArrayList<>(), parameter, rb);
+                    }
                 }
                 result = this.executeQueryPaging(invocation, executor, ms, parameter, rb, rh, cacheKey, bs);
             } else {
@@ -79,4 +119,84 @@ public class StandardPageableHandler extends RangePageableHandler {
             Optional.ofNullable(this.dialect).ifPresent(Dialect::completed);
         }
     }
+
+    /**
+     * 提交并行查询总记录数任务
+     * @param cce       {@link ConcurrentCountExecutor}
+     * @param ms        {@link MappedStatement}
+     * @param parameter 方法参数
+     * @param rb        {@link RowBounds}
+     * @param rbs       总记录数查询{@link BoundSql}副本
+     * @param rh        {@link ResultHandler}
+     * @param pd        {@link PageableDialect}
+     * @return {@link Future}，线程池已满时返回null
+     */
+    protected Future<Long> submitQueryRecord(final ConcurrentCountExecutor cce, final MappedStatement ms,
+                                             final Object parameter, final RowBounds rb, final BoundSql rbs,
+                                             final ResultHandler<?> rh, final PageableDialect pd) {
+        final PageableDialect actual = pd.getActualDialect();
+        return cce.submit(ms, StandardPageableThreadLocalCache.getPageable(), it ->
+            actual.executingQueryRecord(it, ms, parameter, rb, rbs, rh), this.countTaskDecorator);
+    }
+
+    /**
+     * 等待总记录数查询结果(超时后取消并行任务，在调用方执行器上串行查询)
+     * @param cce      {@link ConcurrentCountExecutor}
+     * @param future   {@link Future}
+     * @param fallback 串行查询总记录数
+     * @return 总记录数
+     * @throws Exception 异常信息
+     */
+    protected long awaitQueryRecord(final ConcurrentCountExecutor cce, final Future<Long> future,
+                                    final Callable<Long> fallback) throws Exception {
+        try {
+            return Optional.ofNullable(cce.await(future, fallback)).orElse(0L);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new MyBatisPluginException("Failed to query the total number of records: " + cause, cause);
+        }
+    }
+
+    private static BoundSql copyBoundSql(final MappedStatement ms, final BoundSql bs) {
+        final BoundSql rbs = new BoundSql(ms.getConfiguration(), bs.getSql(),
+            new ArrayList<>(bs.getParameterMappings()), bs.getParameterObject());
+        for (Map.Entry<String, Object> entry : PluginUtil.getAdditionalParameter(bs).entrySet()) {
+            rbs.setAdditionalParameter(entry.getKey(), entry.getValue());
+        }
+        return rbs;
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        super.setProperties(properties);
+        final ConcurrentCountExecutor old = this.concurrentCountExecutor;
+        if (Objects.toBool(properties.getProperty(Dialect.PROP_KEY_CONCURRENT_COUNT))) {
+            this.concurrentCountExecutor = new ConcurrentCountExecutor(
+                toInt(properties.getProperty(Dialect.PROP_KEY_CONCURRENT_COUNT_THREADS)),
+                toInt(properties.getProperty(Dialect.PROP_KEY_CONCURRENT_COUNT_QUEUE_SIZE)),
+                toLong(properties.getProperty(Dialect.PROP_KEY_CONCURRENT_COUNT_TIMEOUT)));
+        } else {
+            this.concurrentCountExecutor = null;
+        }
+        Optional.ofNullable(old).ifPresent(ConcurrentCountExecutor::shutdown);
+    }
+
+    private static int toInt(final String value) {
+        return Objects.isBlank(value) ? 0 : Integer.parseInt(value.trim());
+    }
+
+    private static long toLong(final String value) {
+        return Objects.isBlank(value) ? 0L : Long.parseLong(value.trim());
+    }
+
+    public CountTaskDecorator getCountTaskDecorator() {
+        return countTaskDecorator;
+    }
+
+    public void setCountTaskDecorator(CountTaskDecorator countTaskDecorator) {
+        this.countTaskDecorator = countTaskDecorator;
+    }
 }
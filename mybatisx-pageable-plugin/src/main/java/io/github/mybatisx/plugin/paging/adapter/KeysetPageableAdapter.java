@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.adapter;
+
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+import io.github.mybatisx.plugin.paging.config.KeysetPageableConfig;
+import io.github.mybatisx.plugin.paging.config.KeysetPageableThreadLocalCache;
+import io.github.mybatisx.reflection.MetaObjects;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.RowBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 键集分页适配器
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class KeysetPageableAdapter extends RangePageableAdapter {
+
+    /**
+     * 配置
+     */
+    private KeysetPageableConfig keysetConfig;
+
+    @Override
+    public boolean filter(MappedStatement ms, Object parameter, RowBounds rb) {
+        final KeysetPageable pageable = this.keysetConfig.getPageable(parameter);
+        if (pageable != null) {
+            this.proxy.initDialect(ms);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public <E> Object executingPagingAfter(List<E> result, Object parameter, RowBounds rb) {
+        final KeysetPageable pageable = KeysetPageableThreadLocalCache.getPageable();
+        List<E> data = result;
+        if (pageable != null && result != null) {
+            // 多查询的一条记录仅用于判断是否存在下一页
+            final int size = (int) pageable.getSize();
+            final boolean hasNext = result.size() > size;
+            pageable.setHasNext(hasNext);
+            if (hasNext) {
+                data = new ArrayList<>(result.subList(0, size));
+            }
+            final List<String> properties = pageable.getKeyProperties();
+            if (!data.isEmpty() && properties != null && !properties.isEmpty()) {
+                final MetaObject metaObject = MetaObjects.forObject(data.get(data.size() - 1));
+                final List<Object> nextKeys = new ArrayList<>(properties.size());
+                for (String property : properties) {
+                    nextKeys.add(metaObject.getValue(property));
+                }
+                pageable.setNextKeys(nextKeys);
+            }
+        }
+        return super.executingPagingAfter(data, parameter, rb);
+    }
+
+    @Override
+    public void completed() {
+        super.completed();
+        KeysetPageableThreadLocalCache.remove();
+    }
+
+    @Override
+    public void setProperties(Properties properties) {
+        super.setProperties(properties);
+        this.keysetConfig = new KeysetPageableConfig();
+    }
+}
@@ -75,6 +75,11 @@ public class StandardPageableAdapter extends RangePageableAdapter implements Pag
             .executingQueryRecordAfter(records, parameter, rb);
     }
 
+    @Override
+    public PageableDialect getActualDialect() {
+        return ((StandardPageableDialectProxy) this.proxy).getDelegate();
+    }
+
     @Override
     public void completed() {
         Optional.ofNullable(this.getDelegate()).ifPresent(it -> {
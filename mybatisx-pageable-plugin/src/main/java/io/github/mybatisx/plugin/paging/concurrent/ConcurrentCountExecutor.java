@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.concurrent;
+
+import io.github.mybatisx.plugin.paging.config.PageableContext;
+import io.github.paging.Pageable;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行查询总记录数执行器
+ * <p>在同一数据源的另一个连接上查询总记录数，与分页查询并行执行。当前连接处于写事务(非自动提交且非只读)时不可用；
+ * 工作线程使用未经插件代理的{@link SimpleExecutor}，线程池满或等待超时时由调用方退化为串行查询。</p>
+ * <p>每个并行任务在调用方连接之外额外占用一个数据库连接，线程数须远小于连接池大小，否则分页查询与总记录数查询
+ * 相互争抢连接，总记录数查询只能在超时后退化为串行查询。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class ConcurrentCountExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConcurrentCountExecutor.class);
+    /**
+     * 默认队列容量
+     */
+    public static final int DEF_QUEUE_SIZE = 256;
+    /**
+     * 默认等待超时时间(毫秒)
+     */
+    public static final long DEF_TIMEOUT = 3000L;
+    private final ThreadPoolExecutor pool;
+    /**
+     * 等待总记录数查询结果超时时间(毫秒)
+     */
+    private final long timeout;
+
+    public ConcurrentCountExecutor() {
+        this(Math.max(2, Runtime.getRuntime().availableProcessors()), DEF_QUEUE_SIZE);
+    }
+
+    public ConcurrentCountExecutor(int threads, int queueSize) {
+        this(threads, queueSize, DEF_TIMEOUT);
+    }
+
+    public ConcurrentCountExecutor(int threads, int queueSize, long timeout) {
+        final int size = threads <= 0 ? Math.max(2, Runtime.getRuntime().availableProcessors()) : threads;
+        final AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize <= 0 ? DEF_QUEUE_SIZE : queueSize), it -> {
+            final Thread thread = new Thread(it, "PAGEABLE COUNT-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pool.allowCoreThreadTimeOut(true);
+        this.timeout = timeout <= 0L ? DEF_TIMEOUT : timeout;
+    }
+
+    /**
+     * 检查当前是否可并行查询总记录数(写事务中不可用)
+     * @param executor {@link Executor}
+     * @return boolean
+     */
+    public boolean isAvailable(final Executor executor) {
+        try {
+            final Connection connection = executor.getTransaction().getConnection();
+            return connection.getAutoCommit() || connection.isReadOnly();
+        } catch (SQLException e) {
+            log.warn("Failed to check the transaction status of the current connection: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 提交查询总记录数任务
+     * @param ms        {@link MappedStatement}
+     * @param pageable  {@link Pageable}
+     * @param query     查询总记录数
+     * @param decorator {@link CountTaskDecorator}
+     * @return {@link Future}，线程池已满时返回null
+     */
+    public Future<Long> submit(final MappedStatement ms, final Pageable pageable, final RecordQuery query,
+                               final CountTaskDecorator decorator) {
+        final Callable<Long> task = () -> {
+            final Configuration cfg = ms.getConfiguration();
+            final Executor executor = new SimpleExecutor(cfg,
+                new JdbcTransaction(cfg.getEnvironment().getDataSource(), null, true));
+            final PageableContext context = new PageableContext();
+            context.setStandard(pageable);
+            try {
+                return PageableContext.callWith(context, () -> query.execute(executor));
+            } finally {
+                executor.close(false);
+            }
+        };
+        try {
+            return this.pool.submit(decorator == null ? task : decorator.decorate(task));
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 等待总记录数查询结果，超时后取消任务并在调用方执行器上串行查询
+     * @param future   {@link Future}
+     * @param fallback 串行查询总记录数
+     * @return 总记录数
+     * @throws Exception 异常信息
+     */
+    public Long await(final Future<Long> future, final Callable<Long> fallback) throws Exception {
+        try {
+            return future.get(this.timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (future.cancel(true)) {
+                log.warn("Concurrent count did not finish within {} ms, falling back to a sequential count",
+                    this.timeout);
+                return fallback.call();
+            }
+            // 取消前已完成
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (CancellationException e) {
+            return fallback.call();
+        }
+    }
+
+    /**
+     * 关闭
+     */
+    public void shutdown() {
+        this.pool.shutdownNow();
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * 查询总记录数
+     */
+    @FunctionalInterface
+    public interface RecordQuery {
+
+        /**
+         * 执行查询
+         * @param executor {@link Executor}
+         * @return 总记录数
+         * @throws SQLException SQL异常信息
+         */
+        Long execute(final Executor executor) throws SQLException;
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.concurrent;
+
+import java.util.concurrent.Callable;
+
+/**
+ * 并行查询总记录数任务装饰器(用于向工作线程传递数据源路由等线程上下文)
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface CountTaskDecorator {
+
+    /**
+     * 装饰任务
+     * @param task 查询总记录数任务
+     * @return 装饰后的任务
+     */
+    Callable<Long> decorate(final Callable<Long> task);
+}
@@ -0,0 +1 @@
+package io.github.mybatisx.plugin.paging.concurrent;
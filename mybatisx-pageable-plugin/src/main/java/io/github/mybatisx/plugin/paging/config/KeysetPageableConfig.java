@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.config;
+
+import io.github.mybatisx.plugin.paging.KeysetFetch;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+import io.github.mybatisx.plugin.utils.PluginUtil;
+
+/**
+ * 键集分页配置
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class KeysetPageableConfig {
+
+    public static final String PARAMETER_KEY = "keyset";
+
+    /**
+     * 获取键集分页对象并缓存到当前线程
+     * @param parameter 方法参数
+     * @return {@link KeysetPageable}
+     */
+    public KeysetPageable getPageable(final Object parameter) {
+        final KeysetPageable cache = KeysetPageableThreadLocalCache.getPageable();
+        if (cache != null) {
+            return cache;
+        }
+        final KeysetPageable pageable = this.lookup(parameter);
+        if (pageable != null) {
+            KeysetPageableThreadLocalCache.set(pageable);
+        }
+        return pageable;
+    }
+
+    /**
+     * 从方法参数中查找键集分页对象
+     * @param parameter 方法参数
+     * @return {@link KeysetPageable}
+     */
+    public KeysetPageable lookup(final Object parameter) {
+        final KeysetPageable pageable = PluginUtil.getParameter(parameter, PARAMETER_KEY, KeysetPageable.class);
+        if (pageable != null) {
+            return pageable;
+        }
+        final KeysetFetch fetch = PluginUtil.getParameter(parameter, KeysetFetch.PARAMETER_KEY, KeysetFetch.class);
+        return fetch == null ? null : fetch.getKeyset();
+    }
+}
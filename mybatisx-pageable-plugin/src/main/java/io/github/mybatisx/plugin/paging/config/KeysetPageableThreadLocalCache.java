@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.config;
+
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+
+/**
+ * 键集分页线程缓存
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public final class KeysetPageableThreadLocalCache {
+
+    private KeysetPageableThreadLocalCache() {
+    }
+
+    public static KeysetPageable getPageable() {
+        return PageableContext.current().getKeyset();
+    }
+
+    public static void set(final KeysetPageable pageable) {
+        if (pageable == null) {
+            KeysetPageableThreadLocalCache.remove();
+        } else {
+            PageableContext.current().setKeyset(pageable);
+        }
+    }
+
+    public static void remove() {
+        PageableContext.current().setKeyset(null);
+    }
+}
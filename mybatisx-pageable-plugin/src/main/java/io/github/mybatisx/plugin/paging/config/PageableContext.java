@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.config;
+
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+import io.github.mybatisx.plugin.paging.RangePageable;
+import io.github.mybatisx.plugin.paging.dialect.AbstractDialect;
+import io.github.paging.Pageable;
+
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+/**
+ * 分页上下文
+ * <p>标准分页、范围分页、键集分页对象及各方言代理运行时解析的方言统一保存在同一个线程上下文对象中，
+ * 每个线程仅创建一次，查询结束后由各分页对象缓存及方言代理分别清除各自的字段而非移除，避免每次查询重复分配。</p>
+ * <p>虚拟线程或不便使用线程变量的线程池中，可通过{@link #capture()}获取当前上下文副本，
+ * 再由{@link #callWith(PageableContext, Callable)}/{@link #runWith(PageableContext, Runnable)}在指定范围内显式绑定，
+ * 执行完毕后恢复原上下文。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public final class PageableContext {
+
+    private static final ThreadLocal<PageableContext> CONTEXT = ThreadLocal.withInitial(PageableContext::new);
+    /**
+     * 方言代理初始槽位数(槽位已满时扩容)
+     */
+    private static final int DELEGATE_SLOTS = 4;
+    /**
+     * 标准分页对象
+     */
+    private Pageable standard;
+    /**
+     * 范围分页对象
+     */
+    private RangePageable range;
+    /**
+     * 键集分页对象
+     */
+    private KeysetPageable keyset;
+    /**
+     * 方言代理(所有者)
+     */
+    private Object[] delegateOwners = new Object[DELEGATE_SLOTS];
+    /**
+     * 方言代理运行时解析的方言
+     */
+    private AbstractDialect[] delegates = new AbstractDialect[DELEGATE_SLOTS];
+
+    public PageableContext() {
+    }
+
+    /**
+     * 获取当前线程分页上下文
+     * @return {@link PageableContext}
+     */
+    public static PageableContext current() {
+        return CONTEXT.get();
+    }
+
+    /**
+     * 获取当前线程分页上下文副本
+     * @return {@link PageableContext}
+     */
+    public static PageableContext capture() {
+        return current().copy();
+    }
+
+    /**
+     * 在指定分页上下文范围内执行任务，执行完毕后恢复原上下文
+     * @param context {@link PageableContext}
+     * @param task    任务
+     * @param <V>     返回值类型
+     * @return 执行结果
+     * @throws Exception 异常信息
+     */
+    public static <V> V callWith(final PageableContext context, final Callable<V> task) throws Exception {
+        final PageableContext previous = CONTEXT.get();
+        CONTEXT.set(context == null ? new PageableContext() : context);
+        try {
+            return task.call();
+        } finally {
+            CONTEXT.set(previous);
+        }
+    }
+
+    /**
+     * 在指定分页上下文范围内执行任务，执行完毕后恢复原上下文
+     * @param context {@link PageableContext}
+     * @param task    任务
+     */
+    public static void runWith(final PageableContext context, final Runnable task) {
+        final PageableContext previous = CONTEXT.get();
+        CONTEXT.set(context == null ? new PageableContext() : context);
+        try {
+            task.run();
+        } finally {
+            CONTEXT.set(previous);
+        }
+    }
+
+    /**
+     * 检查是否为范围分页(未指定标准分页)
+     * @return boolean
+     */
+    public boolean isRange() {
+        return this.standard == null && this.range != null && this.range.isApply();
+    }
+
+    /**
+     * 检查是否为键集分页
+     * @return boolean
+     */
+    public boolean isKeyset() {
+        return this.keyset != null;
+    }
+
+    /**
+     * 获取指定方言代理运行时解析的方言
+     * @param owner 方言代理
+     * @return {@link AbstractDialect}
+     */
+    public AbstractDialect getDelegate(final Object owner) {
+        for (int i = 0; i < this.delegateOwners.length; i++) {
+            if (this.delegateOwners[i] == owner) {
+                return this.delegates[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 设置指定方言代理运行时解析的方言
+     * @param owner   方言代理
+     * @param dialect {@link AbstractDialect}
+     */
+    public void setDelegate(final Object owner, final AbstractDialect dialect) {
+        int free = -1;
+        for (int i = 0; i < this.delegateOwners.length; i++) {
+            if (this.delegateOwners[i] == owner) {
+                this.delegates[i] = dialect;
+                return;
+            }
+            if (free < 0 && this.delegateOwners[i] == null) {
+                free = i;
+            }
+        }
+        if (free < 0) {
+            free = this.delegateOwners.length;
+            this.delegateOwners = Arrays.copyOf(this.delegateOwners, free << 1);
+            this.delegates = Arrays.copyOf(this.delegates, free << 1);
+        }
+        this.delegateOwners[free] = owner;
+        this.delegates[free] = dialect;
+    }
+
+    /**
+     * 移除指定方言代理运行时解析的方言
+     * @param owner 方言代理
+     */
+    public void removeDelegate(final Object owner) {
+        for (int i = 0; i < this.delegateOwners.length; i++) {
+            if (this.delegateOwners[i] == owner) {
+                this.delegateOwners[i] = null;
+                this.delegates[i] = null;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 复制
+     * @return {@link PageableContext}
+     */
+    public PageableContext copy() {
+        final PageableContext it = new PageableContext();
+        it.standard = this.standard;
+        it.range = this.range;
+        it.keyset = this.keyset;
+        it.delegateOwners = this.delegateOwners.clone();
+        it.delegates = this.delegates.clone();
+        return it;
+    }
+
+    public Pageable getStandard() {
+        return standard;
+    }
+
+    public void setStandard(Pageable standard) {
+        this.standard = standard;
+    }
+
+    public RangePageable getRange() {
+        return range;
+    }
+
+    public void setRange(RangePageable range) {
+        this.range = range;
+    }
+
+    public KeysetPageable getKeyset() {
+        return keyset;
+    }
+
+    public void setKeyset(KeysetPageable keyset) {
+        this.keyset = keyset;
+    }
+}
@@ -26,21 +26,20 @@ import io.github.mybatisx.plugin.paging.RangePageable;
 public final class RangePageableThreadLocalCache {
 
     private RangePageableThreadLocalCache(){}
-    private static final ThreadLocal<RangePageable> THREAD_LOCAL_RANGE_PAGEABLE = new ThreadLocal<>();
 
     public static RangePageable getPageable() {
-        return THREAD_LOCAL_RANGE_PAGEABLE.get();
+        return PageableContext.current().getRange();
     }
 
     public static void set(final RangePageable pageable) {
         if (pageable == null) {
             RangePageableThreadLocalCache.remove();
         } else {
-            THREAD_LOCAL_RANGE_PAGEABLE.set(pageable);
+            PageableContext.current().setRange(pageable);
         }
     }
 
     public static void remove() {
-        THREAD_LOCAL_RANGE_PAGEABLE.remove();
+        PageableContext.current().setRange(null);
     }
 }
@@ -18,10 +18,12 @@ package io.github.mybatisx.plugin.paging.config;
 import io.github.mybatisx.Objects;
 import io.github.mybatisx.plugin.paging.PageableUtil;
 import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import io.github.paging.CountStrategy;
 import io.github.paging.Pageable;
 import io.github.paging.StandardPageable;
 import org.apache.ibatis.session.RowBounds;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -38,6 +40,10 @@ public class StandardPageableConfig {
      * {@link org.apache.ibatis.session.RowBounds RowBounds}参数offset是否作为Pages使用
      */
     private boolean offsetAsPage = false;
+    /**
+     * 默认总记录数查询策略(分页对象未指定时使用)
+     */
+    private CountStrategy countStrategy = CountStrategy.EXACT;
 
     /**
      * 获取分页对象
@@ -70,6 +76,9 @@ public class StandardPageableConfig {
                 pageable = PageableUtil.getPageable(parameter);
             }
             if (pageable != null) {
+                if (pageable.getCountStrategy() == null) {
+                    pageable.setCountStrategy(this.countStrategy);
+                }
                 StandardPageableThreadLocalCache.set(pageable);
                 return pageable;
             } else if (this.offsetAsPage && rb != RowBounds.DEFAULT) {
@@ -77,6 +86,7 @@ public class StandardPageableConfig {
                 final long size = rb.getLimit();
                 final long page = size != 0 ? (long) Math.ceil(((double) (offset + size)) / size) : 0;
                 final Pageable newPageable = StandardPageable.of(page, size);
+                newPageable.setCountStrategy(this.countStrategy);
                 StandardPageableThreadLocalCache.set(newPageable);
                 return newPageable;
             }
@@ -92,9 +102,16 @@ public class StandardPageableConfig {
      */
     public void setProperties(final Properties properties) {
         this.offsetAsPage = Objects.toBool(properties.getProperty("offsetAsPage"));
+        this.countStrategy = Optional.ofNullable(properties.getProperty(Dialect.PROP_KEY_COUNT_STRATEGY))
+            .filter(Objects::isNotBlank).map(it -> CountStrategy.valueOf(it.trim().toUpperCase(Locale.ENGLISH)))
+            .orElse(CountStrategy.EXACT);
     }
 
     public boolean isOffsetAsPage() {
         return offsetAsPage;
     }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
 }
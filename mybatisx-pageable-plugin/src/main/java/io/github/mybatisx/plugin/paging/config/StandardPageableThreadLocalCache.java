@@ -28,21 +28,19 @@ public final class StandardPageableThreadLocalCache {
     private StandardPageableThreadLocalCache() {
     }
 
-    private static final ThreadLocal<Pageable> THREAD_LOCAL_STANDARD_PAGEABLE = new ThreadLocal<>();
-
     public static Pageable getPageable() {
-        return THREAD_LOCAL_STANDARD_PAGEABLE.get();
+        return PageableContext.current().getStandard();
     }
 
     public static void set(final Pageable pageable) {
         if (pageable == null) {
             StandardPageableThreadLocalCache.remove();
         } else {
-            THREAD_LOCAL_STANDARD_PAGEABLE.set(pageable);
+            PageableContext.current().setStandard(pageable);
         }
     }
 
     public static void remove() {
-        THREAD_LOCAL_STANDARD_PAGEABLE.remove();
+        PageableContext.current().setStandard(null);
     }
 }
@@ -15,26 +15,35 @@
  */
 package io.github.mybatisx.plugin.paging.dialect;
 
-import io.github.mybatisx.plugin.paging.config.RangePageableThreadLocalCache;
-import io.github.mybatisx.plugin.paging.config.StandardPageableThreadLocalCache;
+import io.github.mybatisx.cache.LocalCache;
+import io.github.mybatisx.cache.LocalCacheFactory;
+import io.github.mybatisx.cache.StatisticsLocalCache;
+import io.github.mybatisx.plugin.exception.MyBatisPluginException;
+import io.github.mybatisx.plugin.paging.KeysetPageable;
+import io.github.mybatisx.plugin.paging.config.PageableContext;
 import io.github.mybatisx.jsql.parser.SqlParser;
 import io.github.mybatisx.plugin.paging.RangePageable;
-import io.github.mybatisx.reflection.MetaObjects;
+import io.github.mybatisx.plugin.paging.parser.KeysetSql;
+import io.github.mybatisx.plugin.paging.parser.KeysetSqlParser;
+import io.github.mybatisx.plugin.utils.PluginUtil;
+import io.github.paging.CountStrategy;
 import io.github.paging.DataPageable;
 import io.github.paging.Pageable;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
-import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.RowBounds;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 抽象数据库分页方言
@@ -44,19 +53,51 @@ import java.util.Properties;
  */
 public abstract class AbstractDialect implements Dialect {
 
+    protected static final String[] PAGEABLE_NONE = new String[0];
+    protected static final String[] PAGEABLE_START = {DEF_PAGEABLE_START};
+    protected static final String[] PAGEABLE_OFFSET = {DEF_PAGEABLE_OFFSET};
+    protected static final String[] PAGEABLE_START_OFFSET = {DEF_PAGEABLE_START, DEF_PAGEABLE_OFFSET};
+    protected static final String[] PAGEABLE_OFFSET_START = {DEF_PAGEABLE_OFFSET, DEF_PAGEABLE_START};
     /**
      * 配置项
      */
     protected Properties properties;
     /**
-     * SQL转换器
+     * SQL转换器(总记录数SQL已由{@link #countSqlCache}按方言缓存最终结果，不再使用共享解析结果缓存)
      */
-    protected SqlParser sqlParser = new SqlParser();
+    protected SqlParser sqlParser = new SqlParser(false);
+    /**
+     * 查询总记录数SQL缓存(原SQL -> 查询总记录数SQL)
+     */
+    protected StatisticsLocalCache<String, String> countSqlCache;
+    /**
+     * 键集分页SQL解析器
+     */
+    protected KeysetSqlParser keysetSqlParser = new KeysetSqlParser();
+    /**
+     * 键集分页SQL缓存(排序键数量:原SQL -> 键集分页SQL)
+     */
+    protected LocalCache<String, KeysetSql> keysetSqlCache;
+    /**
+     * 分页参数映射缓存(Configuration -> 分页参数名 -> 参数映射)
+     */
+    protected final Map<Configuration, Map<String, ParameterMapping>> parameterMappingsCache =
+        new ConcurrentHashMap<>();
 
     protected boolean isRange() {
-        final RangePageable rp = RangePageableThreadLocalCache.getPageable();
-        final Pageable sp = StandardPageableThreadLocalCache.getPageable();
-        return sp == null && rp != null && rp.isApply();
+        return PageableContext.current().isRange();
+    }
+
+    protected boolean isKeyset() {
+        return PageableContext.current().isKeyset();
+    }
+
+    /**
+     * 是否支持行值比较(如{@code (a, b) > (?, ?)})
+     * @return boolean
+     */
+    protected boolean supportsRowValueComparison() {
+        return false;
     }
 
     @Override
@@ -67,49 +108,48 @@ public abstract class AbstractDialect implements Dialect {
     @Override
     public String makeQueryRecordSql(MappedStatement ms, BoundSql bs, Object parameter,
                                      RowBounds rb, CacheKey cacheKey) {
-        return this.sqlParser.smartCountParse(bs.getSql());
+        final String originalSql = bs.getSql();
+        if (this.countSqlCache == null) {
+            return this.makeCountSql(originalSql);
+        }
+        String countSql = this.countSqlCache.get(originalSql);
+        if (countSql == null) {
+            countSql = this.makeCountSql(originalSql);
+            this.countSqlCache.put(originalSql, countSql);
+        }
+        return countSql;
+    }
+
+    /**
+     * 生成查询总记录数SQL(各数据库可按自身优化方式改写)
+     * @param originalSql 原SQL语句
+     * @return 总记录数SQL
+     */
+    protected String makeCountSql(final String originalSql) {
+        return this.sqlParser.smartCountParse(originalSql);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Object handleParameter(MappedStatement ms, BoundSql bs, Object parameter, CacheKey cacheKey) {
-        final Map<String, Object> paramMap;
-        if (parameter == null) {
-            paramMap = new HashMap<>();
-        } else if (parameter instanceof Map) {
-            paramMap = new HashMap<>((Map<? extends String, ?>) parameter);
-        } else {
-            paramMap = new HashMap<>();
-            final boolean hasTypeHandler = ms.getConfiguration().getTypeHandlerRegistry()
-                .hasTypeHandler(parameter.getClass());
-            if (!hasTypeHandler) {
-                final MetaObject metaObject = MetaObjects.forObject(parameter);
-                for (String name : metaObject.getGetterNames()) {
-                    paramMap.put(name, metaObject.getValue(name));
-                }
-            }
-            final List<ParameterMapping> parameterMappings = bs.getParameterMappings();
-            if (parameterMappings != null && !parameterMappings.isEmpty()) {
-                for (ParameterMapping mapping : parameterMappings) {
-                    final String property = mapping.getProperty();
-                    if (!DEF_PAGEABLE_START.equals(property) && !DEF_PAGEABLE_OFFSET.equals(property)
-                        && paramMap.get(property) != null) {
-                        if (hasTypeHandler || mapping.getJavaType().equals(parameter.getClass())) {
-                            paramMap.put(property, parameter);
-                            break;
-                        }
-                    }
-                }
+        final Map<String, Object> paramMap = new PageableParameterWrapper(parameter, parameter != null
+            && ms.getConfiguration().getTypeHandlerRegistry().hasTypeHandler(parameter.getClass()));
+        final PageableContext context = PageableContext.current();
+        if (context.isKeyset()) {
+            final KeysetPageable pageable = context.getKeyset();
+            if (!pageable.isFirst()) {
+                this.handleKeysetParameter(ms, bs, paramMap, cacheKey, pageable.getLastKeys());
             }
-        }
-        if (this.isRange()) {
-            final RangePageable pageable = RangePageableThreadLocalCache.getPageable();
+            final long size = this.getFetchSize(pageable);
+            return this.handlePageableParameter(ms, paramMap, bs, cacheKey, 0L, size, size);
+        } else if (context.isRange()) {
+            final RangePageable pageable = context.getRange();
             return this.handlePageableParameter(ms, paramMap, bs, cacheKey, pageable.getStart(),
                 pageable.getEnd(), pageable.getOffset());
         } else {
-            final Pageable pageable = StandardPageableThreadLocalCache.getPageable();
+            final Pageable pageable = context.getStandard();
+            final long size = this.getFetchSize(pageable);
             return this.handlePageableParameter(ms, paramMap, bs, cacheKey, pageable.offset(),
-                pageable.getSize() + pageable.offset(), pageable.getSize());
+                size + pageable.offset(), size);
         }
     }
 
@@ -122,15 +162,104 @@ public abstract class AbstractDialect implements Dialect {
      */
     protected void handleParameter(final MappedStatement ms, final BoundSql bs,
                                    final Long rowStart, final Long rowEnd) {
+        this.appendPageableParameterMappings(ms, bs, PAGEABLE_NONE, PAGEABLE_START_OFFSET);
+    }
+
+    /**
+     * 在原参数映射前后追加分页参数映射
+     * <p>动态SQL及键集分页每次都会生成新的原参数映射列表，因此仅按{@link Configuration}缓存分页参数映射对象，
+     * 每次只需复制一次列表。</p>
+     * @param ms     {@link MappedStatement}
+     * @param bs     {@link BoundSql}
+     * @param prefix 原参数映射之前的分页参数(使用PAGEABLE_*常量)
+     * @param suffix 原参数映射之后的分页参数(使用PAGEABLE_*常量)
+     */
+    protected void appendPageableParameterMappings(final MappedStatement ms, final BoundSql bs,
+                                                   final String[] prefix, final String[] suffix) {
         final List<ParameterMapping> parameterMappings = bs.getParameterMappings();
-        if (parameterMappings != null) {
-            final List<ParameterMapping> mappings = new ArrayList<>(parameterMappings);
-            final Configuration cf = ms.getConfiguration();
-            mappings.add(new ParameterMapping.Builder(cf, DEF_PAGEABLE_START, Long.class).build());
-            mappings.add(new ParameterMapping.Builder(cf, DEF_PAGEABLE_OFFSET, Long.class).build());
-            final MetaObject metaObject = MetaObjects.forObject(bs);
-            metaObject.setValue("parameterMappings", mappings);
+        if (parameterMappings == null) {
+            return;
+        }
+        final Map<String, ParameterMapping> cache = this.getPageableParameterMappings(ms.getConfiguration());
+        final List<ParameterMapping> mappings =
+            new ArrayList<>(parameterMappings.size() + prefix.length + suffix.length);
+        for (String property : prefix) {
+            mappings.add(cache.get(property));
         }
+        mappings.addAll(parameterMappings);
+        for (String property : suffix) {
+            mappings.add(cache.get(property));
+        }
+        PluginUtil.setParameterMappings(bs, mappings);
+    }
+
+    /**
+     * 获取分页参数映射(分页参数名 -> 参数映射)
+     * @param cf {@link Configuration}
+     * @return 参数映射
+     */
+    protected Map<String, ParameterMapping> getPageableParameterMappings(final Configuration cf) {
+        final Map<String, ParameterMapping> cache = this.parameterMappingsCache.get(cf);
+        if (cache != null) {
+            return cache;
+        }
+        return this.parameterMappingsCache.computeIfAbsent(cf, it -> {
+            final Map<String, ParameterMapping> mappings = new HashMap<>(4);
+            for (String property : PAGEABLE_START_OFFSET) {
+                mappings.put(property, new ParameterMapping.Builder(it, property, Long.class).build());
+            }
+            return Collections.unmodifiableMap(mappings);
+        });
+    }
+
+    /**
+     * 键集分页参数处理(在原参数中插入定位条件参数)
+     * @param ms       {@link MappedStatement}
+     * @param bs       {@link BoundSql}
+     * @param paramMap 参数
+     * @param cacheKey 缓存key
+     * @param lastKeys 上一页最后一条记录的排序键值
+     */
+    protected void handleKeysetParameter(final MappedStatement ms, final BoundSql bs,
+                                         final Map<String, Object> paramMap, final CacheKey cacheKey,
+                                         final List<Object> lastKeys) {
+        final KeysetSql ks = this.getKeysetSql(bs.getSql(), lastKeys.size());
+        final Configuration cf = ms.getConfiguration();
+        final int[] keyIndexes = ks.getKeyIndexes();
+        final List<ParameterMapping> seekMappings = new ArrayList<>(keyIndexes.length);
+        for (int i = 0; i < keyIndexes.length; i++) {
+            final Object value = lastKeys.get(keyIndexes[i]);
+            if (value == null) {
+                throw new MyBatisPluginException("Keyset paging does not support null key values");
+            }
+            final String property = DEF_PAGEABLE_KEYSET + i;
+            paramMap.put(property, value);
+            cacheKey.update(value);
+            seekMappings.add(new ParameterMapping.Builder(cf, property, value.getClass()).build());
+        }
+        final List<ParameterMapping> mappings = new ArrayList<>(Optional.ofNullable(bs.getParameterMappings())
+            .orElse(Collections.emptyList()));
+        mappings.addAll(ks.getParameterIndex(), seekMappings);
+        PluginUtil.setParameterMappings(bs, mappings);
+    }
+
+    /**
+     * 获取键集分页SQL
+     * @param originalSql 原SQL语句
+     * @param keys        排序键数量
+     * @return {@link KeysetSql}
+     */
+    protected KeysetSql getKeysetSql(final String originalSql, final int keys) {
+        if (this.keysetSqlCache == null) {
+            return this.keysetSqlParser.parse(originalSql, keys, this.supportsRowValueComparison());
+        }
+        final String key = keys + ":" + originalSql;
+        KeysetSql ks = this.keysetSqlCache.get(key);
+        if (ks == null) {
+            ks = this.keysetSqlParser.parse(originalSql, keys, this.supportsRowValueComparison());
+            this.keysetSqlCache.put(key, ks);
+        }
+        return ks;
     }
 
     /**
@@ -140,6 +269,9 @@ public abstract class AbstractDialect implements Dialect {
      * @return {@link MappedStatement}对象
      */
     protected MappedStatement getMappedStatementIfExists(final Configuration configuration, final String msId) {
+        if (!configuration.hasStatement(msId, false)) {
+            return null;
+        }
         try {
             return configuration.getMappedStatement(msId, false);
         } catch (Exception ignore) {
@@ -151,13 +283,20 @@ public abstract class AbstractDialect implements Dialect {
     @Override
     public String makeQueryListSql(MappedStatement ms, BoundSql bs, Object parameter,
                                    RowBounds rb, CacheKey cacheKey) {
-        if (this.isRange()) {
-            final RangePageable pageable = RangePageableThreadLocalCache.getPageable();
+        final PageableContext context = PageableContext.current();
+        if (context.isKeyset()) {
+            final KeysetPageable pageable = context.getKeyset();
+            final long size = this.getFetchSize(pageable);
+            final String sql = pageable.isFirst() ? bs.getSql()
+                : this.getKeysetSql(bs.getSql(), pageable.getLastKeys().size()).getSql();
+            return this.makeCorrQueryListSQL(ms, cacheKey, sql, 0L, size, size);
+        } else if (context.isRange()) {
+            final RangePageable pageable = context.getRange();
             return this.makeCorrQueryListSQL(ms, cacheKey, bs.getSql(), pageable.getStart(),
                 pageable.getEnd(), pageable.getOffset());
         } else {
-            final Pageable pageable = StandardPageableThreadLocalCache.getPageable();
-            final long size = pageable.getSize();
+            final Pageable pageable = context.getStandard();
+            final long size = this.getFetchSize(pageable);
             final long rowStart = pageable.offset();
             return this.makeCorrQueryListSQL(ms, cacheKey, bs.getSql(), rowStart, rowStart + size, size);
         }
@@ -171,14 +310,42 @@ public abstract class AbstractDialect implements Dialect {
     @Override
     @SuppressWarnings("unchecked")
     public <E> Object executingPagingAfter(List<E> result, Object parameter, RowBounds rb) {
-        final Pageable pageable = StandardPageableThreadLocalCache.getPageable();
+        final Pageable pageable = PageableContext.current().getStandard();
+        List<E> data = result;
+        if (pageable != null && result != null && pageable.getCountStrategy() == CountStrategy.NONE) {
+            // 多查询的一条记录仅用于判断是否存在下一页
+            final boolean hasNext = result.size() > pageable.getSize();
+            pageable.setHasNext(hasNext);
+            if (hasNext) {
+                data = new ArrayList<>(result.subList(0, (int) pageable.getSize()));
+            }
+        }
         if (pageable instanceof DataPageable) {
             final DataPageable<E> dp = (DataPageable<E>) pageable;
             if (dp.autoFilling()) {
-                dp.setData(result);
+                dp.setData(data);
             }
         }
-        return result;
+        return data;
+    }
+
+    /**
+     * 获取分页查询记录数(不查询总记录数时多查询一条记录用于判断是否存在下一页)
+     * @param pageable {@link Pageable}
+     * @return 查询记录数
+     */
+    protected long getFetchSize(final Pageable pageable) {
+        final long size = pageable.getSize();
+        return pageable.getCountStrategy() == CountStrategy.NONE ? size + 1 : size;
+    }
+
+    /**
+     * 获取键集分页查询记录数(多查询一条记录用于判断是否存在下一页)
+     * @param pageable {@link KeysetPageable}
+     * @return 查询记录数
+     */
+    protected long getFetchSize(final KeysetPageable pageable) {
+        return pageable.getSize() + 1;
     }
 
     @Override
@@ -189,6 +356,15 @@ public abstract class AbstractDialect implements Dialect {
     @Override
     public void setProperties(Properties properties) {
         this.properties = properties;
+        this.countSqlCache = new StatisticsLocalCache<>(LocalCacheFactory.create(
+            properties.getProperty(PROP_KEY_COUNT_SQL_CACHE_CLASS), properties,
+            properties.getProperty(PROP_KEY_COUNT_SQL_CFG_PREFIX)));
+        this.keysetSqlCache = LocalCacheFactory.create(properties.getProperty(PROP_KEY_KEYSET_SQL_CACHE_CLASS),
+            properties, properties.getProperty(PROP_KEY_KEYSET_SQL_CFG_PREFIX));
+    }
+
+    public StatisticsLocalCache<String, String> getCountSqlCache() {
+        return countSqlCache;
     }
 
     /**
@@ -219,5 +395,4 @@ public abstract class AbstractDialect implements Dialect {
     public abstract String makeCorrQueryListSQL(final MappedStatement ms, final CacheKey cacheKey,
                                                 final String originalSql, final Long rowStart, final Long rowEnd,
                                                 final Long offset);
-
 }
@@ -15,19 +15,24 @@
  */
 package io.github.mybatisx.plugin.paging.dialect;
 
-import io.github.mybatisx.plugin.paging.config.StandardPageableThreadLocalCache;
+import io.github.mybatisx.plugin.paging.config.PageableContext;
 import io.github.mybatisx.cache.LocalCacheFactory;
 import io.github.mybatisx.cache.LocalCache;
 import io.github.mybatisx.plugin.utils.PluginUtil;
+import io.github.paging.CountStrategy;
 import io.github.paging.Pageable;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -43,22 +48,35 @@ import java.util.Properties;
  */
 public abstract class AbstractPageableDialect extends AbstractDialect implements PageableDialect {
 
+    /**
+     * 默认总记录数缓存有效期(毫秒)
+     */
+    public static final long DEF_COUNT_CACHE_TTL = 60000L;
     /**
      * 查询总记录SQL缓存
      */
     protected LocalCache<String, MappedStatement> recordMsCache;
+    /**
+     * 总记录数缓存(SQL及参数 -> [总记录数, 过期时间])
+     */
+    protected LocalCache<CacheKey, long[]> countCache;
+    /**
+     * 总记录数缓存有效期(毫秒)
+     */
+    protected long countCacheTtl = DEF_COUNT_CACHE_TTL;
 
     /**
      * 获取分页对象
      * @return {@link Pageable}
      */
     protected Pageable getPageable() {
-        return StandardPageableThreadLocalCache.getPageable();
+        return PageableContext.current().getStandard();
     }
 
     @Override
     public boolean canExecutingQueryRecord(MappedStatement ms, Object parameter, RowBounds rb) {
-        return Optional.ofNullable(this.getPageable()).map(it -> it.getSize() > 0).orElse(false);
+        return Optional.ofNullable(this.getPageable()).map(it -> it.getSize() > 0
+            && it.getCountStrategy() != CountStrategy.NONE).orElse(false);
     }
 
     @Override
@@ -66,12 +84,49 @@ public abstract class AbstractPageableDialect extends AbstractDialect implements
         if (this.isRange()) {
             return super.canExecutePaging(ms, parameter, rb);
         }
-        return Optional.ofNullable(this.getPageable()).map(it -> it.getRecords() > 0).orElse(false);
+        return Optional.ofNullable(this.getPageable()).map(it -> it.getRecords() > 0
+            || it.getCountStrategy() == CountStrategy.NONE || it.getCountStrategy() == CountStrategy.ESTIMATED)
+            .orElse(false);
     }
 
     @Override
     public Long executingQueryRecord(Executor executor, MappedStatement ms, Object parameter, RowBounds rb,
                                      BoundSql bs, ResultHandler<?> rh) throws SQLException {
+        final CountStrategy strategy = Optional.ofNullable(this.getPageable()).map(Pageable::getCountStrategy)
+            .orElse(CountStrategy.EXACT);
+        if (strategy == CountStrategy.ESTIMATED) {
+            final Long records = this.executingEstimateRecord(executor, ms, parameter, bs);
+            if (records != null) {
+                return records;
+            }
+        } else if (strategy == CountStrategy.CACHED && this.countCache != null) {
+            final CacheKey cacheKey = executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, bs);
+            final long now = System.currentTimeMillis();
+            final long[] cache = this.countCache.get(cacheKey);
+            if (cache != null && cache[1] > now) {
+                return cache[0];
+            }
+            final Long records = this.executingExactQueryRecord(executor, ms, parameter, rb, bs, rh);
+            this.countCache.put(cacheKey, new long[]{records, now + this.countCacheTtl});
+            return records;
+        }
+        return this.executingExactQueryRecord(executor, ms, parameter, rb, bs, rh);
+    }
+
+    /**
+     * 执行精确查询总记录数
+     * @param executor  {@link Executor}
+     * @param ms        {@link MappedStatement}
+     * @param parameter 方法参数
+     * @param rb        {@link RowBounds}
+     * @param bs        {@link BoundSql}
+     * @param rh        {@link ResultHandler}
+     * @return 总记录数
+     * @throws SQLException SQL异常信息
+     */
+    protected Long executingExactQueryRecord(final Executor executor, final MappedStatement ms,
+                                             final Object parameter, final RowBounds rb, final BoundSql bs,
+                                             final ResultHandler<?> rh) throws SQLException {
         final String msId = ms.getId() + DEF_PAGEABLE_RECORD_SUFFIX;
         final MappedStatement cacheMs = this.getMappedStatementIfExists(ms.getConfiguration(), msId);
         if (cacheMs != null) {
@@ -89,6 +144,54 @@ public abstract class AbstractPageableDialect extends AbstractDialect implements
         return Optional.ofNullable(result).map(it -> ((Number) it.get(0)).longValue()).orElse(0L);
     }
 
+    /**
+     * 根据执行计划估算总记录数
+     * @param executor  {@link Executor}
+     * @param ms        {@link MappedStatement}
+     * @param parameter 方法参数
+     * @param bs        {@link BoundSql}
+     * @return 估算总记录数，不支持时返回null
+     * @throws SQLException SQL异常信息
+     */
+    protected Long executingEstimateRecord(final Executor executor, final MappedStatement ms,
+                                           final Object parameter, final BoundSql bs) throws SQLException {
+        final String estimateSql = this.makeEstimateSql(bs.getSql());
+        if (estimateSql == null) {
+            return null;
+        }
+        final Configuration cfg = ms.getConfiguration();
+        final BoundSql ebs = new BoundSql(cfg, estimateSql, bs.getParameterMappings(), parameter);
+        for (Map.Entry<String, Object> entry : PluginUtil.getAdditionalParameter(bs).entrySet()) {
+            ebs.setAdditionalParameter(entry.getKey(), entry.getValue());
+        }
+        final Connection connection = executor.getTransaction().getConnection();
+        try (PreparedStatement ps = connection.prepareStatement(estimateSql)) {
+            cfg.newParameterHandler(ms, parameter, ebs).setParameters(ps);
+            try (ResultSet rs = ps.executeQuery()) {
+                return this.readEstimateRecords(rs);
+            }
+        }
+    }
+
+    /**
+     * 生成估算总记录数SQL(执行计划)
+     * @param originalSql 原SQL语句
+     * @return 估算SQL，不支持时返回null
+     */
+    protected String makeEstimateSql(final String originalSql) {
+        return null;
+    }
+
+    /**
+     * 从执行计划结果中读取估算行数
+     * @param rs {@link ResultSet}
+     * @return 估算行数，无法读取时返回null
+     * @throws SQLException SQL异常信息
+     */
+    protected Long readEstimateRecords(final ResultSet rs) throws SQLException {
+        return null;
+    }
+
     /**
      * 执行查询总记录数
      * @param executor  {@link Executor}
@@ -156,6 +259,10 @@ public abstract class AbstractPageableDialect extends AbstractDialect implements
     public boolean executingQueryRecordAfter(long records, Object parameter, RowBounds rb) {
         final Pageable pageable = this.getPageable();
         pageable.setRecords(records);
+        if (pageable.getCountStrategy() == CountStrategy.ESTIMATED) {
+            // 估算值可能偏小，始终执行分页查询
+            return true;
+        }
         return pageable.getSize() > 0L && (records - (pageable.getPage() - 1) * pageable.getSize()) > 0L;
     }
 
@@ -164,5 +271,10 @@ public abstract class AbstractPageableDialect extends AbstractDialect implements
         super.setProperties(properties);
         this.recordMsCache = LocalCacheFactory.create(properties.getProperty(PROP_KEY_RECORD_MS_CACHE_CLASS),
             properties, properties.getProperty(PROP_KEY_RECORD_MS_CFG_PREFIX));
+        this.countCache = LocalCacheFactory.create(properties.getProperty(PROP_KEY_COUNT_CACHE_CLASS),
+            properties, properties.getProperty(PROP_KEY_COUNT_CACHE_CFG_PREFIX));
+        this.countCacheTtl = Optional.ofNullable(properties.getProperty(PROP_KEY_COUNT_CACHE_TTL))
+            .filter(it -> !it.trim().isEmpty()).map(it -> Long.parseLong(it.trim())).filter(it -> it > 0)
+            .orElse(DEF_COUNT_CACHE_TTL);
     }
 }
@@ -15,6 +15,7 @@
  */
 package io.github.mybatisx.plugin.paging.dialect;
 
+import io.github.mybatisx.plugin.utils.CompanionStatements;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -31,17 +32,31 @@ import java.util.Properties;
  */
 public interface Dialect {
 
-    String DEF_PAGEABLE_RECORD_SUFFIX = ".plugin_inline_records";
+    String DEF_PAGEABLE_RECORD_SUFFIX = CompanionStatements.COUNT_SUFFIX;
     String DEF_PAGEABLE_SUFFIX = "pageable";
     String DEF_PAGEABLE_START = DEF_PAGEABLE_SUFFIX + "_start";
     String DEF_PAGEABLE_OFFSET = DEF_PAGEABLE_SUFFIX + "_offset";
+    String DEF_PAGEABLE_KEYSET = DEF_PAGEABLE_SUFFIX + "_keyset_";
     String PROP_KEY_DIALECT = "dialect";
     String PROP_KEY_AUTO_RUNTIME_PARSING_JDBC = "autoRuntimeParsingJdbc";
     String PROP_KEY_AUTO_RELEASE_CONNECT = "autoReleaseConnect";
     String PROP_KEY_RANGE_DIALECT_PROXY = "rangePageableDialect";
     String PROP_KEY_STANDARD_DIALECT_PROXY = "standardPageableDialect";
+    String PROP_KEY_KEYSET_DIALECT_PROXY = "keysetPageableDialect";
     String PROP_KEY_RECORD_MS_CACHE_CLASS = "recordMsCacheClass";
     String PROP_KEY_RECORD_MS_CFG_PREFIX = "recordMsCacheCfgPrefix";
+    String PROP_KEY_COUNT_SQL_CACHE_CLASS = "countSqlCacheClass";
+    String PROP_KEY_COUNT_SQL_CFG_PREFIX = "countSqlCacheCfgPrefix";
+    String PROP_KEY_KEYSET_SQL_CACHE_CLASS = "keysetSqlCacheClass";
+    String PROP_KEY_KEYSET_SQL_CFG_PREFIX = "keysetSqlCacheCfgPrefix";
+    String PROP_KEY_COUNT_STRATEGY = "countStrategy";
+    String PROP_KEY_COUNT_CACHE_TTL = "countCacheTtl";
+    String PROP_KEY_COUNT_CACHE_CLASS = "countCacheClass";
+    String PROP_KEY_COUNT_CACHE_CFG_PREFIX = "countCacheCfgPrefix";
+    String PROP_KEY_CONCURRENT_COUNT = "concurrentCount";
+    String PROP_KEY_CONCURRENT_COUNT_THREADS = "concurrentCountThreads";
+    String PROP_KEY_CONCURRENT_COUNT_QUEUE_SIZE = "concurrentCountQueueSize";
+    String PROP_KEY_CONCURRENT_COUNT_TIMEOUT = "concurrentCountTimeout";
     String PROP_KEY_WITH_NO_LOCK_REPLACER_CLASS = "withNoLockReplacerClass";
     String PROP_KEY_WITH_NO_LOCK_CACHE_CLASS = "withNoLockCacheClass";
     String PROP_KEY_WITH_NO_LOCK_RECORD_CFG_PREFIX = "withNoLockRecordCacheCfgPrefix";
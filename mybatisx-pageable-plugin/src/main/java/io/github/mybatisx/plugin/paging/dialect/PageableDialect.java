@@ -81,4 +81,12 @@ public interface PageableDialect extends Dialect {
      */
     boolean executingQueryRecordAfter(final long records, final Object parameter, final RowBounds rb);
 
+    /**
+     * 获取实际执行的分页方言(适配器返回当前线程代理的数据库方言，用于在其他线程中执行查询)
+     * @return {@link PageableDialect}
+     */
+    default PageableDialect getActualDialect() {
+        return this;
+    }
+
 }
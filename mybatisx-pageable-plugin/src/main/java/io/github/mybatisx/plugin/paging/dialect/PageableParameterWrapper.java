@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect;
+
+import io.github.mybatisx.reflection.MetaObjects;
+import org.apache.ibatis.reflection.MetaObject;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 分页参数包装
+ * <p>在原参数对象之上叠加分页参数，不复制原参数：读取时优先返回分页参数，其次从原参数(Map、JavaBean或简单类型)中读取。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PageableParameterWrapper extends AbstractMap<String, Object> {
+
+    /**
+     * 原参数
+     */
+    private final Object original;
+    /**
+     * 原参数(Map类型)
+     */
+    private final Map<String, Object> originalMap;
+    /**
+     * 原参数是否为简单类型(存在类型处理器)
+     */
+    private final boolean simple;
+    /**
+     * 分页参数
+     */
+    private final Map<String, Object> overlay = new HashMap<>(8);
+    /**
+     * 原参数元对象(JavaBean类型，延迟创建)
+     */
+    private MetaObject metaObject;
+
+    @SuppressWarnings("unchecked")
+    public PageableParameterWrapper(final Object original, final boolean simple) {
+        this.original = original;
+        this.originalMap = original instanceof Map ? (Map<String, Object>) original : null;
+        this.simple = simple && this.originalMap == null;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (this.overlay.containsKey(key)) {
+            return this.overlay.get(key);
+        }
+        if (this.originalMap != null) {
+            return this.originalMap.get(key);
+        }
+        if (this.original == null) {
+            return null;
+        }
+        if (this.simple) {
+            return this.original;
+        }
+        final MetaObject mo = this.getMetaObject();
+        final String name = String.valueOf(key);
+        return mo.hasGetter(name) ? mo.getValue(name) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (this.overlay.containsKey(key)) {
+            return true;
+        }
+        if (this.originalMap != null) {
+            return this.originalMap.containsKey(key);
+        }
+        return this.original != null && (this.simple || this.getMetaObject().hasGetter(String.valueOf(key)));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return this.overlay.put(key, value);
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        // 仅在遍历时合并
+        final Map<String, Object> merged = new LinkedHashMap<>();
+        if (this.originalMap != null) {
+            merged.putAll(this.originalMap);
+        } else if (this.original != null && !this.simple) {
+            final MetaObject mo = this.getMetaObject();
+            for (String name : mo.getGetterNames()) {
+                merged.put(name, mo.getValue(name));
+            }
+        }
+        merged.putAll(this.overlay);
+        return merged.entrySet();
+    }
+
+    private MetaObject getMetaObject() {
+        if (this.metaObject == null) {
+            this.metaObject = MetaObjects.forObject(this.original);
+        }
+        return this.metaObject;
+    }
+
+    public Object getOriginal() {
+        return original;
+    }
+}
@@ -16,16 +16,10 @@
 package io.github.mybatisx.plugin.paging.dialect.support;
 
 import io.github.mybatisx.plugin.paging.dialect.AbstractPageableDialect;
-import io.github.mybatisx.reflection.MetaObjects;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
-import org.apache.ibatis.mapping.ParameterMapping;
-import org.apache.ibatis.reflection.MetaObject;
-import org.apache.ibatis.session.Configuration;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,19 +37,13 @@ public class HsqldbDialect extends AbstractPageableDialect {
         paramMap.put(DEF_PAGEABLE_START, rowStart);
         cacheKey.update(offset);
         cacheKey.update(rowStart);
-        final List<ParameterMapping> parameterMappings = bs.getParameterMappings();
-        if (parameterMappings != null) {
-            final List<ParameterMapping> mappings = new ArrayList<>(parameterMappings);
-            final Configuration cf = ms.getConfiguration();
-            if (offset > 0) {
-                mappings.add(new ParameterMapping.Builder(cf, DEF_PAGEABLE_OFFSET, Long.class).build());
-            }
-            if (rowStart >= 0) {
-                mappings.add(new ParameterMapping.Builder(cf, DEF_PAGEABLE_START, Long.class).build());
-            }
-            final MetaObject metaObject = MetaObjects.forObject(bs);
-            metaObject.setValue("parameterMappings", mappings);
+        final String[] suffix;
+        if (offset > 0) {
+            suffix = rowStart >= 0 ? PAGEABLE_OFFSET_START : PAGEABLE_OFFSET;
+        } else {
+            suffix = rowStart >= 0 ? PAGEABLE_START : PAGEABLE_NONE;
         }
+        this.appendPageableParameterMappings(ms, bs, PAGEABLE_NONE, suffix);
         return paramMap;
     }
 
@@ -72,4 +60,9 @@ public class HsqldbDialect extends AbstractPageableDialect {
         }
         return builder.toString();
     }
+
+    @Override
+    protected boolean supportsRowValueComparison() {
+        return true;
+    }
 }
@@ -16,16 +16,10 @@
 package io.github.mybatisx.plugin.paging.dialect.support;
 
 import io.github.mybatisx.plugin.paging.dialect.AbstractPageableDialect;
-import io.github.mybatisx.reflection.MetaObjects;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
-import org.apache.ibatis.mapping.ParameterMapping;
-import org.apache.ibatis.reflection.MetaObject;
-import org.apache.ibatis.session.Configuration;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,19 +36,14 @@ public class InformixDialect extends AbstractPageableDialect {
         paramMap.put(DEF_PAGEABLE_OFFSET, offset);
         cacheKey.update(rowStart);
         cacheKey.update(offset);
-        final List<ParameterMapping> parameterMappings = bs.getParameterMappings();
-        if (parameterMappings != null) {
-            final List<ParameterMapping> mappings = new ArrayList<>(parameterMappings);
-            final Configuration cf = ms.getConfiguration();
-            if (rowStart >= 0) {
-                mappings.add(new ParameterMapping.Builder(cf, DEF_PAGEABLE_START, Long.class).build());
-            }
-            if (offset > 0) {
-                mappings.add(new ParameterMapping.Builder(cf, DEF_PAGEABLE_OFFSET, Long.class).build());
-            }
-            final MetaObject metaObject = MetaObjects.forObject(bs);
-            metaObject.setValue("parameterMappings", mappings);
+        // SKIP ? FIRST ?位于原SQL之前
+        final String[] prefix;
+        if (rowStart >= 0) {
+            prefix = offset > 0 ? PAGEABLE_START_OFFSET : PAGEABLE_START;
+        } else {
+            prefix = offset > 0 ? PAGEABLE_OFFSET : PAGEABLE_NONE;
         }
+        this.appendPageableParameterMappings(ms, bs, prefix, PAGEABLE_NONE);
         return paramMap;
     }
 
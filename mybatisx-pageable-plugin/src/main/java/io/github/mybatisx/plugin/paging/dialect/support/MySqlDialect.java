@@ -20,6 +20,8 @@ import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.Map;
 
 /**
@@ -46,4 +48,43 @@ public class MySqlDialect extends AbstractPageableDialect {
                                        Long rowStart, Long rowEnd, Long offset) {
         return originalSql + " LIMIT ?, ?";
     }
+
+    @Override
+    protected boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    protected String makeEstimateSql(String originalSql) {
+        return "EXPLAIN " + originalSql;
+    }
+
+    /**
+     * 读取EXPLAIN估算记录数
+     * <p>仅单行执行计划(单表查询)可直接使用rows * filtered估算，多表关联、派生表、子查询等多行执行计划
+     * 无法由单行推算结果集大小，此时返回null退回精确查询</p>
+     * @param rs {@link ResultSet}
+     * @return 估算记录数
+     * @throws SQLException SQL异常
+     */
+    @Override
+    protected Long readEstimateRecords(ResultSet rs) throws SQLException {
+        if (rs.next()) {
+            final long rows = rs.getLong("rows");
+            if (rs.wasNull()) {
+                return null;
+            }
+            double filtered = 100D;
+            try {
+                filtered = rs.getDouble("filtered");
+            } catch (SQLException ignore) {
+                // MySQL 5.7以前版本不存在filtered列
+            }
+            if (rs.next()) {
+                return null;
+            }
+            return Math.round(rows * filtered / 100D);
+        }
+        return null;
+    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect.support;
+
+import io.github.mybatisx.plugin.paging.dialect.AbstractPageableDialect;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * POSTGRESQL分页方言
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PostgreSqlDialect extends AbstractPageableDialect {
+
+    private static final Pattern PATTERN_PLAN_ROWS = Pattern.compile("\\brows=(\\d+)");
+
+    @Override
+    public Object handlePageableParameter(MappedStatement ms, Map<String, Object> paramMap, BoundSql bs,
+                                          CacheKey cacheKey, Long rowStart, Long rowEnd, Long offset) {
+        paramMap.put(DEF_PAGEABLE_START, rowStart);
+        paramMap.put(DEF_PAGEABLE_OFFSET, offset);
+        cacheKey.update(rowStart);
+        cacheKey.update(offset);
+        this.handleParameter(ms, bs, rowStart, offset);
+        return paramMap;
+    }
+
+    @Override
+    public String makeCorrQueryListSQL(MappedStatement ms, CacheKey cacheKey, String originalSql,
+                                       Long rowStart, Long rowEnd, Long offset) {
+        return originalSql + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY";
+    }
+
+    @Override
+    protected String makeCountSql(String originalSql) {
+        // COUNT(*)为无参聚合，无需逐行计算参数表达式
+        return this.sqlParser.smartCountParse(originalSql, "*");
+    }
+
+    @Override
+    protected boolean supportsRowValueComparison() {
+        return true;
+    }
+
+    @Override
+    protected String makeEstimateSql(String originalSql) {
+        return "EXPLAIN " + originalSql;
+    }
+
+    @Override
+    protected Long readEstimateRecords(ResultSet rs) throws SQLException {
+        // 首行为顶层计划节点，如: Seq Scan on t  (cost=0.00..35.50 rows=2550 width=4)
+        if (rs.next()) {
+            final String plan = rs.getString(1);
+            if (plan != null) {
+                final Matcher matcher = PATTERN_PLAN_ROWS.matcher(plan);
+                if (matcher.find()) {
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+        }
+        return null;
+    }
+}
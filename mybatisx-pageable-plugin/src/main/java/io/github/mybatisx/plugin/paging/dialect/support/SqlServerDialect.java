@@ -18,6 +18,7 @@ package io.github.mybatisx.plugin.paging.dialect.support;
 import io.github.mybatisx.Objects;
 import io.github.mybatisx.cache.LocalCacheFactory;
 import io.github.mybatisx.cache.LocalCache;
+import io.github.mybatisx.cache.StatisticsLocalCache;
 import io.github.mybatisx.plugin.exception.MyBatisPluginException;
 import io.github.mybatisx.plugin.paging.dialect.AbstractPageableDialect;
 import io.github.mybatisx.plugin.paging.parser.SqlServerPageableSqlParser;
@@ -68,24 +69,27 @@ public class SqlServerDialect extends AbstractPageableDialect {
     @Override
     public Object handlePageableParameter(MappedStatement ms, Map<String, Object> paramMap, BoundSql bs,
                                           CacheKey cacheKey, Long rowStart, Long rowEnd, Long offset) {
+        paramMap.put(DEF_PAGEABLE_START, rowStart);
+        paramMap.put(DEF_PAGEABLE_OFFSET, offset);
+        cacheKey.update(rowStart);
+        cacheKey.update(offset);
+        // TOP (?)位于原SQL之前，PAGE_ROW_NUMBER > ?位于原SQL之后
+        this.appendPageableParameterMappings(ms, bs, PAGEABLE_OFFSET, PAGEABLE_START);
         return paramMap;
     }
 
     @Override
     public String makeCorrQueryListSQL(MappedStatement ms, CacheKey cacheKey, String originalSql,
                                        Long rowStart, Long rowEnd, Long offset) {
-        cacheKey.update(rowStart);
-        cacheKey.update(offset);
+        // 分页参数以JDBC参数绑定，改写结果仅与原SQL相关，每种SQL仅解析一次
         String cache = this.withNoLockCacheOfPs.get(originalSql);
         if (Objects.isBlank(cache)) {
             cache = originalSql;
             cache = this.replacer.replace(cache);
-            cache = this.pageableSqlParser.smartParse(cache);
+            cache = this.pageableSqlParser.parameterizedParse(cache);
             cache = this.replacer.restore(cache);
             this.withNoLockCacheOfPs.put(originalSql, cache);
         }
-        cache = cache.replace(SqlServerPageableSqlParser.START_ROW, rowStart.toString());
-        cache = cache.replace(SqlServerPageableSqlParser.END_ROW, offset.toString());
         return cache;
     }
 
@@ -103,8 +107,10 @@ public class SqlServerDialect extends AbstractPageableDialect {
         final String cacheClass = properties.getProperty(PROP_KEY_WITH_NO_LOCK_CACHE_CLASS);
         final String recordCfgPrefix = properties.getProperty(PROP_KEY_WITH_NO_LOCK_RECORD_CFG_PREFIX);
         final String pageableCfgPrefix = properties.getProperty(PROP_KEY_WITH_NO_LOCK_PAGEABLE_CFG_PREFIX);
-        this.withNoLockCacheOfRs = LocalCacheFactory.create(cacheClass, properties, recordCfgPrefix);
-        this.withNoLockCacheOfPs = LocalCacheFactory.create(cacheClass, properties, pageableCfgPrefix);
+        this.withNoLockCacheOfRs = new StatisticsLocalCache<>(LocalCacheFactory.create(cacheClass, properties,
+            recordCfgPrefix));
+        this.withNoLockCacheOfPs = new StatisticsLocalCache<>(LocalCacheFactory.create(cacheClass, properties,
+            pageableCfgPrefix));
     }
 
     private Replacer newInstance(final String replacerClass) {
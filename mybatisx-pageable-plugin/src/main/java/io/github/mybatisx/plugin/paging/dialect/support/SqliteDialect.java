@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect.support;
+
+import io.github.mybatisx.plugin.paging.dialect.AbstractPageableDialect;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+
+import java.util.Map;
+
+/**
+ * SQLITE分页方言
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class SqliteDialect extends AbstractPageableDialect {
+
+    @Override
+    public Object handlePageableParameter(MappedStatement ms, Map<String, Object> paramMap, BoundSql bs,
+                                          CacheKey cacheKey, Long rowStart, Long rowEnd, Long offset) {
+        paramMap.put(DEF_PAGEABLE_OFFSET, offset);
+        paramMap.put(DEF_PAGEABLE_START, rowStart);
+        cacheKey.update(offset);
+        cacheKey.update(rowStart);
+        this.appendPageableParameterMappings(ms, bs, PAGEABLE_NONE, PAGEABLE_OFFSET_START);
+        return paramMap;
+    }
+
+    @Override
+    public String makeCorrQueryListSQL(MappedStatement ms, CacheKey cacheKey, String originalSql,
+                                       Long rowStart, Long rowEnd, Long offset) {
+        return originalSql + " LIMIT ? OFFSET ?";
+    }
+
+    @Override
+    protected String makeCountSql(String originalSql) {
+        // 无过滤条件时COUNT(*)可直接统计B-Tree节点
+        return this.sqlParser.smartCountParse(originalSql, "*");
+    }
+
+    @Override
+    protected boolean supportsRowValueComparison() {
+        // 3.15.0+
+        return true;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.parser;
+
+import java.io.Serializable;
+
+/**
+ * 键集分页SQL
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class KeysetSql implements Serializable {
+
+    private static final long serialVersionUID = -2204869537251405573L;
+    /**
+     * 追加定位条件后的SQL
+     */
+    private final String sql;
+    /**
+     * 定位条件第一个占位符在原SQL占位符中的位置
+     */
+    private final int parameterIndex;
+    /**
+     * 定位条件中每个占位符对应的排序键下标
+     */
+    private final int[] keyIndexes;
+
+    public KeysetSql(String sql, int parameterIndex, int[] keyIndexes) {
+        this.sql = sql;
+        this.parameterIndex = parameterIndex;
+        this.keyIndexes = keyIndexes;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getParameterIndex() {
+        return parameterIndex;
+    }
+
+    public int[] getKeyIndexes() {
+        return keyIndexes;
+    }
+}
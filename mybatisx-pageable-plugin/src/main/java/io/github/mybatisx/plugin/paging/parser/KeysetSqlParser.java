@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.parser;
+
+import io.github.mybatisx.plugin.exception.MyBatisPluginException;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.Parenthesis;
+import net.sf.jsqlparser.expression.operators.conditional.AndExpression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.OrderByElement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectBody;
+import net.sf.jsqlparser.statement.select.SelectExpressionItem;
+import net.sf.jsqlparser.statement.select.SelectItem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 键集分页SQL解析器
+ * <p>根据SQL语句的ORDER BY生成定位条件并追加到WHERE中：排序方向一致且数据库支持行值比较时生成
+ * {@code (k1, k2) > (?, ?)}，否则展开为{@code (k1 > ? OR (k1 = ? AND k2 > ?))}。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class KeysetSqlParser {
+
+    protected static final String KEYSET_MARKER = "__KEYSET_WHERE__";
+
+    /**
+     * 解析
+     * @param sql               原SQL语句
+     * @param keys              排序键数量
+     * @param rowValueSupported 是否支持行值比较
+     * @return {@link KeysetSql}
+     */
+    public KeysetSql parse(final String sql, final int keys, final boolean rowValueSupported) {
+        final Statement stmt;
+        try {
+            stmt = CCJSqlParserUtil.parse(sql);
+        } catch (Exception e) {
+            throw new MyBatisPluginException("Failed to parse keyset paging SQL: " + sql, e);
+        }
+        final SelectBody body = stmt instanceof Select ? ((Select) stmt).getSelectBody() : null;
+        if (!(body instanceof PlainSelect)) {
+            throw new MyBatisPluginException("Keyset paging only supports simple select statements: " + sql);
+        }
+        final PlainSelect ps = (PlainSelect) body;
+        final List<OrderByElement> orderBys = ps.getOrderByElements();
+        if (orderBys == null || orderBys.isEmpty()) {
+            throw new MyBatisPluginException("Keyset paging requires an ORDER BY clause: " + sql);
+        }
+        if (orderBys.size() != keys) {
+            throw new MyBatisPluginException("The number of keyset values (" + keys + ") does not match " +
+                "the number of ORDER BY keys (" + orderBys.size() + "): " + sql);
+        }
+        final List<String> columns = new ArrayList<>(keys);
+        final boolean[] asc = new boolean[keys];
+        boolean sameDirection = true;
+        for (int i = 0; i < keys; i++) {
+            final OrderByElement it = orderBys.get(i);
+            columns.add(this.resolveAlias(ps, it.getExpression()).toString());
+            asc[i] = it.isAsc();
+            sameDirection = sameDirection && asc[i] == asc[0];
+        }
+        final Expression where = ps.getWhere();
+        final Column marker = new Column(KEYSET_MARKER);
+        ps.setWhere(where == null ? marker : new AndExpression(new Parenthesis(where), marker));
+        final String rendered = stmt.toString();
+        final int markerIndex = rendered.indexOf(KEYSET_MARKER);
+        final int parameterIndex = this.countParameters(rendered, markerIndex);
+        final StringBuilder seek = new StringBuilder(64);
+        final int[] keyIndexes;
+        if (rowValueSupported && sameDirection && keys > 1) {
+            keyIndexes = new int[keys];
+            seek.append('(').append(String.join(", ", columns)).append(asc[0] ? ") > (" : ") < (");
+            for (int i = 0; i < keys; i++) {
+                seek.append(i == 0 ? "?" : ", ?");
+                keyIndexes[i] = i;
+            }
+            seek.append(')');
+        } else {
+            keyIndexes = new int[keys * (keys + 1) / 2];
+            int k = 0;
+            seek.append('(');
+            for (int i = 0; i < keys; i++) {
+                if (i > 0) {
+                    seek.append(" OR (");
+                }
+                for (int j = 0; j < i; j++) {
+                    seek.append(columns.get(j)).append(" = ? AND ");
+                    keyIndexes[k++] = j;
+                }
+                seek.append(columns.get(i)).append(asc[i] ? " > ?" : " < ?");
+                keyIndexes[k++] = i;
+                if (i > 0) {
+                    seek.append(')');
+                }
+            }
+            seek.append(')');
+        }
+        final String result = rendered.substring(0, markerIndex) + seek
+            + rendered.substring(markerIndex + KEYSET_MARKER.length());
+        return new KeysetSql(result, parameterIndex, keyIndexes);
+    }
+
+    /**
+     * 排序字段为查询字段别名时替换为原表达式(WHERE中不能引用别名)
+     * @param ps         {@link PlainSelect}
+     * @param expression 排序表达式
+     * @return 表达式
+     */
+    protected Expression resolveAlias(final PlainSelect ps, final Expression expression) {
+        if (expression instanceof Column && ((Column) expression).getTable() == null) {
+            final String name = ((Column) expression).getColumnName();
+            for (SelectItem item : ps.getSelectItems()) {
+                if (item instanceof SelectExpressionItem) {
+                    final SelectExpressionItem sei = (SelectExpressionItem) item;
+                    if (sei.getAlias() != null && name.equalsIgnoreCase(sei.getAlias().getName())) {
+                        return sei.getExpression();
+                    }
+                }
+            }
+        }
+        return expression;
+    }
+
+    /**
+     * 统计指定位置前的占位符数量(忽略字符串中的问号)
+     * @param sql SQL语句
+     * @param end 结束位置
+     * @return 占位符数量
+     */
+    protected int countParameters(final String sql, final int end) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < end; i++) {
+            final char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -61,6 +61,14 @@ public class SqlServerPageableSqlParser {
 
     public static final String START_ROW = "" + Long.MIN_VALUE;
     public static final String END_ROW = "" + Long.MAX_VALUE;
+    /**
+     * 起始行占位参数
+     */
+    public static final String START_ROW_PARAMETER = "?";
+    /**
+     * TOP占位参数(参数化TOP必须使用括号)
+     */
+    public static final String END_ROW_PARAMETER = "(?)";
     protected static final String WRAP_TABLE = "TMP_WRAP_OUTER_TABLE";
     protected static final String PAGE_TABLE_ALIAS_NAME = "TMP_PAGE_TABLE_ALIAS";
     public static final Alias PAGE_TABLE_ALIAS = new Alias(PAGE_TABLE_ALIAS_NAME);
@@ -101,6 +109,17 @@ public class SqlServerPageableSqlParser {
         return newSql;
     }
 
+    /**
+     * 转换成参数化分页SQL(TOP (?) ... WHERE PAGE_ROW_NUMBER > ?)
+     * <p>TOP参数位于原SQL参数之前，起始行参数位于原SQL参数之后；结果仅与原SQL相关，可按原SQL缓存。</p>
+     * @param originalSql 原SQL
+     * @return 分页SQL
+     */
+    public String parameterizedParse(final String originalSql) {
+        return this.smartParse(originalSql).replace(START_ROW, START_ROW_PARAMETER)
+            .replace(END_ROW, END_ROW_PARAMETER);
+    }
+
     protected Select handlePageableSelect(Select select) {
         SelectBody selectBody = select.getSelectBody();
         if (selectBody instanceof SetOperationList) {
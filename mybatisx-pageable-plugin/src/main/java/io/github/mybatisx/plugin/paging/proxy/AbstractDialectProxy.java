@@ -17,16 +17,23 @@ package io.github.mybatisx.plugin.paging.proxy;
 
 import io.github.mybatisx.Objects;
 import io.github.mybatisx.constant.Constants;
+import io.github.mybatisx.jdbc.datasource.LocalDataSource;
+import io.github.mybatisx.jdbc.datasource.MultiDataSourceContextHolder;
+import io.github.mybatisx.jdbc.datasource.RoutingDataSource;
+import io.github.mybatisx.plugin.paging.config.PageableContext;
 import io.github.mybatisx.plugin.paging.dialect.AbstractDialect;
 import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import io.github.mybatisx.plugin.paging.dialect.support.ClickHouseDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.Db2Dialect;
 import io.github.mybatisx.plugin.paging.dialect.support.HsqldbDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.InformixDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.MySqlDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.Oracle9iDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.OracleDialect;
+import io.github.mybatisx.plugin.paging.dialect.support.PostgreSqlDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.SqlServer2012LaterDialect;
 import io.github.mybatisx.plugin.paging.dialect.support.SqlServerDialect;
+import io.github.mybatisx.plugin.paging.dialect.support.SqliteDialect;
 import io.github.mybatisx.plugin.exception.MyBatisPluginException;
 import org.apache.ibatis.mapping.MappedStatement;
 
@@ -35,6 +42,8 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
@@ -55,19 +64,27 @@ public abstract class AbstractDialectProxy {
      * 数据库方言缓存
      */
     protected static final Map<String, Class<? extends Dialect>> DATABASE_DIALECT_REGISTRY = new ConcurrentHashMap<>();
+    /**
+     * 是否存在路由数据源(多数据源模块)
+     */
+    private static final boolean ROUTING_DATA_SOURCE_PRESENT;
 
     /**
      * 分页方言缓存(JDBC解析)
      */
     protected Map<String, AbstractDialect> dialectFromJdbcCache = new ConcurrentHashMap<>();
     /**
-     * 分页方言缓存(直接指定)
+     * 分页方言缓存(数据源 -> 分页方言)
      */
-    protected Map<String, AbstractDialect> dialectFromSpecifiedCache = new ConcurrentHashMap<>();
+    protected Map<DataSource, AbstractDialect> dialectFromDataSourceCache = new ConcurrentHashMap<>();
+    /**
+     * 分页方言缓存(路由数据源+分组+节点类型+节点名称 -> 分页方言)
+     */
+    protected Map<List<Object>, AbstractDialect> dialectFromRoutingCache = new ConcurrentHashMap<>();
     /**
-     * 分页方言线程缓存
+     * 分页方言缓存(直接指定)
      */
-    protected ThreadLocal<AbstractDialect> threadLocalDelegateDialect = new ThreadLocal<>();
+    protected Map<String, AbstractDialect> dialectFromSpecifiedCache = new ConcurrentHashMap<>();
     /**
      * 分页方言委托对象
      */
@@ -96,15 +113,15 @@ public abstract class AbstractDialectProxy {
     static {
         DATABASE_DIALECT_REGISTRY.put("MYSQL", MySqlDialect.class);
         DATABASE_DIALECT_REGISTRY.put("MARIADB", MySqlDialect.class);
-        DATABASE_DIALECT_REGISTRY.put("SQLITE", MySqlDialect.class);
+        DATABASE_DIALECT_REGISTRY.put("SQLITE", SqliteDialect.class);
         DATABASE_DIALECT_REGISTRY.put("OSCAR", MySqlDialect.class);
-        DATABASE_DIALECT_REGISTRY.put("CLICKHOUSE", MySqlDialect.class);
+        DATABASE_DIALECT_REGISTRY.put("CLICKHOUSE", ClickHouseDialect.class);
         DATABASE_DIALECT_REGISTRY.put("ORACLE9I", Oracle9iDialect.class);
         DATABASE_DIALECT_REGISTRY.put("ORACLE", OracleDialect.class);
         DATABASE_DIALECT_REGISTRY.put("DM", OracleDialect.class);
         DATABASE_DIALECT_REGISTRY.put("EDB", OracleDialect.class);
         DATABASE_DIALECT_REGISTRY.put("DB2", Db2Dialect.class);
-        DATABASE_DIALECT_REGISTRY.put("POSTGRESQL", HsqldbDialect.class);
+        DATABASE_DIALECT_REGISTRY.put("POSTGRESQL", PostgreSqlDialect.class);
         DATABASE_DIALECT_REGISTRY.put("H2", HsqldbDialect.class);
         DATABASE_DIALECT_REGISTRY.put("HSQLDB", HsqldbDialect.class);
         DATABASE_DIALECT_REGISTRY.put("PHONEIX", HsqldbDialect.class);
@@ -113,6 +130,14 @@ public abstract class AbstractDialectProxy {
         DATABASE_DIALECT_REGISTRY.put("SQLSERVER2012LATER", SqlServer2012LaterDialect.class);
         DATABASE_DIALECT_REGISTRY.put("DERBY", SqlServer2012LaterDialect.class);
         DATABASE_DIALECT_REGISTRY.put("SQLSERVER", SqlServerDialect.class);
+        boolean present;
+        try {
+            Class.forName("io.github.mybatisx.jdbc.datasource.RoutingDataSource");
+            present = true;
+        } catch (Throwable ignore) {
+            present = false;
+        }
+        ROUTING_DATA_SOURCE_PRESENT = present;
     }
 
     /**
@@ -124,7 +149,7 @@ public abstract class AbstractDialectProxy {
             if (this.autoRuntimeParsingJdbc) {
                 this.delegate = this.getDialectFromJdbcUrl(ms);
             } else {
-                this.threadLocalDelegateDialect.set(this.getDialectFromJdbcUrl(ms));
+                PageableContext.current().setDelegate(this, this.getDialectFromJdbcUrl(ms));
             }
         }
     }
@@ -165,11 +190,42 @@ public abstract class AbstractDialectProxy {
 
     /**
      * 解析JDBC路径获取分页方言对象
+     * <p>结果按实际数据源缓存，每个数据源仅获取一次连接解析JDBC路径；路由数据源按当前线程选择的分组、节点类型及节点名称缓存，
+     * 命中时不再调用路由决策(避免推进负载均衡策略计数)，同一分组同一类型的节点须为同一种数据库。</p>
      * @param ms {@link MappedStatement}
      * @return {@link AbstractDialect}
      */
     private AbstractDialect getDialectFromJdbcUrl(final MappedStatement ms) {
-        final String jdbcUrl = this.getJdbcUrlFromDataSource(ms.getConfiguration().getEnvironment().getDataSource());
+        final DataSource dataSource = ms.getConfiguration().getEnvironment().getDataSource();
+        if (ROUTING_DATA_SOURCE_PRESENT) {
+            final List<Object> key = RoutingDataSourceResolver.routingKey(dataSource);
+            if (key != null) {
+                final AbstractDialect dialect = this.dialectFromRoutingCache.get(key);
+                if (dialect != null) {
+                    return dialect;
+                }
+                final AbstractDialect instance =
+                    this.getDialectFromJdbcUrl(RoutingDataSourceResolver.resolve(dataSource));
+                final AbstractDialect old = this.dialectFromRoutingCache.putIfAbsent(key, instance);
+                return old == null ? instance : old;
+            }
+        }
+        final AbstractDialect dialect = this.dialectFromDataSourceCache.get(dataSource);
+        if (dialect != null) {
+            return dialect;
+        }
+        final AbstractDialect instance = this.getDialectFromJdbcUrl(dataSource);
+        final AbstractDialect old = this.dialectFromDataSourceCache.putIfAbsent(dataSource, instance);
+        return old == null ? instance : old;
+    }
+
+    /**
+     * 解析JDBC路径获取分页方言对象
+     * @param dataSource {@link DataSource}
+     * @return {@link AbstractDialect}
+     */
+    private AbstractDialect getDialectFromJdbcUrl(final DataSource dataSource) {
+        final String jdbcUrl = this.getJdbcUrlFromDataSource(dataSource);
         final String key = jdbcUrl.toUpperCase(Locale.ENGLISH);
         if (this.dialectFromJdbcCache.containsKey(key)) {
             return this.dialectFromJdbcCache.get(key);
@@ -179,7 +235,7 @@ public abstract class AbstractDialectProxy {
             if (this.dialectFromJdbcCache.containsKey(key)) {
                 return this.dialectFromJdbcCache.get(key);
             }
-            final String dbAlias = this.getDialectAliasFromJdbcUrl(jdbcUrl);
+            final String dbAlias = this.getDialectAliasFromJdbcUrl(key);
             if (Objects.isBlank(dbAlias)) {
                 throw new MyBatisPluginException("The plugin does not currently support the current database or " +
                     "cannot recognize the current database type.");
@@ -263,7 +319,15 @@ public abstract class AbstractDialectProxy {
      * 移除线程缓存
      */
     public void removeDelegate() {
-        this.threadLocalDelegateDialect.remove();
+        PageableContext.current().removeDelegate(this);
+    }
+
+    /**
+     * 获取分页方言委托对象(未指定方言时从分页上下文中获取运行时解析的方言)
+     * @return 分页方言对象
+     */
+    protected AbstractDialect getCurrentDelegate() {
+        return this.delegate == null ? PageableContext.current().getDelegate(this) : this.delegate;
     }
 
     /**
@@ -291,4 +355,43 @@ public abstract class AbstractDialectProxy {
      * @return 分页方言对象
      */
     public abstract AbstractDialect getDelegate();
+
+    /**
+     * 路由数据源解析器(隔离对多数据源模块的类引用)
+     */
+    private static final class RoutingDataSourceResolver {
+
+        /**
+         * 获取路由数据源在当前线程的路由标识(不执行路由决策)
+         * @param dataSource {@link DataSource}
+         * @return 路由标识，非路由数据源返回null
+         */
+        static List<Object> routingKey(final DataSource dataSource) {
+            if (!(dataSource instanceof RoutingDataSource)) {
+                return null;
+            }
+            final LocalDataSource local = MultiDataSourceContextHolder.get();
+            if (local == null) {
+                return Arrays.asList(dataSource, null, null, null);
+            }
+            return Arrays.asList(dataSource, local.getGroup(), local.getType(), local.getName());
+        }
+
+        /**
+         * 解析当前线程路由到的目标数据源
+         * @param dataSource {@link DataSource}
+         * @return {@link DataSource}
+         */
+        static DataSource resolve(final DataSource dataSource) {
+            DataSource target = dataSource;
+            while (target instanceof RoutingDataSource) {
+                final DataSource next = ((RoutingDataSource) target).getTargetDataSource();
+                if (next == null || next == target) {
+                    break;
+                }
+                target = next;
+            }
+            return target;
+        }
+    }
 }
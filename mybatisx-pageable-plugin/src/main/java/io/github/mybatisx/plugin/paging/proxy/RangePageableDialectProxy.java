@@ -17,8 +17,6 @@ package io.github.mybatisx.plugin.paging.proxy;
 
 import io.github.mybatisx.plugin.paging.dialect.AbstractDialect;
 
-import java.util.Optional;
-
 /**
  * 范围分页方言代理
  * @author wvkity
@@ -29,6 +27,6 @@ public class RangePageableDialectProxy extends AbstractDialectProxy {
 
     @Override
     public AbstractDialect getDelegate() {
-        return Optional.ofNullable(this.delegate).orElse(this.threadLocalDelegateDialect.get());
+        return this.getCurrentDelegate();
     }
 }
@@ -18,8 +18,6 @@ package io.github.mybatisx.plugin.paging.proxy;
 import io.github.mybatisx.plugin.paging.dialect.AbstractDialect;
 import io.github.mybatisx.plugin.paging.dialect.AbstractPageableDialect;
 
-import java.util.Optional;
-
 /**
  * 分页方言代理
  * @author wvkity
@@ -30,7 +28,7 @@ public class StandardPageableDialectProxy extends RangePageableDialectProxy {
 
     @Override
     public AbstractPageableDialect getDelegate() {
-        final AbstractDialect it = Optional.ofNullable(this.delegate).orElse(this.threadLocalDelegateDialect.get());
+        final AbstractDialect it = this.getCurrentDelegate();
         return it == null ? null : (AbstractPageableDialect) it;
     }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging;
+
+import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import io.github.mybatisx.plugin.paging.dialect.support.HsqldbDialect;
+import io.github.paging.CountStrategy;
+import io.github.paging.Pageable;
+import io.github.paging.StandardPageable;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 总记录数查询策略测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class CountStrategyTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:strategy" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (final Connection connection = this.dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_USER (ID INT PRIMARY KEY, NAME VARCHAR(32))");
+            for (int i = 1; i <= 25; i++) {
+                statement.execute("INSERT INTO T_USER VALUES (" + i + ", 'user" + i + "')");
+            }
+        }
+    }
+
+    @Test
+    public void noneTest() {
+        final SqlSessionFactory factory = this.build("h2", null);
+        try (final SqlSession session = factory.openSession(true)) {
+            final UserMapper mapper = session.getMapper(UserMapper.class);
+            // 多查询的一条记录仅用于判断是否存在下一页，不返回给调用方
+            Pageable pageable = of(1, 10, CountStrategy.NONE);
+            List<Map<String, Object>> list = mapper.list(0, pageable);
+            Assertions.assertEquals(10, list.size());
+            Assertions.assertEquals(10, ((Number) list.get(9).get("ID")).intValue());
+            Assertions.assertTrue(pageable.isHasNext());
+            Assertions.assertEquals(0L, pageable.getRecords());
+            pageable = of(3, 10, CountStrategy.NONE);
+            list = mapper.list(0, pageable);
+            Assertions.assertEquals(5, list.size());
+            Assertions.assertFalse(pageable.isHasNext());
+            // 最后一页恰好满页
+            pageable = of(2, 10, CountStrategy.NONE);
+            list = mapper.list(5, pageable);
+            Assertions.assertEquals(10, list.size());
+            Assertions.assertFalse(pageable.isHasNext());
+        }
+    }
+
+    @Test
+    public void cachedTest() throws Exception {
+        final SqlSessionFactory factory = this.build("h2", "200");
+        try (final SqlSession session = factory.openSession(true)) {
+            final UserMapper mapper = session.getMapper(UserMapper.class);
+            Pageable pageable = of(1, 10, CountStrategy.CACHED);
+            mapper.list(0, pageable);
+            Assertions.assertEquals(25L, pageable.getRecords());
+            mapper.insert(26, "user26");
+            // 有效期内命中缓存
+            pageable = of(1, 10, CountStrategy.CACHED);
+            mapper.list(0, pageable);
+            Assertions.assertEquals(25L, pageable.getRecords());
+            // 按SQL及参数区分缓存
+            pageable = of(1, 10, CountStrategy.CACHED);
+            mapper.list(5, pageable);
+            Assertions.assertEquals(21L, pageable.getRecords());
+            // 精确查询不使用缓存
+            pageable = of(1, 10, CountStrategy.EXACT);
+            mapper.list(0, pageable);
+            Assertions.assertEquals(26L, pageable.getRecords());
+            // 过期后重新查询
+            Thread.sleep(300L);
+            pageable = of(1, 10, CountStrategy.CACHED);
+            mapper.list(0, pageable);
+            Assertions.assertEquals(26L, pageable.getRecords());
+        }
+    }
+
+    @Test
+    public void estimatedTest() {
+        // 不支持执行计划估算的方言退化为精确查询
+        SqlSessionFactory factory = this.build("h2", null);
+        try (final SqlSession session = factory.openSession(true)) {
+            final Pageable pageable = of(2, 10, CountStrategy.ESTIMATED);
+            final List<Map<String, Object>> list = session.getMapper(UserMapper.class).list(3, pageable);
+            Assertions.assertEquals(22L, pageable.getRecords());
+            Assertions.assertEquals(10, list.size());
+        }
+        factory = this.build(EstimatedDialect.class.getName(), null);
+        try (final SqlSession session = factory.openSession(true)) {
+            final Pageable pageable = of(3, 10, CountStrategy.ESTIMATED);
+            final List<Map<String, Object>> list = session.getMapper(UserMapper.class).list(3, pageable);
+            Assertions.assertEquals(44L, pageable.getRecords());
+            // 估算值可能偏离实际值，始终执行分页查询
+            Assertions.assertEquals(2, list.size());
+        }
+    }
+
+    private SqlSessionFactory build(final String dialect, final String countCacheTtl) {
+        final Configuration cfg = new Configuration(new Environment("test", new JdbcTransactionFactory(),
+            this.dataSource));
+        final Properties properties = new Properties();
+        properties.setProperty(Dialect.PROP_KEY_DIALECT, dialect);
+        if (countCacheTtl != null) {
+            properties.setProperty(Dialect.PROP_KEY_COUNT_CACHE_TTL, countCacheTtl);
+        }
+        final StandardPageableInterceptor interceptor = new StandardPageableInterceptor(new StandardPageableHandler());
+        interceptor.setProperties(properties);
+        cfg.addInterceptor(interceptor);
+        cfg.addMapper(UserMapper.class);
+        return new SqlSessionFactoryBuilder().build(cfg);
+    }
+
+    private static Pageable of(final long page, final long size, final CountStrategy strategy) {
+        final Pageable pageable = StandardPageable.of(page, size);
+        pageable.setCountStrategy(strategy);
+        return pageable;
+    }
+
+    /**
+     * 以精确值的两倍作为估算值的方言
+     */
+    public static class EstimatedDialect extends HsqldbDialect {
+
+        @Override
+        protected String makeEstimateSql(String originalSql) {
+            return "SELECT COUNT(1) * 2 FROM (" + originalSql + ") T";
+        }
+
+        @Override
+        protected Long readEstimateRecords(ResultSet rs) throws SQLException {
+            return rs.next() ? rs.getLong(1) : null;
+        }
+    }
+
+    public interface UserMapper {
+
+        @Select("SELECT ID, NAME FROM T_USER WHERE ID > #{minId} ORDER BY ID")
+        List<Map<String, Object>> list(@Param("minId") final int minId, @Param("pageable") final Pageable pageable);
+
+        @Insert("INSERT INTO T_USER (ID, NAME) VALUES (#{id}, #{name})")
+        int insert(@Param("id") final int id, @Param("name") final String name);
+    }
+}
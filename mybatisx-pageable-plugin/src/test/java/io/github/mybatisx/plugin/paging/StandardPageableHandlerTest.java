@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging;
+
+import io.github.mybatisx.plugin.paging.concurrent.CountTaskDecorator;
+import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import io.github.paging.Pageable;
+import io.github.paging.StandardPageable;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 并行查询总记录数测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class StandardPageableHandlerTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:pageable" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (final Connection connection = this.dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_USER (ID INT PRIMARY KEY, NAME VARCHAR(32))");
+            for (int i = 1; i <= 25; i++) {
+                statement.execute("INSERT INTO T_USER VALUES (" + i + ", 'user" + i + "')");
+            }
+        }
+    }
+
+    @Test
+    public void concurrentCountTest() {
+        final AtomicInteger submitted = new AtomicInteger();
+        final SqlSessionFactory factory = this.build(it -> {
+            submitted.incrementAndGet();
+            return it;
+        }, 0L);
+        try (final SqlSession session = factory.openSession(true)) {
+            final Pageable pageable = StandardPageable.of(2, 10);
+            final List<Map<String, Object>> list = session.getMapper(UserMapper.class).list(3, pageable);
+            Assertions.assertEquals(22L, pageable.getRecords());
+            Assertions.assertEquals(10, list.size());
+            Assertions.assertEquals(14, ((Number) list.get(0).get("ID")).intValue());
+        }
+        Assertions.assertEquals(1, submitted.get());
+    }
+
+    @Test
+    public void writeTransactionTest() {
+        final AtomicInteger submitted = new AtomicInteger();
+        final SqlSessionFactory factory = this.build(it -> {
+            submitted.incrementAndGet();
+            return it;
+        }, 0L);
+        try (final SqlSession session = factory.openSession(false)) {
+            final UserMapper mapper = session.getMapper(UserMapper.class);
+            mapper.insert(26, "user26");
+            final Pageable pageable = StandardPageable.of(3, 10);
+            final List<Map<String, Object>> list = mapper.list(3, pageable);
+            // 未提交的数据仅当前连接可见，总记录数须在当前连接上串行查询
+            Assertions.assertEquals(23L, pageable.getRecords());
+            Assertions.assertEquals(3, list.size());
+            session.rollback();
+        }
+        Assertions.assertEquals(0, submitted.get());
+    }
+
+    @Test
+    public void timeoutFallbackTest() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicInteger interrupted = new AtomicInteger();
+        final SqlSessionFactory factory = this.build(it -> () -> {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                interrupted.incrementAndGet();
+                throw e;
+            }
+            return it.call();
+        }, 100L);
+        try (final SqlSession session = factory.openSession(true)) {
+            final Pageable pageable = StandardPageable.of(1, 10);
+            final List<Map<String, Object>> list = session.getMapper(UserMapper.class).list(5, pageable);
+            Assertions.assertEquals(20L, pageable.getRecords());
+            Assertions.assertEquals(10, list.size());
+        } finally {
+            latch.countDown();
+        }
+        Assertions.assertEquals(1, interrupted.get());
+    }
+
+    private SqlSessionFactory build(final CountTaskDecorator decorator, final long timeout) {
+        final Configuration cfg = new Configuration(new Environment("test", new JdbcTransactionFactory(),
+            this.dataSource));
+        final StandardPageableHandler handler = new StandardPageableHandler();
+        handler.setCountTaskDecorator(decorator);
+        final Properties properties = new Properties();
+        properties.setProperty(Dialect.PROP_KEY_DIALECT, "h2");
+        properties.setProperty(Dialect.PROP_KEY_CONCURRENT_COUNT, "true");
+        properties.setProperty(Dialect.PROP_KEY_CONCURRENT_COUNT_THREADS, "2");
+        properties.setProperty(Dialect.PROP_KEY_CONCURRENT_COUNT_TIMEOUT, String.valueOf(timeout));
+        final StandardPageableInterceptor interceptor = new StandardPageableInterceptor(handler);
+        interceptor.setProperties(properties);
+        cfg.addInterceptor(interceptor);
+        cfg.addMapper(UserMapper.class);
+        return new SqlSessionFactoryBuilder().build(cfg);
+    }
+
+    public interface UserMapper {
+
+        @Select("SELECT ID, NAME FROM T_USER WHERE ID > #{minId} ORDER BY ID")
+        List<Map<String, Object>> list(@Param("minId") final int minId, @Param("pageable") final Pageable pageable);
+
+        @Insert("INSERT INTO T_USER (ID, NAME) VALUES (#{id}, #{name})")
+        int insert(@Param("id") final int id, @Param("name") final String name);
+    }
+}
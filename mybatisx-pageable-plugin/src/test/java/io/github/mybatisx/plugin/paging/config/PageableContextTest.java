@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.config;
+
+import io.github.mybatisx.plugin.paging.dialect.AbstractDialect;
+import io.github.mybatisx.plugin.paging.dialect.support.MySqlDialect;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 分页上下文测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PageableContextTest {
+
+    @Test
+    public void delegateGrowTest() {
+        final PageableContext context = new PageableContext();
+        final Object[] owners = new Object[10];
+        final AbstractDialect[] dialects = new AbstractDialect[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            owners[i] = new Object();
+            dialects[i] = new MySqlDialect();
+            context.setDelegate(owners[i], dialects[i]);
+        }
+        for (int i = 0; i < owners.length; i++) {
+            Assertions.assertSame(dialects[i], context.getDelegate(owners[i]));
+        }
+        final PageableContext copy = context.copy();
+        context.removeDelegate(owners[7]);
+        Assertions.assertNull(context.getDelegate(owners[7]));
+        Assertions.assertSame(dialects[7], copy.getDelegate(owners[7]));
+        // 复用已释放的槽位
+        final Object owner = new Object();
+        context.setDelegate(owner, dialects[0]);
+        Assertions.assertSame(dialects[0], context.getDelegate(owner));
+        Assertions.assertSame(dialects[9], context.getDelegate(owners[9]));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect;
+
+import io.github.mybatisx.plugin.paging.config.PageableContext;
+import io.github.mybatisx.plugin.paging.dialect.support.HsqldbDialect;
+import io.github.paging.StandardPageable;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 分页参数包装及参数映射绑定测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PageableParameterWrapperTest {
+
+    private static final String SCRIPT = "<script>SELECT ID FROM T_USER <where><if test=\"_parameter != null\">"
+        + "ID &gt; #{minId}</if></where> ORDER BY ID</script>";
+    private JdbcDataSource dataSource;
+    private Configuration configuration;
+    private HsqldbDialect dialect;
+
+    @BeforeEach
+    public void before() throws Exception {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:wrapper" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (final Connection connection = this.dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_USER (ID INT PRIMARY KEY)");
+            for (int i = 1; i <= 25; i++) {
+                statement.execute("INSERT INTO T_USER VALUES (" + i + ")");
+            }
+        }
+        this.configuration = new Configuration();
+        this.dialect = new HsqldbDialect();
+        this.dialect.setProperties(new Properties());
+    }
+
+    @Test
+    public void beanParameterTest() throws Exception {
+        final MappedStatement ms = this.build("bean", Criteria.class);
+        final Criteria criteria = new Criteria();
+        criteria.setMinId(3);
+        Assertions.assertEquals(Arrays.asList(10, 11, 12), this.query(ms, criteria));
+        criteria.setMinId(5);
+        Assertions.assertEquals(Arrays.asList(12, 13, 14), this.query(ms, criteria));
+    }
+
+    @Test
+    public void mapParameterTest() throws Exception {
+        final MappedStatement ms = this.build("map", Object.class);
+        Assertions.assertEquals(Arrays.asList(10, 11, 12), this.query(ms, Collections.singletonMap("minId", 3)));
+        Assertions.assertEquals(Arrays.asList(8, 9, 10), this.query(ms, Collections.singletonMap("minId", 1)));
+    }
+
+    @Test
+    public void simpleParameterTest() throws Exception {
+        final MappedStatement ms = this.build("simple", Integer.class);
+        Assertions.assertEquals(Arrays.asList(10, 11, 12), this.query(ms, 3));
+        Assertions.assertEquals(Arrays.asList(14, 15, 16), this.query(ms, 7));
+    }
+
+    @Test
+    public void sharedMappingsTest() {
+        final MappedStatement ms = this.build("shared", Object.class);
+        final List<ParameterMapping> first = this.bind(ms, Collections.singletonMap("minId", 3));
+        final List<ParameterMapping> second = this.bind(ms, Collections.singletonMap("minId", 3));
+        // 动态SQL每次生成新的原参数映射，分页参数映射对象按Configuration复用
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(3, first.size());
+        Assertions.assertEquals("minId", first.get(0).getProperty());
+        Assertions.assertEquals(Dialect.DEF_PAGEABLE_OFFSET, first.get(1).getProperty());
+        Assertions.assertEquals(Dialect.DEF_PAGEABLE_START, first.get(2).getProperty());
+        Assertions.assertSame(first.get(1), second.get(1));
+        Assertions.assertSame(first.get(2), second.get(2));
+        Assertions.assertNotSame(first.get(1), this.bind(this.build("other", Object.class, new Configuration()),
+            Collections.singletonMap("minId", 3)).get(1));
+    }
+
+    private MappedStatement build(final String id, final Class<?> parameterType) {
+        return this.build(id, parameterType, this.configuration);
+    }
+
+    private MappedStatement build(final String id, final Class<?> parameterType, final Configuration cfg) {
+        final SqlSource sqlSource = new XMLLanguageDriver().createSqlSource(cfg, SCRIPT, parameterType);
+        return new MappedStatement.Builder(cfg, "test." + id, sqlSource, SqlCommandType.SELECT).build();
+    }
+
+    private List<ParameterMapping> bind(final MappedStatement ms, final Object parameter) {
+        final BoundSql bs = ms.getBoundSql(parameter);
+        PageableContext.runWith(new PageableContext(), () -> {
+            PageableContext.current().setStandard(StandardPageable.of(3, 3));
+            this.dialect.handleParameter(ms, bs, parameter, new CacheKey());
+        });
+        return bs.getParameterMappings();
+    }
+
+    private List<Integer> query(final MappedStatement ms, final Object parameter) throws Exception {
+        final BoundSql bs = ms.getBoundSql(parameter);
+        final PageableContext context = new PageableContext();
+        context.setStandard(StandardPageable.of(3, 3));
+        return PageableContext.callWith(context, () -> {
+            final CacheKey cacheKey = new CacheKey();
+            final Object wrapper = this.dialect.handleParameter(ms, bs, parameter, cacheKey);
+            final String sql = this.dialect.makeQueryListSql(ms, bs, wrapper, null, cacheKey);
+            final BoundSql pageBs = new BoundSql(ms.getConfiguration(), sql, bs.getParameterMappings(), wrapper);
+            final List<Integer> ids = new ArrayList<>();
+            try (final Connection connection = this.dataSource.getConnection();
+                 final PreparedStatement ps = connection.prepareStatement(sql)) {
+                new DefaultParameterHandler(ms, wrapper, pageBs).setParameters(ps);
+                try (final ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                    }
+                }
+            }
+            return ids;
+        });
+    }
+
+    public static class Criteria {
+
+        private Integer minId;
+
+        public Integer getMinId() {
+            return minId;
+        }
+
+        public void setMinId(Integer minId) {
+            this.minId = minId;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect.support;
+
+import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Informix分页方言测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class InformixDialectTest {
+
+    @Test
+    public void parameterOrderTest() {
+        final Configuration cfg = new Configuration();
+        final String sql = "SELECT * FROM t WHERE status = ?";
+        final MappedStatement ms = new MappedStatement.Builder(cfg, "test.select", new StaticSqlSource(cfg, sql,
+            Collections.singletonList(new ParameterMapping.Builder(cfg, "status", Integer.class).build())),
+            SqlCommandType.SELECT).build();
+        final BoundSql bs = ms.getBoundSql(new HashMap<>());
+        final InformixDialect dialect = new InformixDialect();
+        dialect.handlePageableParameter(ms, new HashMap<>(), bs, new CacheKey(), 10L, 20L, 10L);
+        final List<String> properties = bs.getParameterMappings().stream().map(ParameterMapping::getProperty)
+            .collect(Collectors.toList());
+        // SKIP ? FIRST ?位于原SQL参数之前
+        Assertions.assertEquals(Arrays.asList(Dialect.DEF_PAGEABLE_START, Dialect.DEF_PAGEABLE_OFFSET,
+            "status"), properties);
+        Assertions.assertEquals("SELECT SKIP ? FIRST ? * FROM (" + sql + ") TMP_TAB_PAGE",
+            dialect.makeCorrQueryListSQL(ms, new CacheKey(), sql, 10L, 20L, 10L));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect.support;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * MYSQL分页方言执行计划估算测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class MySqlDialectTest {
+
+    private JdbcDataSource dataSource;
+    private final MySqlDialect dialect = new MySqlDialect();
+
+    @BeforeEach
+    public void before() {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:explain" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    public void makeEstimateSqlTest() {
+        final String sql = "SELECT id FROM t_user WHERE status = ?";
+        Assertions.assertEquals("EXPLAIN " + sql, this.dialect.makeEstimateSql(sql));
+    }
+
+    @Test
+    public void readEstimateRecordsTest() throws SQLException {
+        // 单行执行计划: rows * filtered
+        Assertions.assertEquals(Long.valueOf(60L), this.read("SELECT 120 AS \"rows\", 50.0 AS \"filtered\""));
+        // MySQL 5.7以前版本不存在filtered列
+        Assertions.assertEquals(Long.valueOf(120L), this.read("SELECT 120 AS \"rows\""));
+        // 多行执行计划(关联、子查询等)无法估算
+        Assertions.assertNull(this.read("SELECT 120 AS \"rows\", 100.0 AS \"filtered\" UNION ALL "
+            + "SELECT 3, 100.0"));
+        Assertions.assertNull(this.read("SELECT CAST(NULL AS BIGINT) AS \"rows\", 100.0 AS \"filtered\""));
+        Assertions.assertNull(this.read("SELECT 1 AS \"rows\" FROM DUAL WHERE 1 = 0"));
+    }
+
+    private Long read(final String sql) throws SQLException {
+        try (final Connection connection = this.dataSource.getConnection();
+             final Statement statement = connection.createStatement();
+             final ResultSet rs = statement.executeQuery(sql)) {
+            return this.dialect.readEstimateRecords(rs);
+        }
+    }
+}
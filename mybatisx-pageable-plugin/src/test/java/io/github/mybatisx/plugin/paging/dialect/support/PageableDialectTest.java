@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect.support;
+
+import io.github.mybatisx.plugin.paging.StandardPageableInterceptor;
+import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import io.github.paging.CountStrategy;
+import io.github.paging.Pageable;
+import io.github.paging.StandardPageable;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.sqlite.SQLiteDataSource;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * PostgreSQL、SQLite、ClickHouse分页方言测试
+ * <p>原SQL自带绑定参数，用于校验分页参数与原参数的绑定顺序。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class PageableDialectTest {
+
+    private static final String SQL = "SELECT ID FROM T_ORDER WHERE STATUS = ? AND ID > ? ORDER BY ID";
+
+    @Test
+    public void postgreSqlTest() throws Exception {
+        // H2支持OFFSET ? ROWS FETCH FIRST ? ROWS ONLY及COUNT(*)
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:dialect" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        this.initTable(dataSource);
+        final SqlSessionFactory factory = this.build(dataSource, "postgresql");
+        final Pageable pageable = StandardPageable.of(2, 3);
+        Assertions.assertEquals(Arrays.asList(9, 11, 13), this.list(factory, pageable));
+        Assertions.assertEquals(9L, pageable.getRecords());
+        Assertions.assertEquals("SELECT COUNT(*) AS RECORDS FROM T_ORDER WHERE STATUS = ? AND ID > ?",
+            new PostgreSqlDialect().makeCountSql(SQL));
+    }
+
+    @Test
+    public void sqliteTest() throws Exception {
+        final File file = File.createTempFile("dialect", ".db");
+        try {
+            final SQLiteDataSource dataSource = new SQLiteDataSource();
+            dataSource.setUrl("jdbc:sqlite:" + file.getAbsolutePath());
+            this.initTable(dataSource);
+            final SqlSessionFactory factory = this.build(dataSource, "sqlite");
+            final Pageable pageable = StandardPageable.of(3, 4);
+            Assertions.assertEquals(Arrays.asList(19), this.list(factory, pageable));
+            Assertions.assertEquals(9L, pageable.getRecords());
+            Assertions.assertEquals("SELECT COUNT(*) AS RECORDS FROM T_ORDER WHERE STATUS = ? AND ID > ?",
+                new SqliteDialect().makeCountSql(SQL));
+        } finally {
+            Assertions.assertTrue(file.delete());
+        }
+    }
+
+    @Test
+    public void clickHouseTest() throws Exception {
+        // LIMIT ? OFFSET ?与SQLite一致，count()仅ClickHouse支持，不查询总记录数
+        final File file = File.createTempFile("dialect", ".db");
+        try {
+            final SQLiteDataSource dataSource = new SQLiteDataSource();
+            dataSource.setUrl("jdbc:sqlite:" + file.getAbsolutePath());
+            this.initTable(dataSource);
+            final SqlSessionFactory factory = this.build(dataSource, "clickhouse");
+            final Pageable pageable = StandardPageable.of(2, 3);
+            pageable.setCountStrategy(CountStrategy.NONE);
+            Assertions.assertEquals(Arrays.asList(9, 11, 13), this.list(factory, pageable));
+            Assertions.assertEquals("SELECT COUNT() AS RECORDS FROM T_ORDER WHERE STATUS = ? AND ID > ?",
+                new ClickHouseDialect().makeCountSql(SQL));
+        } finally {
+            Assertions.assertTrue(file.delete());
+        }
+    }
+
+    private void initTable(final DataSource dataSource) throws Exception {
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_ORDER (ID INT PRIMARY KEY, STATUS INT)");
+            for (int i = 1; i <= 20; i++) {
+                statement.execute("INSERT INTO T_ORDER VALUES (" + i + ", " + (i % 2) + ")");
+            }
+        }
+    }
+
+    private List<Integer> list(final SqlSessionFactory factory, final Pageable pageable) {
+        try (final SqlSession session = factory.openSession(true)) {
+            return session.getMapper(OrderMapper.class).list(1, 2, pageable);
+        }
+    }
+
+    private SqlSessionFactory build(final DataSource dataSource, final String dialect) {
+        final Configuration cfg = new Configuration(new Environment("test", new JdbcTransactionFactory(),
+            dataSource));
+        final Properties properties = new Properties();
+        properties.setProperty(Dialect.PROP_KEY_DIALECT, dialect);
+        final StandardPageableInterceptor interceptor = new StandardPageableInterceptor();
+        interceptor.setProperties(properties);
+        cfg.addInterceptor(interceptor);
+        cfg.addMapper(OrderMapper.class);
+        return new SqlSessionFactoryBuilder().build(cfg);
+    }
+
+    public interface OrderMapper {
+
+        @Select("SELECT ID FROM T_ORDER WHERE STATUS = #{status} AND ID > #{minId} ORDER BY ID")
+        List<Integer> list(@Param("status") final int status, @Param("minId") final int minId,
+                           @Param("pageable") final Pageable pageable);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.dialect.support;
+
+import io.github.mybatisx.plugin.paging.dialect.Dialect;
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.scripting.defaults.DefaultParameterHandler;
+import org.apache.ibatis.session.Configuration;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * SQLSERVER分页方言测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class SqlServerDialectTest {
+
+    @Test
+    public void parameterOrderTest() throws Exception {
+        final Configuration cfg = new Configuration();
+        // 查询列中的参数位于WHERE条件参数之前
+        final String sql = "SELECT id, id * ? AS score FROM t WHERE status = ? ORDER BY id";
+        final MappedStatement ms = new MappedStatement.Builder(cfg, "test.select", new StaticSqlSource(cfg, sql,
+            Arrays.asList(new ParameterMapping.Builder(cfg, "factor", Integer.class).build(),
+                new ParameterMapping.Builder(cfg, "status", Integer.class).build())),
+            SqlCommandType.SELECT).build();
+        final Map<String, Object> paramMap = new HashMap<>();
+        paramMap.put("factor", 10);
+        paramMap.put("status", 1);
+        final BoundSql bs = ms.getBoundSql(paramMap);
+        final SqlServerDialect dialect = new SqlServerDialect();
+        dialect.setProperties(new Properties());
+        dialect.handlePageableParameter(ms, paramMap, bs, new CacheKey(), 3L, 6L, 3L);
+        final List<String> properties = bs.getParameterMappings().stream().map(ParameterMapping::getProperty)
+            .collect(Collectors.toList());
+        // TOP (?)位于原SQL参数之前，PAGE_ROW_NUMBER > ?位于原SQL参数之后
+        Assertions.assertEquals(Arrays.asList(Dialect.DEF_PAGEABLE_OFFSET, "factor", "status",
+            Dialect.DEF_PAGEABLE_START), properties);
+        final String pageSql = dialect.makeCorrQueryListSQL(ms, new CacheKey(), sql, 3L, 6L, 3L);
+        Assertions.assertEquals("SELECT TOP (?) id, score FROM (SELECT ROW_NUMBER() OVER(ORDER BY id) "
+            + "PAGE_ROW_NUMBER, id, score FROM (SELECT id, id * ? AS score FROM t WHERE status = ?) AS "
+            + "TMP_PAGE_TABLE_ALIAS) AS TMP_PAGE_TABLE_ALIAS WHERE PAGE_ROW_NUMBER > ? ORDER BY PAGE_ROW_NUMBER",
+            pageSql);
+        // 改写结果按SQL缓存，与分页参数无关
+        Assertions.assertSame(pageSql, dialect.makeCorrQueryListSQL(ms, new CacheKey(), sql, 6L, 9L, 3L));
+        // 按绑定后的参数映射执行，校验参数位置
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sqlserver" + System.nanoTime() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1");
+        final List<String> rows = new ArrayList<>();
+        try (final Connection connection = dataSource.getConnection()) {
+            try (final Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE t (id INT PRIMARY KEY, status INT)");
+                for (int i = 1; i <= 25; i++) {
+                    statement.execute("INSERT INTO t VALUES (" + i + ", " + (i % 2) + ")");
+                }
+            }
+            try (final PreparedStatement ps = connection.prepareStatement(pageSql)) {
+                new DefaultParameterHandler(ms, paramMap, new BoundSql(cfg, pageSql, bs.getParameterMappings(),
+                    paramMap)).setParameters(ps);
+                try (final ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        rows.add(rs.getInt(1) + ":" + rs.getInt(2));
+                    }
+                }
+            }
+        }
+        Assertions.assertEquals(Arrays.asList("7:70", "9:90", "11:110"), rows);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.parser;
+
+import io.github.mybatisx.plugin.exception.MyBatisPluginException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 键集分页SQL解析器测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class KeysetSqlParserTest {
+
+    private final KeysetSqlParser parser = new KeysetSqlParser();
+
+    @Test
+    public void rowValueTest() {
+        final KeysetSql ks = this.parser.parse("SELECT id, name FROM t WHERE status = ? ORDER BY created_at, id",
+            2, true);
+        Assertions.assertEquals("SELECT id, name FROM t WHERE (status = ?) AND (created_at, id) > (?, ?) "
+            + "ORDER BY created_at, id", ks.getSql());
+        Assertions.assertEquals(1, ks.getParameterIndex());
+        Assertions.assertArrayEquals(new int[]{0, 1}, ks.getKeyIndexes());
+    }
+
+    @Test
+    public void rowValueDescTest() {
+        final KeysetSql ks = this.parser.parse("SELECT a.id FROM t a ORDER BY a.c DESC, a.id DESC", 2, true);
+        Assertions.assertEquals("SELECT a.id FROM t a WHERE (a.c, a.id) < (?, ?) ORDER BY a.c DESC, a.id DESC",
+            ks.getSql());
+        Assertions.assertEquals(0, ks.getParameterIndex());
+    }
+
+    @Test
+    public void expandedTest() {
+        final KeysetSql ks = this.parser.parse("SELECT id, name FROM t WHERE status = ? ORDER BY created_at, id",
+            2, false);
+        Assertions.assertEquals("SELECT id, name FROM t WHERE (status = ?) AND "
+            + "(created_at > ? OR (created_at = ? AND id > ?)) ORDER BY created_at, id", ks.getSql());
+        Assertions.assertEquals(1, ks.getParameterIndex());
+        Assertions.assertArrayEquals(new int[]{0, 0, 1}, ks.getKeyIndexes());
+    }
+
+    @Test
+    public void expandedThreeKeysTest() {
+        final KeysetSql ks = this.parser.parse("SELECT a, b, c FROM t ORDER BY a, b, c", 3, false);
+        Assertions.assertEquals("SELECT a, b, c FROM t WHERE (a > ? OR (a = ? AND b > ?) "
+            + "OR (a = ? AND b = ? AND c > ?)) ORDER BY a, b, c", ks.getSql());
+        Assertions.assertArrayEquals(new int[]{0, 0, 1, 0, 1, 2}, ks.getKeyIndexes());
+    }
+
+    @Test
+    public void mixedDirectionTest() {
+        // 排序方向不一致时即使支持行值比较也展开
+        final KeysetSql ks = this.parser.parse("SELECT id FROM t ORDER BY created_at DESC, id ASC", 2, true);
+        Assertions.assertEquals("SELECT id FROM t WHERE (created_at < ? OR (created_at = ? AND id > ?)) "
+            + "ORDER BY created_at DESC, id ASC", ks.getSql());
+        Assertions.assertArrayEquals(new int[]{0, 0, 1}, ks.getKeyIndexes());
+    }
+
+    @Test
+    public void singleKeyTest() {
+        final KeysetSql ks = this.parser.parse("SELECT id FROM t ORDER BY id DESC", 1, true);
+        Assertions.assertEquals("SELECT id FROM t WHERE (id < ?) ORDER BY id DESC", ks.getSql());
+        Assertions.assertArrayEquals(new int[]{0}, ks.getKeyIndexes());
+    }
+
+    @Test
+    public void aliasTest() {
+        final KeysetSql ks = this.parser.parse("SELECT id, created_at AS ct FROM t ORDER BY ct, id", 2, true);
+        Assertions.assertEquals("SELECT id, created_at AS ct FROM t WHERE (created_at, id) > (?, ?) "
+            + "ORDER BY ct, id", ks.getSql());
+        // 带表前缀的排序字段不按别名处理
+        final KeysetSql qualified = this.parser.parse("SELECT t.id AS ct FROM t ORDER BY t.ct", 1, true);
+        Assertions.assertEquals("SELECT t.id AS ct FROM t WHERE (t.ct > ?) ORDER BY t.ct", qualified.getSql());
+    }
+
+    @Test
+    public void parameterIndexTest() {
+        // 字符串中的问号不是占位符
+        final KeysetSql quoted = this.parser.parse("SELECT id FROM t WHERE name = '?' AND x = ? ORDER BY id",
+            1, true);
+        Assertions.assertEquals(1, quoted.getParameterIndex());
+        final KeysetSql escaped = this.parser.parse("SELECT id FROM t WHERE name = 'it''s ?' AND x = ? "
+            + "AND y = ? ORDER BY id", 1, true);
+        Assertions.assertEquals(2, escaped.getParameterIndex());
+        // 查询字段中的子查询参数位于定位条件之前
+        final KeysetSql subQuery = this.parser.parse("SELECT id, (SELECT COUNT(*) FROM x WHERE x.k = ?) AS c "
+            + "FROM t WHERE s = ? ORDER BY id", 1, true);
+        Assertions.assertEquals(2, subQuery.getParameterIndex());
+        // 定位条件之后的参数不计入
+        final KeysetSql after = this.parser.parse("SELECT id, COUNT(*) FROM t WHERE s = ? GROUP BY id "
+            + "HAVING COUNT(*) > ? ORDER BY id", 1, true);
+        Assertions.assertEquals(1, after.getParameterIndex());
+    }
+
+    @Test
+    public void invalidTest() {
+        Assertions.assertThrows(MyBatisPluginException.class, () -> this.parser.parse("SELECT id FROM t", 1, true));
+        Assertions.assertThrows(MyBatisPluginException.class,
+            () -> this.parser.parse("SELECT id FROM t ORDER BY a, id", 1, true));
+        Assertions.assertThrows(MyBatisPluginException.class,
+            () -> this.parser.parse("SELECT id FROM a UNION SELECT id FROM b ORDER BY id", 1, true));
+        Assertions.assertThrows(MyBatisPluginException.class,
+            () -> this.parser.parse("DELETE FROM t WHERE id = ?", 1, true));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.paging.proxy;
+
+import io.github.mybatisx.jdbc.datasource.CurrentThreadDataSource;
+import io.github.mybatisx.jdbc.datasource.DataSourceNodeType;
+import io.github.mybatisx.jdbc.datasource.MultiDataSourceContextHolder;
+import io.github.mybatisx.jdbc.datasource.RoutingDataSource;
+import io.github.mybatisx.plugin.paging.StandardPageableInterceptor;
+import io.github.paging.Pageable;
+import io.github.paging.StandardPageable;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 分页方言代理测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class AbstractDialectProxyTest {
+
+    @AfterEach
+    public void after() {
+        MultiDataSourceContextHolder.clear();
+    }
+
+    @Test
+    public void routingDialectTest() throws Exception {
+        final CountingRoutingDataSource dataSource = new CountingRoutingDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        try (final Connection connection = dataSource.getConnection();
+             final Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE T_USER (ID INT PRIMARY KEY, NAME VARCHAR(32))");
+            for (int i = 1; i <= 15; i++) {
+                statement.execute("INSERT INTO T_USER VALUES (" + i + ", 'user" + i + "')");
+            }
+        }
+        final Configuration cfg = new Configuration(new Environment("test", new JdbcTransactionFactory(),
+            dataSource));
+        final StandardPageableInterceptor interceptor = new StandardPageableInterceptor();
+        interceptor.setProperties(new Properties());
+        cfg.addInterceptor(interceptor);
+        cfg.addMapper(UserMapper.class);
+        final SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(cfg);
+        MultiDataSourceContextHolder.push(CurrentThreadDataSource.of(DataSourceNodeType.SLAVE, "g1", null));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(5, this.page(factory));
+        }
+        // 同一路由标识仅解析一次目标数据源
+        Assertions.assertEquals(1, dataSource.determined.get());
+        MultiDataSourceContextHolder.push(CurrentThreadDataSource.of(DataSourceNodeType.MASTER, "g1", null));
+        Assertions.assertEquals(5, this.page(factory));
+        Assertions.assertEquals(5, this.page(factory));
+        Assertions.assertEquals(2, dataSource.determined.get());
+    }
+
+    private int page(final SqlSessionFactory factory) {
+        try (final SqlSession session = factory.openSession(true)) {
+            final Pageable pageable = StandardPageable.of(2, 5);
+            final List<Map<String, Object>> list = session.getMapper(UserMapper.class).list(pageable);
+            Assertions.assertEquals(15L, pageable.getRecords());
+            return list.size();
+        }
+    }
+
+    public interface UserMapper {
+
+        @Select("SELECT ID, NAME FROM T_USER ORDER BY ID")
+        List<Map<String, Object>> list(@Param("pageable") final Pageable pageable);
+    }
+
+    /**
+     * 记录路由决策次数的数据源
+     */
+    private static class CountingRoutingDataSource extends JdbcDataSource implements RoutingDataSource {
+
+        private static final long serialVersionUID = 1L;
+        private final AtomicInteger determined = new AtomicInteger();
+
+        @Override
+        public DataSource getTargetDataSource() {
+            this.determined.incrementAndGet();
+            return this;
+        }
+    }
+}
@@ -15,11 +15,16 @@
  */
 package io.github.mybatisx.spring.boot.pageable;
 
+import io.github.mybatisx.jdbc.datasource.MultiDataSourceContextHolder;
+import io.github.mybatisx.plugin.paging.KeysetPageableInterceptor;
 import io.github.mybatisx.plugin.paging.RangePageableInterceptor;
+import io.github.mybatisx.plugin.paging.StandardPageableHandler;
+import io.github.mybatisx.plugin.paging.concurrent.CountTaskDecorator;
 import io.github.mybatisx.spring.boot.pageable.config.MyBatisPageableConfigurer;
 import io.github.mybatisx.plugin.paging.StandardPageableInterceptor;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -57,13 +62,38 @@ public class MyBatisPageableAutoConfiguration {
         return interceptor;
     }
 
+    @Order(153)
+    @Bean
+    @ConditionalOnMissingBean
+    public KeysetPageableInterceptor keysetPageableInterceptor() {
+        final KeysetPageableInterceptor interceptor = new KeysetPageableInterceptor();
+        interceptor.setProperties(this.pageableConfigurer.getProperties());
+        return interceptor;
+    }
+
     @Order(138)
     @Bean
     @ConditionalOnMissingBean
-    public StandardPageableInterceptor standardPageableInterceptor() {
-        final StandardPageableInterceptor interceptor = new StandardPageableInterceptor();
+    public StandardPageableInterceptor standardPageableInterceptor(ObjectProvider<CountTaskDecorator> decorators) {
+        final StandardPageableHandler handler = new StandardPageableHandler();
+        handler.setCountTaskDecorator(decorators.getIfAvailable());
+        final StandardPageableInterceptor interceptor = new StandardPageableInterceptor(handler);
         interceptor.setProperties(this.pageableConfigurer.getProperties());
         return interceptor;
     }
 
+    /**
+     * 多数据源环境下，并行查询总记录数沿用当前线程选择的数据源
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.github.mybatisx.jdbc.datasource.MultiDataSourceContextHolder")
+    static class MultiDataSourceCountTaskDecoratorConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CountTaskDecorator multiDataSourceCountTaskDecorator() {
+            return MultiDataSourceContextHolder::wrap;
+        }
+    }
+
 }
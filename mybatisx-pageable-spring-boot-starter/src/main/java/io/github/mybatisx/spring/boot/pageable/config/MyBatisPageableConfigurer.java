@@ -51,6 +51,8 @@ public class MyBatisPageableConfigurer {
             MyBatisPageableProperties::getRangePageableDialectClass);
         this.ifPresentOfString(Dialect.PROP_KEY_STANDARD_DIALECT_PROXY,
             MyBatisPageableProperties::getStandardPageableDialectClass);
+        this.ifPresentOfString(Dialect.PROP_KEY_KEYSET_DIALECT_PROXY,
+            MyBatisPageableProperties::getKeysetPageableDialectClass);
         this.ifPresentOfBoolean(Dialect.PROP_KEY_AUTO_RUNTIME_PARSING_JDBC,
             MyBatisPageableProperties::isAutoRuntimeParsingJdbc);
         this.ifPresentOfBoolean(Dialect.PROP_KEY_AUTO_RELEASE_CONNECT,
@@ -59,6 +61,30 @@ public class MyBatisPageableConfigurer {
             MyBatisPageableProperties::getRecordMsCacheClass);
         this.ifPresentOfString(Dialect.PROP_KEY_RECORD_MS_CFG_PREFIX,
             MyBatisPageableProperties::getRecordMsCacheCfgPrefix);
+        this.ifPresentOfString(Dialect.PROP_KEY_COUNT_SQL_CACHE_CLASS,
+            MyBatisPageableProperties::getCountSqlCacheClass);
+        this.ifPresentOfString(Dialect.PROP_KEY_COUNT_SQL_CFG_PREFIX,
+            MyBatisPageableProperties::getCountSqlCacheCfgPrefix);
+        this.ifPresentOfString(Dialect.PROP_KEY_KEYSET_SQL_CACHE_CLASS,
+            MyBatisPageableProperties::getKeysetSqlCacheClass);
+        this.ifPresentOfString(Dialect.PROP_KEY_KEYSET_SQL_CFG_PREFIX,
+            MyBatisPageableProperties::getKeysetSqlCacheCfgPrefix);
+        this.ifPresentOfString(Dialect.PROP_KEY_COUNT_STRATEGY, it ->
+            Optional.ofNullable(it.getCountStrategy()).map(Enum::name).orElse(null));
+        this.ifPresentOfString(Dialect.PROP_KEY_COUNT_CACHE_TTL, it ->
+            Optional.ofNullable(it.getCountCacheTtl()).map(String::valueOf).orElse(null));
+        this.ifPresentOfString(Dialect.PROP_KEY_COUNT_CACHE_CLASS,
+            MyBatisPageableProperties::getCountCacheClass);
+        this.ifPresentOfString(Dialect.PROP_KEY_COUNT_CACHE_CFG_PREFIX,
+            MyBatisPageableProperties::getCountCacheCfgPrefix);
+        this.ifPresentOfBoolean(Dialect.PROP_KEY_CONCURRENT_COUNT,
+            MyBatisPageableProperties::isConcurrentCount);
+        this.ifPresentOfString(Dialect.PROP_KEY_CONCURRENT_COUNT_THREADS, it ->
+            Optional.ofNullable(it.getConcurrentCountThreads()).map(String::valueOf).orElse(null));
+        this.ifPresentOfString(Dialect.PROP_KEY_CONCURRENT_COUNT_QUEUE_SIZE, it ->
+            Optional.ofNullable(it.getConcurrentCountQueueSize()).map(String::valueOf).orElse(null));
+        this.ifPresentOfString(Dialect.PROP_KEY_CONCURRENT_COUNT_TIMEOUT, it ->
+            Optional.ofNullable(it.getConcurrentCountTimeout()).map(String::valueOf).orElse(null));
         this.ifPresentOfString(Dialect.PROP_KEY_WITH_NO_LOCK_CACHE_CLASS,
             MyBatisPageableProperties::getWithNoLockCacheClass);
         this.ifPresentOfString(Dialect.PROP_KEY_WITH_NO_LOCK_REPLACER_CLASS,
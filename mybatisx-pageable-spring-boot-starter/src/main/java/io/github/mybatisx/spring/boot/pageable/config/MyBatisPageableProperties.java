@@ -17,6 +17,7 @@ package io.github.mybatisx.spring.boot.pageable.config;
 
 import io.github.mybatisx.cache.LocalCache;
 import io.github.mybatisx.plugin.paging.DatabaseDialect;
+import io.github.paging.CountStrategy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.Properties;
@@ -47,6 +48,57 @@ public class MyBatisPageableProperties {
      * 查询总记录数缓存配置项前缀
      */
     private String recordMsCacheCfgPrefix;
+    /**
+     * 查询总记录数SQL缓存类([空值,false,caffeine,实现LocalCache接口类])
+     * @see LocalCache
+     */
+    private String countSqlCacheClass;
+    /**
+     * 查询总记录数SQL缓存配置项前缀(可配置容量上限，如: maximumSize)
+     */
+    private String countSqlCacheCfgPrefix;
+    /**
+     * 键集分页SQL缓存类([空值,false,caffeine,实现LocalCache接口类])
+     * @see LocalCache
+     */
+    private String keysetSqlCacheClass;
+    /**
+     * 键集分页SQL缓存配置项前缀(可配置容量上限，如: maximumSize)
+     */
+    private String keysetSqlCacheCfgPrefix;
+    /**
+     * 默认总记录数查询策略(分页对象未指定时使用)
+     */
+    private CountStrategy countStrategy = CountStrategy.EXACT;
+    /**
+     * 总记录数缓存有效期(毫秒，CACHED策略)
+     */
+    private Long countCacheTtl;
+    /**
+     * 总记录数缓存类([空值,false,caffeine,实现LocalCache接口类])
+     * @see LocalCache
+     */
+    private String countCacheClass;
+    /**
+     * 总记录数缓存配置项前缀(可配置容量上限，如: maximumSize)
+     */
+    private String countCacheCfgPrefix;
+    /**
+     * 是否在另一个连接上并行查询总记录数(写事务中自动退化为串行)
+     */
+    private boolean concurrentCount = false;
+    /**
+     * 并行查询总记录数线程数(每个任务额外占用一个连接，须远小于连接池大小)
+     */
+    private Integer concurrentCountThreads;
+    /**
+     * 并行查询总记录数任务队列容量(队列已满时退化为串行)
+     */
+    private Integer concurrentCountQueueSize;
+    /**
+     * 等待并行查询总记录数超时时间(毫秒，超时后取消任务并退化为串行)
+     */
+    private Long concurrentCountTimeout;
     /**
      * 动态从JDBC获取分页方言
      */
@@ -63,6 +115,10 @@ public class MyBatisPageableProperties {
      * 分页方言
      */
     private String standardPageableDialectClass;
+    /**
+     * 键集分页方言
+     */
+    private String keysetPageableDialectClass;
     /**
      * SQLSERVER-WITCH(NOLOCK)替换/还原类
      */
@@ -117,6 +173,102 @@ public class MyBatisPageableProperties {
         this.recordMsCacheCfgPrefix = recordMsCacheCfgPrefix;
     }
 
+    public String getCountSqlCacheClass() {
+        return countSqlCacheClass;
+    }
+
+    public void setCountSqlCacheClass(String countSqlCacheClass) {
+        this.countSqlCacheClass = countSqlCacheClass;
+    }
+
+    public String getCountSqlCacheCfgPrefix() {
+        return countSqlCacheCfgPrefix;
+    }
+
+    public void setCountSqlCacheCfgPrefix(String countSqlCacheCfgPrefix) {
+        this.countSqlCacheCfgPrefix = countSqlCacheCfgPrefix;
+    }
+
+    public String getKeysetSqlCacheClass() {
+        return keysetSqlCacheClass;
+    }
+
+    public void setKeysetSqlCacheClass(String keysetSqlCacheClass) {
+        this.keysetSqlCacheClass = keysetSqlCacheClass;
+    }
+
+    public String getKeysetSqlCacheCfgPrefix() {
+        return keysetSqlCacheCfgPrefix;
+    }
+
+    public void setKeysetSqlCacheCfgPrefix(String keysetSqlCacheCfgPrefix) {
+        this.keysetSqlCacheCfgPrefix = keysetSqlCacheCfgPrefix;
+    }
+
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
+    public void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = countStrategy;
+    }
+
+    public Long getCountCacheTtl() {
+        return countCacheTtl;
+    }
+
+    public void setCountCacheTtl(Long countCacheTtl) {
+        this.countCacheTtl = countCacheTtl;
+    }
+
+    public String getCountCacheClass() {
+        return countCacheClass;
+    }
+
+    public void setCountCacheClass(String countCacheClass) {
+        this.countCacheClass = countCacheClass;
+    }
+
+    public String getCountCacheCfgPrefix() {
+        return countCacheCfgPrefix;
+    }
+
+    public void setCountCacheCfgPrefix(String countCacheCfgPrefix) {
+        this.countCacheCfgPrefix = countCacheCfgPrefix;
+    }
+
+    public boolean isConcurrentCount() {
+        return concurrentCount;
+    }
+
+    public void setConcurrentCount(boolean concurrentCount) {
+        this.concurrentCount = concurrentCount;
+    }
+
+    public Integer getConcurrentCountThreads() {
+        return concurrentCountThreads;
+    }
+
+    public void setConcurrentCountThreads(Integer concurrentCountThreads) {
+        this.concurrentCountThreads = concurrentCountThreads;
+    }
+
+    public Integer getConcurrentCountQueueSize() {
+        return concurrentCountQueueSize;
+    }
+
+    public void setConcurrentCountQueueSize(Integer concurrentCountQueueSize) {
+        this.concurrentCountQueueSize = concurrentCountQueueSize;
+    }
+
+    public Long getConcurrentCountTimeout() {
+        return concurrentCountTimeout;
+    }
+
+    public void setConcurrentCountTimeout(Long concurrentCountTimeout) {
+        this.concurrentCountTimeout = concurrentCountTimeout;
+    }
+
     public boolean isAutoRuntimeParsingJdbc() {
         return autoRuntimeParsingJdbc;
     }
@@ -149,6 +301,14 @@ public class MyBatisPageableProperties {
         this.standardPageableDialectClass = standardPageableDialectClass;
     }
 
+    public String getKeysetPageableDialectClass() {
+        return keysetPageableDialectClass;
+    }
+
+    public void setKeysetPageableDialectClass(String keysetPageableDialectClass) {
+        this.keysetPageableDialectClass = keysetPageableDialectClass;
+    }
+
     public String getWithNoLockReplacerClass() {
         return withNoLockReplacerClass;
     }
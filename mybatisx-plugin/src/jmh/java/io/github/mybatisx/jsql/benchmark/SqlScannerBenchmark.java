@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.benchmark;
+
+import io.github.mybatisx.jsql.handler.RemoveOrderByHandler;
+import io.github.mybatisx.jsql.parser.SqlParser;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SQL词法扫描与JSqlParser解析性能对比
+ * <p>解析器均不启用缓存，分别测量总记录数SQL与WHERE条件的生成开销；COMPLEX语句无法快速处理，反映扫描失败后退回JSqlParser的额外开销。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlScannerBenchmark {
+
+    @Param({"SIMPLE", "JOIN", "COMPLEX"})
+    private Kind kind;
+    private String sql;
+    private SqlParser parser;
+
+    @Setup
+    public void setup() {
+        this.sql = this.kind.sql;
+        this.parser = new SqlParser(false);
+    }
+
+    @Benchmark
+    public String scannerCount() {
+        return this.parser.smartCountParse(this.sql);
+    }
+
+    @Benchmark
+    public String jsqlParserCount() {
+        final Select select;
+        try {
+            select = (Select) CCJSqlParserUtil.parse(this.sql);
+            new RemoveOrderByHandler(this.sql, select).handleTryRemove();
+        } catch (Exception ignore) {
+            return this.parser.toSimpleQueryRecordSql(this.sql, "0");
+        }
+        this.parser.toQueryRecordSql(select, "0");
+        return select.toString();
+    }
+
+    @Benchmark
+    public String scannerWhere() {
+        return this.parser.parseWhereCondition(this.sql);
+    }
+
+    @Benchmark
+    public String jsqlParserWhere() throws Exception {
+        final Statement statement = CCJSqlParserUtil.parse(this.sql);
+        final Expression where = ((PlainSelect) ((Select) statement).getSelectBody()).getWhere();
+        return where == null ? null : where.toString();
+    }
+
+    public enum Kind {
+        SIMPLE("SELECT id, name, status FROM t_user WHERE status = ? AND age > ? ORDER BY id DESC"),
+        JOIN("SELECT u.id, u.name, r.name AS role_name FROM t_user u LEFT JOIN t_role r ON r.id = u.role_id "
+            + "INNER JOIN t_dept d ON d.id = u.dept_id WHERE u.status = ? AND d.state IN (?, ?) "
+            + "AND u.name LIKE ? ORDER BY u.created_at DESC, u.id"),
+        COMPLEX("SELECT u.id, u.name FROM t_user u WHERE u.dept_id IN (SELECT id FROM t_dept WHERE state = ?) "
+            + "ORDER BY u.id");
+
+        private final String sql;
+
+        Kind(final String sql) {
+            this.sql = sql;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SqlScannerBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 带命中统计的缓存(装饰器，容量上限由被装饰缓存的配置决定)
+ * @param <K> 键类型
+ * @param <V> 值类型
+ * @author wvkity
+ * @created 2021-08-27
+ * @since 1.0.0
+ */
+public class StatisticsLocalCache<K, V> implements LocalCache<K, V> {
+
+    private final LocalCache<K, V> delegate;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder putCount = new LongAdder();
+
+    public StatisticsLocalCache(LocalCache<K, V> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public V get(K key) {
+        final V value = this.delegate.get(key);
+        if (value == null) {
+            this.missCount.increment();
+        } else {
+            this.hitCount.increment();
+        }
+        return value;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        this.putCount.increment();
+        this.delegate.put(key, value);
+    }
+
+    @Override
+    public String getProperty(String key) {
+        return this.delegate.getProperty(key);
+    }
+
+    public long getHitCount() {
+        return this.hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return this.missCount.sum();
+    }
+
+    public long getPutCount() {
+        return this.putCount.sum();
+    }
+
+    /**
+     * 获取命中率
+     * @return 命中率(无请求时返回1.0)
+     */
+    public double getHitRate() {
+        final long hits = this.hitCount.sum();
+        final long requests = hits + this.missCount.sum();
+        return requests == 0L ? 1.0D : (double) hits / requests;
+    }
+
+    public LocalCache<K, V> getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return "StatisticsLocalCache{" +
+            "hitCount=" + getHitCount() +
+            ", missCount=" + getMissCount() +
+            ", putCount=" + getPutCount() +
+            ", hitRate=" + getHitRate() +
+            '}';
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.parser;
+
+import io.github.mybatisx.cache.LocalCache;
+import io.github.mybatisx.cache.LocalCacheFactory;
+import io.github.mybatisx.cache.StatisticsLocalCache;
+import io.github.mybatisx.constant.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * SQL解析结果缓存
+ * <p>所有插件共享，以解析器类型、操作类型、原SQL及附加参数为键缓存{@link SqlParser}的解析结果，每种SQL仅解析一次。
+ * 缓存容量有限(默认{@value #DEF_MAXIMUM_SIZE})，超出后按缓存实现的策略淘汰，并记录命中统计。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public final class SqlParseCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlParseCache.class);
+    /**
+     * 配置项前缀
+     */
+    public static final String PROP_KEY_PREFIX = "sqlParseCache";
+    /**
+     * 配置项: 缓存实现类
+     */
+    public static final String PROP_KEY_CACHE_CLASS = PROP_KEY_PREFIX + Constants.DOT + "cacheClass";
+    /**
+     * 默认缓存容量
+     */
+    public static final int DEF_MAXIMUM_SIZE = 2048;
+    /**
+     * 空结果
+     */
+    private static final Object NULL = new Object();
+    private static volatile StatisticsLocalCache<Key, Object> cache = create(new Properties());
+    /**
+     * 已生效的配置项(未配置时为空)
+     */
+    private static Map<String, String> configured;
+
+    private SqlParseCache() {
+    }
+
+    /**
+     * 根据配置创建缓存(仅在配置中包含{@value #PROP_KEY_PREFIX}前缀的配置项时)
+     * <p>缓存由所有插件共享，仅在首次配置时创建；其他插件配置不一致时保留已有缓存并记录警告。</p>
+     * @param properties 配置项
+     */
+    public static void configure(final Properties properties) {
+        if (properties == null) {
+            return;
+        }
+        final Map<String, String> settings = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(PROP_KEY_PREFIX + Constants.DOT)) {
+                settings.put(name, properties.getProperty(name));
+            }
+        }
+        if (settings.isEmpty()) {
+            return;
+        }
+        synchronized (SqlParseCache.class) {
+            if (configured == null) {
+                cache = create(properties);
+                configured = settings;
+            } else if (!configured.equals(settings)) {
+                log.warn("The shared SQL parse cache has already been configured with {}, ignoring the " +
+                    "conflicting settings {}", configured, settings);
+            }
+        }
+    }
+
+    /**
+     * 从缓存中获取解析结果，不存在时解析并缓存
+     * @param owner     解析器类型
+     * @param operation 操作类型
+     * @param sql       原SQL
+     * @param argument  附加参数
+     * @param parser    解析
+     * @param <T>       结果类型
+     * @return 解析结果
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(final Class<?> owner, final Object operation, final String sql, final Object argument,
+                     final Supplier<T> parser) {
+        if (sql == null) {
+            return parser.get();
+        }
+        final StatisticsLocalCache<Key, Object> it = cache;
+        final Key key = new Key(owner, operation, sql, argument);
+        final Object value = it.get(key);
+        if (value != null) {
+            return value == NULL ? null : (T) value;
+        }
+        final T result = parser.get();
+        it.put(key, result == null ? NULL : result);
+        return result;
+    }
+
+    /**
+     * 获取缓存(命中统计)
+     * @return {@link StatisticsLocalCache}
+     */
+    public static StatisticsLocalCache<?, ?> getCache() {
+        return cache;
+    }
+
+    private static StatisticsLocalCache<Key, Object> create(final Properties properties) {
+        final Properties props = new Properties();
+        props.setProperty(PROP_KEY_PREFIX + Constants.DOT + LocalCache.PROP_KEY_CAFFEINE_MAXIMUM_SIZE,
+            String.valueOf(DEF_MAXIMUM_SIZE));
+        props.setProperty(PROP_KEY_PREFIX + Constants.DOT + LocalCache.PROP_KEY_MYBATIS_SIZE,
+            String.valueOf(DEF_MAXIMUM_SIZE));
+        props.setProperty(PROP_KEY_PREFIX + Constants.DOT + LocalCache.PROP_KEY_CACHE_ID, "Sql_Parse_Cache");
+        props.putAll(properties);
+        return new StatisticsLocalCache<>(LocalCacheFactory.create(props.getProperty(PROP_KEY_CACHE_CLASS), props,
+            PROP_KEY_PREFIX));
+    }
+
+    /**
+     * 缓存键
+     */
+    static final class Key {
+
+        private final Class<?> owner;
+        private final Object operation;
+        private final String sql;
+        private final Object argument;
+        private final int hash;
+
+        Key(Class<?> owner, Object operation, String sql, Object argument) {
+            this.owner = owner;
+            this.operation = operation;
+            this.sql = sql;
+            this.argument = argument;
+            this.hash = 31 * (31 * (31 * owner.hashCode() + operation.hashCode()) + sql.hashCode())
+                + Objects.hashCode(argument);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return this.hash == that.hash && this.owner == that.owner && this.operation.equals(that.operation)
+                && this.sql.equals(that.sql)
+                && Objects.equals(this.argument, that.argument);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+    }
+}
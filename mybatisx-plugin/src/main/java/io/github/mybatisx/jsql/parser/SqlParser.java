@@ -39,6 +39,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -57,11 +59,11 @@ public class SqlParser {
     /**
      * 忽略聚合函数
      */
-    private final Set<String> IGNORE_FUNCTION_CACHE = new HashSet<>();
+    private static final Set<String> IGNORE_FUNCTION_CACHE = ConcurrentHashMap.newKeySet();
     /**
      * 不通过聚合函数
      */
-    private final Set<String> NOT_THROUGH_FUNCTION_CACHE = new HashSet<>();
+    private static final Set<String> NOT_THROUGH_FUNCTION_CACHE = ConcurrentHashMap.newKeySet();
     /**
      * 聚合函数缓存
      */
@@ -106,6 +108,23 @@ public class SqlParser {
         AGGREGATE_FUNCTION_CACHE.add("XMLAGG");
     }
 
+    /**
+     * 是否使用共享解析结果缓存{@link SqlParseCache}
+     */
+    private final boolean cached;
+
+    public SqlParser() {
+        this(true);
+    }
+
+    /**
+     * 构造方法
+     * @param cached 是否使用共享解析结果缓存(调用方自行缓存最终结果时可关闭，避免重复缓存)
+     */
+    public SqlParser(boolean cached) {
+        this.cached = cached;
+    }
+
     /**
      * 智能转换成查询总记录数SQL语句
      * @param originalSql 原SQL语句
@@ -122,6 +141,21 @@ public class SqlParser {
      * @return 总记录数SQL
      */
     public String smartCountParse(final String originalSql, final String colName) {
+        return this.getOrParse(Operation.COUNT, originalSql, colName,
+            () -> this.doSmartCountParse(originalSql, colName));
+    }
+
+    /**
+     * 智能转换成查询总记录数SQL语句
+     * @param originalSql 原SQL语句
+     * @param colName     列名
+     * @return 总记录数SQL
+     */
+    protected String doSmartCountParse(final String originalSql, final String colName) {
+        final String fast = SqlScanner.scan(originalSql).toCountSql(colName);
+        if (fast != null) {
+            return fast;
+        }
         final Select select;
         try {
             select = parseSelect(originalSql);
@@ -139,15 +173,22 @@ public class SqlParser {
      * @return 处理后的SQL语句
      */
     public String smartRemoveOrderBy(final String originalSql) {
-        final ParameterParser paramParser = new ParameterParser(originalSql);
-        final Select select;
-        try {
-            select = parseSelect(paramParser.replace().isReplaced() ? paramParser.getReplaceSql() : originalSql);
-            new RemoveOrderByHandler(originalSql, select).handleTryRemove();
-        } catch (Exception ignore) {
-            return originalSql;
+        return this.getOrParse(Operation.REMOVE_ORDER_BY, originalSql, null,
+            () -> this.doSmartRemoveOrderBy(originalSql));
+    }
+
+    /**
+     * 智能移除order by排序语句
+     * @param originalSql 原SQL语句
+     * @return 处理后的SQL语句
+     */
+    protected String doSmartRemoveOrderBy(final String originalSql) {
+        final String fast = SqlScanner.scan(originalSql).removeOrderBy();
+        if (fast != null) {
+            return fast;
         }
-        return paramParser.restore(select.toString());
+        final String rewrite = SqlRewriter.scan(originalSql).removeOrderBy();
+        return rewrite == null ? originalSql : rewrite;
     }
 
     /**
@@ -166,24 +207,25 @@ public class SqlParser {
      * @return exists查询语句
      */
     public String smartExistsParse(final String originalSql) {
+        return this.getOrParse(Operation.EXISTS, originalSql, null,
+            () -> this.doSmartExistsParse(originalSql));
+    }
+
+    /**
+     * 智能转换成exists查询语句
+     * @param originalSql 原SQL
+     * @return exists查询语句
+     */
+    protected String doSmartExistsParse(final String originalSql) {
         if (this.isSelectOne(originalSql)) {
             return originalSql;
         }
-        final ParameterParser paramParser = new ParameterParser(originalSql);
-        final Select select;
-        final RemoveOrderByHandler orderByHandler;
-        try {
-            select = this.parseSelect(paramParser.replace().isReplaced() ? paramParser.getReplaceSql() : originalSql);
-            orderByHandler = new RemoveOrderByHandler(originalSql, select);
-        } catch (Exception ignore) {
-            return this.regexExistsParse(originalSql);
-        }
-        try {
-            orderByHandler.handleTryRemove();
-        } catch (Exception ignore) {
-            return this.toSelectOneSql(select, paramParser);
+        final String fast = SqlScanner.scan(originalSql).toSelectOneSql();
+        if (fast != null) {
+            return fast;
         }
-        return this.toSelectOneSql(select, paramParser);
+        final String rewrite = SqlRewriter.scan(originalSql).toSelectOneSql();
+        return rewrite == null ? this.regexExistsParse(originalSql) : rewrite;
     }
 
     /**
@@ -302,10 +344,25 @@ public class SqlParser {
 
     /**
      * 解析WHERE条件
+     * <p>简单语句直接截取原SQL中的条件片段，复杂语句返回JSqlParser格式化后的条件</p>
      * @param originalSql 原SQL语句
      * @return WHERE条件
      */
     public String parseWhereCondition(final String originalSql) {
+        return this.getOrParse(Operation.WHERE, originalSql, null,
+            () -> this.doParseWhereCondition(originalSql));
+    }
+
+    /**
+     * 解析WHERE条件
+     * @param originalSql 原SQL语句
+     * @return WHERE条件
+     */
+    protected String doParseWhereCondition(final String originalSql) {
+        final String fast = SqlScanner.scan(originalSql).whereCondition();
+        if (fast != null) {
+            return fast.isEmpty() ? null : fast;
+        }
         final Statement statement;
         try {
             statement = CCJSqlParserUtil.parse(originalSql);
@@ -334,6 +391,16 @@ public class SqlParser {
      * @return 表名
      */
     public String parseTableName(final String originalSql) {
+        return this.getOrParse(Operation.TABLE_NAME, originalSql, null,
+            () -> this.doParseTableName(originalSql));
+    }
+
+    /**
+     * 表名
+     * @param originalSql 原SQL
+     * @return 表名
+     */
+    protected String doParseTableName(final String originalSql) {
         final Statement statement;
         try {
             statement = CCJSqlParserUtil.parse(originalSql);
@@ -356,4 +423,28 @@ public class SqlParser {
         return null;
     }
 
+    /**
+     * 获取解析结果(开启缓存时优先从共享缓存获取)
+     * @param operation 操作类型
+     * @param sql       原SQL
+     * @param argument  附加参数
+     * @param parser    解析
+     * @param <T>       结果类型
+     * @return 解析结果
+     */
+    private <T> T getOrParse(final Operation operation, final String sql, final Object argument,
+                             final Supplier<T> parser) {
+        return this.cached ? SqlParseCache.get(this.getClass(), operation, sql, argument, parser) : parser.get();
+    }
+
+    /**
+     * 解析操作类型
+     */
+    enum Operation {
+        COUNT,
+        EXISTS,
+        REMOVE_ORDER_BY,
+        WHERE,
+        TABLE_NAME
+    }
 }
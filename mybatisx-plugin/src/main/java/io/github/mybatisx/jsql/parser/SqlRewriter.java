@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.parser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * SQL改写器
+ * <p>单次遍历记录各层查询(括号内以SELECT/WITH开头的部分)中ORDER BY子句、查询字段的源码位置，
+ * 改写时仅将变化的区间拼接回原SQL，占位符({@code ?}、{@code #{...}})及格式保持不变，无需替换参数、解析及打印语法树。</p>
+ * <p>ORDER BY移除规则与{@link io.github.mybatisx.jsql.handler.RemoveOrderByHandler RemoveOrderByHandler}一致：
+ * 仅处理顶层、WITH、集合操作及FROM/JOIN子查询中的排序，包含参数或{@code /*keep orderby*&#47;}注释时保留；
+ * 同一查询存在LIMIT/OFFSET/FETCH/TOP时排序影响结果，同样保留。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+final class SqlRewriter {
+
+    private static final int UNKNOWN = 0;
+    private static final int QUERY = 1;
+    private static final int OTHER = 2;
+    private static final int CLAUSE_NONE = 0;
+    private static final int CLAUSE_SELECT = 1;
+    private static final int CLAUSE_FROM = 2;
+    private static final int CLAUSE_OTHER = 3;
+    private static final String KEEP_ORDER_BY = "KEEP ORDERBY";
+    /**
+     * 结束ORDER BY子句的关键字
+     */
+    private static final String[] ORDER_END_KEYWORDS = {"LIMIT", "OFFSET", "FETCH", "FOR", "UNION", "INTERSECT",
+        "EXCEPT", "MINUS", "OPTION"};
+    private static final String[] SET_OPERATION_KEYWORDS = {"UNION", "INTERSECT", "EXCEPT", "MINUS"};
+    private static final String[] LIMIT_KEYWORDS = {"LIMIT", "OFFSET", "FETCH"};
+    private static final String[] OTHER_CLAUSE_KEYWORDS = {"WHERE", "GROUP", "HAVING", "WINDOW", "QUALIFY",
+        "CONNECT", "START"};
+
+    private final String sql;
+    /**
+     * 待移除区间(起始位置、结束位置)
+     */
+    private final List<int[]> removals = new ArrayList<>();
+    private Frame top;
+    private boolean failed;
+
+    private SqlRewriter(String sql) {
+        this.sql = sql;
+    }
+
+    /**
+     * 扫描SQL
+     * @param sql SQL语句
+     * @return {@link SqlRewriter}
+     */
+    static SqlRewriter scan(final String sql) {
+        final SqlRewriter it = new SqlRewriter(sql);
+        if (sql == null) {
+            it.failed = true;
+        } else {
+            it.scan();
+        }
+        return it;
+    }
+
+    /**
+     * 移除可移除的ORDER BY子句
+     * @return 处理后的SQL，无法处理时返回null
+     */
+    String removeOrderBy() {
+        if (this.failed) {
+            return null;
+        }
+        if (this.top.kind != QUERY || this.removals.isEmpty()) {
+            return this.sql;
+        }
+        return this.splice(-1, -1, null);
+    }
+
+    /**
+     * 转换成select 1 from tab语句(同时移除可移除的ORDER BY子句)
+     * @return 新的查询语句，无法处理时返回null
+     */
+    String toSelectOneSql() {
+        if (this.failed || this.top.kind != QUERY || this.top.compound || this.top.selects != 1
+            || this.top.fromStart < 0) {
+            return null;
+        }
+        return this.splice(this.top.selectBody, this.top.fromStart, " 1 ");
+    }
+
+    /**
+     * 拼接改写结果
+     * @param start       替换区间起始位置
+     * @param end         替换区间结束位置
+     * @param replacement 替换内容
+     * @return SQL语句
+     */
+    private String splice(final int start, final int end, final String replacement) {
+        final String s = this.sql;
+        final List<int[]> edits = new ArrayList<>(this.removals.size() + 1);
+        for (int[] it : this.removals) {
+            // 查询字段中的子查询不会移除排序，区间不会重叠
+            edits.add(it);
+        }
+        if (start >= 0) {
+            edits.add(new int[]{start, end});
+        }
+        edits.sort((a, b) -> Integer.compare(a[0], b[0]));
+        final StringBuilder it = new StringBuilder(s.length());
+        int cursor = 0;
+        for (int[] edit : edits) {
+            it.append(s, cursor, edit[0]);
+            if (edit[0] == start) {
+                it.append(replacement);
+            }
+            cursor = edit[1];
+        }
+        it.append(s, cursor, s.length());
+        return it.toString().trim();
+    }
+
+    private void scan() {
+        final String s = this.sql;
+        final int n = s.length();
+        final Deque<Frame> frames = new ArrayDeque<>();
+        Frame frame = this.top = new Frame(true);
+        int i = 0;
+        while (i < n) {
+            final char c = s.charAt(i);
+            if (c == '\'' || c == '"' || c == '`' || c == '[') {
+                frame.decide(OTHER);
+                i = this.skipQuoted(i, c == '[' ? ']' : c);
+                if (this.failed) {
+                    return;
+                }
+                continue;
+            }
+            if (c == '-' && i + 1 < n && s.charAt(i + 1) == '-') {
+                final int eol = s.indexOf('\n', i);
+                i = eol < 0 ? n : eol + 1;
+                continue;
+            }
+            if (c == '/' && i + 1 < n && s.charAt(i + 1) == '*') {
+                final int close = s.indexOf("*/", i + 2);
+                if (close < 0) {
+                    this.failed = true;
+                    return;
+                }
+                if (frame.orderStart >= 0 && this.isKeepOrderBy(i + 2, close)) {
+                    frame.orderKeep = true;
+                }
+                i = close + 2;
+                continue;
+            }
+            if ((c == '#' || c == '$') && i + 1 < n && s.charAt(i + 1) == '{') {
+                final int close = s.indexOf('}', i + 2);
+                if (close < 0) {
+                    this.failed = true;
+                    return;
+                }
+                frame.decide(OTHER);
+                markParam(frame, frames);
+                i = close + 1;
+                continue;
+            }
+            if (c == '(') {
+                frames.push(frame);
+                frame = new Frame(frame.childRemovable());
+            } else if (c == ')') {
+                if (frames.isEmpty()) {
+                    this.failed = true;
+                    return;
+                }
+                this.closeOrder(frame, i);
+                this.finishSelect(frame);
+                final int kind = frame.kind;
+                frame = frames.pop();
+                // 以括号开头时由括号内容决定类型，如(SELECT ...) UNION (SELECT ...)
+                frame.decide(kind == QUERY ? QUERY : OTHER);
+            } else if (c == '?') {
+                frame.decide(OTHER);
+                markParam(frame, frames);
+            } else if (c == ';') {
+                this.closeOrder(frame, i);
+            } else if (Character.isLetter(c) || c == '_') {
+                int j = i + 1;
+                while (j < n && isIdentifierPart(s.charAt(j))) {
+                    j++;
+                }
+                j = this.handleWord(frame, i, j);
+                i = j;
+                continue;
+            } else if (!Character.isWhitespace(c)) {
+                frame.decide(OTHER);
+            }
+            i++;
+        }
+        if (!frames.isEmpty()) {
+            this.failed = true;
+            return;
+        }
+        this.closeOrder(frame, n);
+        this.finishSelect(frame);
+    }
+
+    /**
+     * 标记参数(排序子句中的函数、子查询同样视为包含参数)
+     * @param frame  当前层
+     * @param frames 外层
+     */
+    private static void markParam(final Frame frame, final Deque<Frame> frames) {
+        frame.markParam();
+        for (Frame it : frames) {
+            it.markParam();
+        }
+    }
+
+    /**
+     * 处理单词
+     * @param frame 当前层
+     * @param start 起始位置
+     * @param end   结束位置
+     * @return 下一个扫描位置
+     */
+    private int handleWord(final Frame frame, final int start, final int end) {
+        if (frame.kind == UNKNOWN) {
+            frame.decide(this.matches(start, end, "SELECT") || this.matches(start, end, "WITH") ? QUERY : OTHER);
+        }
+        if (frame.kind != QUERY) {
+            return end;
+        }
+        if (this.matches(start, end, "SELECT")) {
+            this.finishSelect(frame);
+            frame.selects++;
+            frame.clause = CLAUSE_SELECT;
+            frame.selectWords = 0;
+            frame.modifier = false;
+            if (frame.selects == 1) {
+                frame.selectBody = end;
+            }
+            return end;
+        }
+        if (frame.clause == CLAUSE_SELECT) {
+            final int index = frame.selectWords++;
+            if (index == 0 && (this.matches(start, end, "DISTINCT") || this.matches(start, end, "ALL"))) {
+                frame.modifier = true;
+            } else if ((index == 0 || index == 1 && frame.modifier) && this.matches(start, end, "TOP")) {
+                frame.limited = true;
+            } else if (this.matches(start, end, "FROM")) {
+                frame.clause = CLAUSE_FROM;
+                if (frame.selects == 1 && frame.fromStart < 0) {
+                    frame.fromStart = start;
+                }
+            }
+            return end;
+        }
+        if (this.matches(start, end, "ORDER")) {
+            final int by = this.expectBy(end);
+            if (by > 0) {
+                this.closeOrder(frame, start);
+                frame.clause = CLAUSE_OTHER;
+                frame.orderStart = start;
+                frame.orderKeep = false;
+                frame.orderParam = false;
+                return by;
+            }
+            return end;
+        }
+        for (String keyword : ORDER_END_KEYWORDS) {
+            if (this.matches(start, end, keyword)) {
+                this.closeOrder(frame, start);
+                break;
+            }
+        }
+        for (String keyword : LIMIT_KEYWORDS) {
+            if (this.matches(start, end, keyword)) {
+                frame.limited = true;
+                frame.clause = CLAUSE_OTHER;
+                return end;
+            }
+        }
+        for (String keyword : SET_OPERATION_KEYWORDS) {
+            if (this.matches(start, end, keyword)) {
+                this.finishSelect(frame);
+                frame.compound = true;
+                frame.clause = CLAUSE_NONE;
+                return end;
+            }
+        }
+        for (String keyword : OTHER_CLAUSE_KEYWORDS) {
+            if (this.matches(start, end, keyword)) {
+                frame.clause = CLAUSE_OTHER;
+                return end;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 结束ORDER BY子句，记录待移除区间
+     * @param frame 当前层
+     * @param end   结束位置
+     */
+    private void closeOrder(final Frame frame, final int end) {
+        if (frame.orderStart < 0) {
+            return;
+        }
+        final String s = this.sql;
+        if (!frame.orderKeep && !frame.orderParam && frame.removable) {
+            int from = frame.orderStart;
+            while (from > 0 && Character.isWhitespace(s.charAt(from - 1))) {
+                from--;
+            }
+            int to = end;
+            while (to > frame.orderStart && Character.isWhitespace(s.charAt(to - 1))) {
+                to--;
+            }
+            frame.pendingStart = from;
+            frame.pendingEnd = to;
+        }
+        frame.orderStart = -1;
+    }
+
+    /**
+     * 结束当前查询
+     * @param frame 当前层
+     */
+    private void finishSelect(final Frame frame) {
+        if (frame.pendingStart >= 0 && !frame.limited) {
+            this.removals.add(new int[]{frame.pendingStart, frame.pendingEnd});
+        }
+        frame.pendingStart = -1;
+        frame.pendingEnd = -1;
+        frame.limited = false;
+    }
+
+    private boolean isKeepOrderBy(final int start, final int end) {
+        final String text = this.sql.substring(start, end).trim().replaceAll("\\s+", " ");
+        return text.equalsIgnoreCase(KEEP_ORDER_BY);
+    }
+
+    /**
+     * ORDER之后必须为BY
+     * @param from 起始位置
+     * @return BY之后的位置，不存在时返回-1
+     */
+    private int expectBy(final int from) {
+        final String s = this.sql;
+        int i = from;
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        if (i + 2 <= s.length() && this.matches(i, i + 2, "BY")
+            && (i + 2 == s.length() || !isIdentifierPart(s.charAt(i + 2)))) {
+            return i + 2;
+        }
+        return -1;
+    }
+
+    private int skipQuoted(final int start, final char quote) {
+        final String s = this.sql;
+        int i = start + 1;
+        while (i < s.length()) {
+            final char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length() && (s.charAt(i + 1) == quote || s.charAt(i + 1) == '\\')) {
+                // 转义规则因数据库而异，无法确定字符串结束位置
+                this.failed = true;
+                return s.length();
+            }
+            if (c == quote) {
+                if (quote != ']' && i + 1 < s.length() && s.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        this.failed = true;
+        return s.length();
+    }
+
+    private boolean matches(final int start, final int end, final String keyword) {
+        return end - start == keyword.length() && this.sql.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * 括号层
+     */
+    private static final class Frame {
+        /**
+         * 类型(以SELECT/WITH开头为查询)
+         */
+        private int kind = UNKNOWN;
+        /**
+         * 本层查询的排序是否允许移除
+         */
+        private final boolean removable;
+        private int clause = CLAUSE_NONE;
+        private boolean compound;
+        private int selects;
+        private int selectWords;
+        private boolean modifier;
+        private int selectBody = -1;
+        private int fromStart = -1;
+        private boolean limited;
+        private int orderStart = -1;
+        private boolean orderKeep;
+        private boolean orderParam;
+        private int pendingStart = -1;
+        private int pendingEnd = -1;
+
+        private Frame(boolean removable) {
+            this.removable = removable;
+        }
+
+        private void decide(final int kind) {
+            if (this.kind == UNKNOWN) {
+                this.kind = kind;
+            }
+        }
+
+        private void markParam() {
+            if (this.orderStart >= 0) {
+                this.orderParam = true;
+            }
+        }
+
+        /**
+         * 子层排序是否允许移除(WITH、集合操作及FROM/JOIN中的子查询)
+         * @return boolean
+         */
+        private boolean childRemovable() {
+            if (this.kind == QUERY) {
+                return this.removable && (this.clause == CLAUSE_NONE || this.clause == CLAUSE_FROM);
+            }
+            return this.removable;
+        }
+    }
+}
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.parser;
+
+/**
+ * SQL词法扫描器
+ * <p>单次遍历SQL，跳过字符串、引号标识符，记录顶层(括号外)子句关键字位置，用于快速处理形状简单的SQL
+ * (单表/连接查询、更新、删除语句)。包含注释、MyBatis占位符、子查询、WITH、UNION等集合操作及其他无法识别的结构时
+ * 标记为复杂SQL，由JSqlParser解析处理。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+final class SqlScanner {
+
+    static final int SELECT = 0;
+    static final int FROM = 1;
+    static final int WHERE = 2;
+    static final int GROUP = 3;
+    static final int HAVING = 4;
+    static final int ORDER = 5;
+    static final int LIMIT = 6;
+    static final int OFFSET = 7;
+    static final int FETCH = 8;
+    static final int FOR = 9;
+    static final int UPDATE = 10;
+    static final int DELETE = 11;
+    static final int SET = 12;
+    static final int RETURNING = 13;
+    private static final int CLAUSES = 14;
+    private static final int[] STATEMENTS = {SELECT, UPDATE, DELETE};
+    private static final String[] KEYWORDS = {"SELECT", "FROM", "WHERE", "GROUP", "HAVING", "ORDER", "LIMIT",
+        "OFFSET", "FETCH", "FOR", "UPDATE", "DELETE", "SET", "RETURNING"};
+    /**
+     * 出现在顶层时无法快速处理的关键字
+     */
+    private static final String[] COMPLEX_KEYWORDS = {"UNION", "INTERSECT", "EXCEPT", "MINUS", "WITH", "WINDOW",
+        "QUALIFY", "CONNECT", "START", "INTO", "MODEL"};
+    /**
+     * 其后为操作数的关键字(其后出现的子句关键字实为列名)
+     */
+    private static final String[] OPERATOR_KEYWORDS = {"AND", "OR", "NOT", "ON", "AS", "BY", "IS", "IN", "LIKE",
+        "BETWEEN", "WHEN", "THEN", "ELSE", "DISTINCT"};
+
+    private final String sql;
+    /**
+     * 子句关键字起始位置
+     */
+    private final int[] starts = new int[CLAUSES];
+    /**
+     * 子句内容起始位置(关键字之后)
+     */
+    private final int[] bodies = new int[CLAUSES];
+    /**
+     * 子句内是否包含参数占位符
+     */
+    private final boolean[] params = new boolean[CLAUSES];
+    /**
+     * 子句内是否包含括号
+     */
+    private final boolean[] parens = new boolean[CLAUSES];
+    private int statement = -1;
+    /**
+     * 上一个顶层单词位置
+     */
+    private int previousStart = -1;
+    private int previousEnd = -1;
+    private boolean distinct;
+    /**
+     * 查询字段以TOP开头
+     */
+    private boolean top;
+    private boolean complex;
+
+    private SqlScanner(String sql) {
+        this.sql = sql;
+        for (int i = 0; i < CLAUSES; i++) {
+            this.starts[i] = -1;
+            this.bodies[i] = -1;
+        }
+    }
+
+    /**
+     * 扫描SQL
+     * @param sql SQL语句
+     * @return {@link SqlScanner}
+     */
+    static SqlScanner scan(final String sql) {
+        final SqlScanner it = new SqlScanner(sql);
+        if (sql != null) {
+            it.scan();
+        } else {
+            it.complex = true;
+        }
+        return it;
+    }
+
+    private void scan() {
+        final String s = this.sql;
+        final int n = s.length();
+        int depth = 0;
+        int words = 0;
+        int current = -1;
+        int i = 0;
+        while (i < n && !this.complex) {
+            final char c = s.charAt(i);
+            if (c == '\'' || c == '"' || c == '`' || c == '[') {
+                i = this.skipQuoted(i, c == '[' ? ']' : c);
+                continue;
+            }
+            if ((c == '-' || c == '/') && i + 1 < n && s.charAt(i + 1) == (c == '-' ? '-' : '*')
+                || c == '#' || c == ';' || c == '$' && i + 1 < n && s.charAt(i + 1) == '{') {
+                this.complex = true;
+                break;
+            }
+            if (c == '(') {
+                depth++;
+                if (current >= 0) {
+                    this.parens[current] = true;
+                }
+            } else if (c == ')') {
+                if (--depth < 0) {
+                    this.complex = true;
+                }
+            } else if (c == '?') {
+                if (current >= 0) {
+                    this.params[current] = true;
+                }
+            } else if (Character.isLetter(c) || c == '_') {
+                int j = i + 1;
+                while (j < n && isIdentifierPart(s.charAt(j))) {
+                    j++;
+                }
+                if (depth > 0) {
+                    if (this.matches(i, j, KEYWORDS[SELECT])) {
+                        this.complex = true;
+                    }
+                } else {
+                    final int clause = this.handleWord(i, j, words++);
+                    this.previousStart = i;
+                    this.previousEnd = j;
+                    if (clause >= 0) {
+                        current = clause;
+                        if (clause == GROUP || clause == ORDER) {
+                            j = this.expectBy(j);
+                            this.previousStart = j - 2;
+                            this.previousEnd = j;
+                        }
+                        this.bodies[clause] = j;
+                    }
+                }
+                i = j;
+                continue;
+            }
+            i++;
+        }
+        if (depth != 0 || this.statement < 0) {
+            this.complex = true;
+        }
+    }
+
+    /**
+     * 处理顶层单词
+     * @param start 起始位置
+     * @param end   结束位置
+     * @param index 顶层单词序号
+     * @return 子句类型，非子句关键字返回-1
+     */
+    private int handleWord(final int start, final int end, final int index) {
+        if (index == 0) {
+            for (int k : STATEMENTS) {
+                if (this.matches(start, end, KEYWORDS[k])) {
+                    this.statement = k;
+                    this.starts[k] = start;
+                    return k;
+                }
+            }
+            this.complex = true;
+            return -1;
+        }
+        if (index == 1 && this.statement == SELECT && this.matches(start, end, "DISTINCT")) {
+            this.distinct = true;
+            return -1;
+        }
+        if ((index == 1 || index == 2 && this.distinct) && this.statement == SELECT
+            && this.matches(start, end, "TOP")) {
+            this.top = true;
+            return -1;
+        }
+        for (String keyword : COMPLEX_KEYWORDS) {
+            if (this.matches(start, end, keyword)) {
+                this.complex = true;
+                return -1;
+            }
+        }
+        for (int k = 0; k < CLAUSES; k++) {
+            if (this.matches(start, end, KEYWORDS[k])) {
+                if (k == UPDATE && this.starts[FOR] >= 0) {
+                    // FOR UPDATE
+                    return -1;
+                }
+                if (k == SELECT || k == UPDATE || k == DELETE || this.starts[k] >= 0
+                    || this.isOperand(start, end)) {
+                    this.complex = true;
+                    return -1;
+                }
+                this.starts[k] = start;
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 检查关键字是否处于操作数位置(未加引号的列名与关键字同名)
+     * @param start 起始位置
+     * @param end   结束位置
+     * @return boolean
+     */
+    private boolean isOperand(final int start, final int end) {
+        final String s = this.sql;
+        int i = start - 1;
+        while (i >= 0 && Character.isWhitespace(s.charAt(i))) {
+            i--;
+        }
+        if (i >= 0 && "=<>!(,+-/%|.".indexOf(s.charAt(i)) >= 0) {
+            return true;
+        }
+        if (this.previousEnd == i + 1) {
+            for (String keyword : OPERATOR_KEYWORDS) {
+                if (this.matches(this.previousStart, this.previousEnd, keyword)) {
+                    return true;
+                }
+            }
+        }
+        int j = end;
+        while (j < s.length() && Character.isWhitespace(s.charAt(j))) {
+            j++;
+        }
+        return j < s.length() && "=<>!.,)%|".indexOf(s.charAt(j)) >= 0;
+    }
+
+    /**
+     * GROUP/ORDER之后必须为BY
+     * @param from 起始位置
+     * @return BY之后的位置
+     */
+    private int expectBy(final int from) {
+        final String s = this.sql;
+        int i = from;
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        if (i + 2 <= s.length() && this.matches(i, i + 2, "BY")
+            && (i + 2 == s.length() || !isIdentifierPart(s.charAt(i + 2)))) {
+            return i + 2;
+        }
+        this.complex = true;
+        return from;
+    }
+
+    private int skipQuoted(final int start, final char quote) {
+        final String s = this.sql;
+        int i = start + 1;
+        while (i < s.length()) {
+            final char c = s.charAt(i);
+            if (c == '\\') {
+                // 转义规则因数据库而异
+                this.complex = true;
+                return s.length();
+            }
+            if (c == quote) {
+                if (quote != ']' && i + 1 < s.length() && s.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        this.complex = true;
+        return s.length();
+    }
+
+    private boolean matches(final int start, final int end, final String keyword) {
+        return end - start == keyword.length() && this.sql.regionMatches(true, start, keyword, 0, keyword.length());
+    }
+
+    private static boolean isIdentifierPart(final char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    /**
+     * 获取子句结束位置(下一个子句起始位置或SQL末尾)
+     * @param clause 子句类型
+     * @return 结束位置
+     */
+    private int end(final int clause) {
+        final int start = this.starts[clause];
+        int end = this.sql.length();
+        for (int k = 0; k < CLAUSES; k++) {
+            final int it = this.starts[k];
+            if (it > start && it < end) {
+                end = it;
+            }
+        }
+        return end;
+    }
+
+    private boolean isSimpleSelect() {
+        return !this.complex && this.statement == SELECT && this.starts[FROM] >= 0;
+    }
+
+    /**
+     * 是否限制返回记录数(LIMIT/OFFSET/FETCH/TOP)，此时排序决定返回的记录，交由{@link SqlRewriter}按同一规则处理
+     * @return boolean
+     */
+    private boolean isLimited() {
+        return this.top || this.starts[LIMIT] >= 0 || this.starts[OFFSET] >= 0 || this.starts[FETCH] >= 0;
+    }
+
+    /**
+     * 是否可移除ORDER BY(不包含参数占位符)
+     * @return boolean
+     */
+    private boolean canRemoveOrderBy() {
+        return this.starts[ORDER] >= 0 && !this.params[ORDER];
+    }
+
+    /**
+     * FROM子句至结尾(按需移除ORDER BY)
+     * @return SQL片段
+     */
+    private String fromPart() {
+        final String s = this.sql;
+        if (this.canRemoveOrderBy()) {
+            final int orderEnd = this.end(ORDER);
+            final String head = s.substring(this.starts[FROM], this.starts[ORDER]).trim();
+            return orderEnd < s.length() ? head + " " + s.substring(orderEnd).trim() : head;
+        }
+        return s.substring(this.starts[FROM]).trim();
+    }
+
+    /**
+     * 转换成查询总记录数SQL
+     * @param colName 列名
+     * @return 总记录数SQL，无法快速处理时返回null
+     */
+    String toCountSql(final String colName) {
+        if (!this.isSimpleSelect() || this.distinct || this.params[SELECT] || this.parens[SELECT]
+            || this.starts[GROUP] >= 0 || this.starts[HAVING] >= 0 || this.isLimited() || this.starts[FOR] >= 0) {
+            return null;
+        }
+        return "SELECT COUNT(" + colName + ") AS RECORDS " + this.fromPart();
+    }
+
+    /**
+     * 转换成select 1 from tab语句
+     * @return 新的查询语句，无法快速处理时返回null
+     */
+    String toSelectOneSql() {
+        if (!this.isSimpleSelect() || this.distinct || this.params[SELECT] || this.starts[GROUP] >= 0
+            || this.isLimited()) {
+            return null;
+        }
+        return "SELECT 1 " + this.fromPart();
+    }
+
+    /**
+     * 移除ORDER BY
+     * @return 处理后的SQL，无法快速处理时返回null
+     */
+    String removeOrderBy() {
+        if (!this.isSimpleSelect() || this.isLimited()) {
+            return null;
+        }
+        if (!this.canRemoveOrderBy()) {
+            return this.sql;
+        }
+        final int selectStart = this.starts[SELECT];
+        return this.sql.substring(selectStart, this.starts[FROM]) + this.fromPart();
+    }
+
+    /**
+     * 获取WHERE条件
+     * <p>返回原SQL中的条件片段(保留原有大小写、空白)，不同于JSqlParser格式化后的{@code where.toString()}，
+     * 但语义及占位符数量、顺序一致</p>
+     * @return WHERE条件，不存在时返回空字符串，无法快速处理时返回null
+     */
+    String whereCondition() {
+        if (this.complex) {
+            return null;
+        }
+        if (this.starts[WHERE] < 0) {
+            return "";
+        }
+        final String where = this.sql.substring(this.bodies[WHERE], this.end(WHERE)).trim();
+        return where.isEmpty() ? null : where;
+    }
+
+    boolean isComplex() {
+        return this.complex;
+    }
+}
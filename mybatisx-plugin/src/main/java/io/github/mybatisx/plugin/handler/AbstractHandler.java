@@ -17,6 +17,7 @@ package io.github.mybatisx.plugin.handler;
 
 import io.github.mybatisx.Objects;
 import io.github.mybatisx.constant.Constants;
+import io.github.mybatisx.jsql.parser.SqlParseCache;
 import io.github.mybatisx.plugin.filter.Filter;
 import io.github.mybatisx.reflect.Reflections;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -248,6 +249,7 @@ public abstract class AbstractHandler implements Handler, Filter {
     @Override
     public void setProperties(Properties properties) {
         this.properties = Objects.nonNull(properties) ? properties : new Properties();
+        SqlParseCache.configure(this.properties);
     }
 
 }
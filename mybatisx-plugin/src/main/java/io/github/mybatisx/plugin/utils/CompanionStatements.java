@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.plugin.utils;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 伴生{@link MappedStatement}工具
+ * <p>注入通用方法时会按固定后缀为结构已知的语句额外注册统计、存在性及更新前查询语句，
+ * 插件可直接按ID获取，无需在运行时解析SQL。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public final class CompanionStatements {
+
+    private CompanionStatements() {
+    }
+
+    /**
+     * 统计总记录数语句后缀
+     */
+    public static final String COUNT_SUFFIX = ".plugin_inline_records";
+    /**
+     * 存在性查询语句后缀
+     */
+    public static final String EXISTS_SUFFIX = ".plugin_inline_exists";
+    /**
+     * 更新(删除)前查询原数据语句后缀
+     */
+    public static final String SOURCES_SUFFIX = ".plugin_inline_sources";
+    /**
+     * 更新前查询语句前缀
+     */
+    private static final String SOURCES_PREFIX = "SELECT * FROM ";
+    private static final String WHERE = "WHERE";
+    /**
+     * 表名缓存(key: 原{@link MappedStatement}对象)
+     * <p>不同{@link Configuration}中可能存在唯一标识相同的语句，按对象区分，随{@link Configuration}释放而回收</p>
+     */
+    private static final Map<MappedStatement, String> TABLE_NAME_CACHE =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * 生成更新前查询语句
+     * @param tableName 表名
+     * @param condition 条件部分(脚本)
+     * @return SQL脚本
+     */
+    public static String makeSourcesScript(final String tableName, final String condition) {
+        return SOURCES_PREFIX + tableName + (condition == null || condition.trim().isEmpty() ? "" :
+            (" " + condition));
+    }
+
+    /**
+     * 注册表名
+     * @param ms        原{@link MappedStatement}
+     * @param tableName 表名
+     */
+    public static void registerTableName(final MappedStatement ms, final String tableName) {
+        TABLE_NAME_CACHE.put(ms, tableName);
+    }
+
+    /**
+     * 获取注入时注册的表名
+     * @param ms 原{@link MappedStatement}
+     * @return 表名，未注册时返回null
+     */
+    public static String getTableName(final MappedStatement ms) {
+        return TABLE_NAME_CACHE.get(ms);
+    }
+
+    /**
+     * 获取伴生{@link MappedStatement}对象
+     * @param ms     原{@link MappedStatement}
+     * @param suffix 后缀
+     * @return {@link MappedStatement}，不存在时返回null
+     */
+    public static MappedStatement getIfExists(final MappedStatement ms, final String suffix) {
+        final Configuration cfg = ms.getConfiguration();
+        final String id = ms.getId() + suffix;
+        return cfg.hasStatement(id, false) ? cfg.getMappedStatement(id, false) : null;
+    }
+
+    /**
+     * 从更新前查询语句中截取条件部分
+     * @param ms         原{@link MappedStatement}
+     * @param sourcesSql 更新前查询语句(已渲染)
+     * @return 条件部分，无条件时返回空字符串，无法截取时返回null
+     */
+    public static String getWhereCondition(final MappedStatement ms, final String sourcesSql) {
+        final String tableName = TABLE_NAME_CACHE.get(ms);
+        if (tableName == null || sourcesSql == null) {
+            return null;
+        }
+        final String sql = sourcesSql.trim();
+        final int start = SOURCES_PREFIX.length() + tableName.length();
+        if (!sql.startsWith(tableName, SOURCES_PREFIX.length()) || !sql.startsWith(SOURCES_PREFIX)) {
+            return null;
+        }
+        if (sql.length() == start) {
+            return "";
+        }
+        if (!Character.isWhitespace(sql.charAt(start))) {
+            return null;
+        }
+        final String rest = sql.substring(start).trim();
+        if (rest.isEmpty()) {
+            return "";
+        }
+        if (rest.length() > WHERE.length() && rest.substring(0, WHERE.length()).toUpperCase(Locale.ENGLISH)
+            .equals(WHERE) && Character.isWhitespace(rest.charAt(WHERE.length()))) {
+            return rest.substring(WHERE.length()).trim();
+        }
+        return null;
+    }
+}
@@ -17,6 +17,7 @@ package io.github.mybatisx.plugin.utils;
 
 import io.github.mybatisx.plugin.exception.MyBatisPluginException;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
@@ -24,6 +25,7 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Proxy;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +41,7 @@ public final class PluginUtil {
 
     private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
     private static final MethodHandle METHOD_HANDLE_ADDITIONAL;
+    private static final MethodHandle METHOD_HANDLE_PARAMETER_MAPPINGS;
 
     static {
         try {
@@ -49,6 +52,14 @@ public final class PluginUtil {
             throw new MyBatisPluginException("Failure to obtain BoundSql attribute additionalParameters："
                 + e.getMessage(), e);
         }
+        try {
+            final Field field = BoundSql.class.getDeclaredField("parameterMappings");
+            field.setAccessible(true);
+            METHOD_HANDLE_PARAMETER_MAPPINGS = LOOKUP.unreflectSetter(field);
+        } catch (Exception e) {
+            throw new MyBatisPluginException("Failure to obtain BoundSql attribute parameterMappings："
+                + e.getMessage(), e);
+        }
     }
 
     /**
@@ -65,6 +76,19 @@ public final class PluginUtil {
         }
     }
 
+    /**
+     * 设置{@link BoundSql}对象parameterMappings属性值
+     * @param bs       {@link BoundSql}对象
+     * @param mappings 参数映射
+     */
+    public static void setParameterMappings(final BoundSql bs, final List<ParameterMapping> mappings) {
+        try {
+            METHOD_HANDLE_PARAMETER_MAPPINGS.invoke(bs, mappings);
+        } catch (Throwable e) {
+            throw new MyBatisPluginException("Failure to set BoundSql attribute value parameterMappings: " + e, e);
+        }
+    }
+
     /**
      * 获取真实对象
      * @param target 目标对象
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.parser;
+
+import io.github.mybatisx.cache.LocalCache;
+import io.github.mybatisx.constant.Constants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+/**
+ * SQL解析结果缓存测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class SqlParseCacheTest {
+
+    @Test
+    public void configureOnceTest() {
+        SqlParseCache.configure(settings("512"));
+        final Object cache = SqlParseCache.getCache();
+        // 相同配置、无相关配置项及不一致配置均保留已有缓存
+        SqlParseCache.configure(settings("512"));
+        Assertions.assertSame(cache, SqlParseCache.getCache());
+        SqlParseCache.configure(new Properties());
+        Assertions.assertSame(cache, SqlParseCache.getCache());
+        SqlParseCache.configure(settings("16"));
+        Assertions.assertSame(cache, SqlParseCache.getCache());
+    }
+
+    @Test
+    public void uncachedParserTest() {
+        final String sql = "SELECT id FROM t_uncached WHERE status = ? ORDER BY id";
+        final long hits = SqlParseCache.getCache().getHitCount();
+        final long misses = SqlParseCache.getCache().getMissCount();
+        final SqlParser parser = new SqlParser(false);
+        Assertions.assertEquals(parser.smartCountParse(sql), parser.smartCountParse(sql));
+        Assertions.assertEquals(hits, SqlParseCache.getCache().getHitCount());
+        Assertions.assertEquals(misses, SqlParseCache.getCache().getMissCount());
+        Assertions.assertEquals(new SqlParser().smartCountParse(sql), parser.smartCountParse(sql));
+    }
+
+    private static Properties settings(final String size) {
+        final Properties properties = new Properties();
+        properties.setProperty(SqlParseCache.PROP_KEY_PREFIX + Constants.DOT
+            + LocalCache.PROP_KEY_CAFFEINE_MAXIMUM_SIZE, size);
+        return properties;
+    }
+}
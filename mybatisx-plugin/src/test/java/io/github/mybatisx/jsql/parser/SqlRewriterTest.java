@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.parser;
+
+import io.github.mybatisx.jsql.handler.RemoveOrderByHandler;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.select.Select;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SQL改写器测试
+ * <p>改写结果经JSqlParser规范化后须与原实现(参数替换、JSqlParser解析、打印语法树、参数还原)一致。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class SqlRewriterTest {
+
+    /**
+     * 须与原实现一致的语句
+     */
+    private static final String[] CORPUS = {
+        "SELECT id FROM t_user WHERE dept_id IN (SELECT id FROM t_dept WHERE state = ?) ORDER BY id",
+        "SELECT t.id FROM (SELECT id, name FROM t_user ORDER BY name) t WHERE t.id > ? ORDER BY t.id DESC",
+        "SELECT u.id FROM t_user u LEFT JOIN (SELECT user_id FROM t_role ORDER BY user_id) r "
+            + "ON r.user_id = u.id ORDER BY u.id",
+        "SELECT id FROM t_user WHERE status = ? UNION SELECT id FROM t_admin WHERE status = ? ORDER BY id",
+        "(SELECT id FROM t_user ORDER BY id) UNION ALL (SELECT id FROM t_admin ORDER BY id)",
+        "WITH a AS (SELECT id FROM t_user ORDER BY id) SELECT id FROM a ORDER BY id DESC",
+        "SELECT id, ROW_NUMBER() OVER (PARTITION BY dept_id ORDER BY created_at) rn FROM t_user ORDER BY id",
+        "SELECT id FROM t_user /* comment */ WHERE status = ? ORDER BY id",
+        "SELECT id FROM t_user WHERE status = #{status} AND name LIKE #{name, jdbcType=VARCHAR} ORDER BY id",
+        "SELECT id FROM t_user WHERE dept_id IN (SELECT id FROM t_dept WHERE state = #{state}) ORDER BY #{sort}",
+        "SELECT id FROM t_user ORDER BY FIELD(status, ?, ?)",
+        "SELECT id FROM t_user WHERE name = 'ORDER BY (x' ORDER BY id",
+        "SELECT COUNT(1) FROM t_user GROUP BY dept_id ORDER BY dept_id",
+    };
+
+    @Test
+    public void removeOrderByCorpusTest() throws Exception {
+        for (String sql : CORPUS) {
+            final String rewrite = SqlRewriter.scan(sql).removeOrderBy();
+            Assertions.assertNotNull(rewrite, sql);
+            Assertions.assertEquals(normalize(baselineRemoveOrderBy(sql)), normalize(rewrite), sql);
+        }
+    }
+
+    @Test
+    public void selectOneCorpusTest() throws Exception {
+        for (String sql : CORPUS) {
+            final String baseline = baselineSelectOne(sql);
+            final String rewrite = SqlRewriter.scan(sql).toSelectOneSql();
+            if (baseline == null) {
+                // 原实现仅支持简单查询(PlainSelect)
+                Assertions.assertNull(rewrite, sql);
+            } else {
+                Assertions.assertNotNull(rewrite, sql);
+                Assertions.assertEquals(normalize(baseline), normalize(rewrite), sql);
+            }
+        }
+    }
+
+    @Test
+    public void keepOrderByWithLimitTest() throws Exception {
+        // 存在LIMIT/OFFSET/FETCH/TOP时排序决定返回的记录，保留(原实现会移除)
+        final String[][] cases = {
+            {"SELECT t.id FROM (SELECT id FROM t_user ORDER BY id DESC LIMIT 10) t ORDER BY t.id",
+                "SELECT t.id FROM (SELECT id FROM t_user ORDER BY id DESC LIMIT 10) t"},
+            {"SELECT t.id FROM (SELECT id FROM t_user ORDER BY id OFFSET 5 ROWS FETCH NEXT 10 ROWS ONLY) t",
+                "SELECT t.id FROM (SELECT id FROM t_user ORDER BY id OFFSET 5 ROWS FETCH NEXT 10 ROWS ONLY) t"},
+            {"SELECT t.id FROM (SELECT TOP 10 id FROM t_user ORDER BY id) t ORDER BY t.id",
+                "SELECT t.id FROM (SELECT TOP 10 id FROM t_user ORDER BY id) t"},
+            {"SELECT id FROM t_user WHERE status = ? ORDER BY id LIMIT ?",
+                "SELECT id FROM t_user WHERE status = ? ORDER BY id LIMIT ?"},
+        };
+        for (String[] it : cases) {
+            Assertions.assertEquals(it[1], SqlRewriter.scan(it[0]).removeOrderBy(), it[0]);
+            Assertions.assertFalse(normalize(baselineRemoveOrderBy(it[0])).contains("ORDER BY id"), it[0]);
+        }
+    }
+
+    @Test
+    public void keepOrderByTest() throws Exception {
+        final String keep = "SELECT id FROM t_user WHERE status = ? ORDER BY id /*keep orderby*/";
+        Assertions.assertEquals(keep, SqlRewriter.scan(keep).removeOrderBy());
+        Assertions.assertEquals(normalize(keep), normalize(baselineRemoveOrderBy(keep)));
+        final String param = "SELECT id FROM (SELECT id FROM t_user ORDER BY FIELD(id, ?)) t ORDER BY id";
+        Assertions.assertEquals("SELECT id FROM (SELECT id FROM t_user ORDER BY FIELD(id, ?)) t",
+            SqlRewriter.scan(param).removeOrderBy());
+    }
+
+    @Test
+    public void placeholderTest() {
+        final String sql = "SELECT u.id, u.name\n  FROM t_user u\n WHERE u.status = #{status,jdbcType=INTEGER}\n"
+            + "   AND u.dept_id IN (SELECT d.id FROM t_dept d WHERE d.name = #{ dept.name })\n ORDER BY u.id";
+        final SqlRewriter rewriter = SqlRewriter.scan(sql);
+        Assertions.assertEquals("SELECT u.id, u.name\n  FROM t_user u\n WHERE u.status = #{status,jdbcType=INTEGER}\n"
+            + "   AND u.dept_id IN (SELECT d.id FROM t_dept d WHERE d.name = #{ dept.name })", rewriter.removeOrderBy());
+        Assertions.assertEquals("SELECT 1 FROM t_user u\n WHERE u.status = #{status,jdbcType=INTEGER}\n"
+            + "   AND u.dept_id IN (SELECT d.id FROM t_dept d WHERE d.name = #{ dept.name })", rewriter.toSelectOneSql());
+    }
+
+    @Test
+    public void failedTest() {
+        for (String sql : new String[]{null, "SELECT id FROM t_user WHERE (status = ?", "SELECT id FROM t_user "
+            + "WHERE name = 'it\\'s' ORDER BY id"}) {
+            Assertions.assertNull(SqlRewriter.scan(sql).removeOrderBy(), sql);
+            Assertions.assertNull(SqlRewriter.scan(sql).toSelectOneSql(), sql);
+        }
+    }
+
+    /**
+     * 原实现移除ORDER BY
+     */
+    private static String baselineRemoveOrderBy(final String sql) {
+        final ParameterParser pp = new ParameterParser(sql);
+        final Select select;
+        try {
+            select = (Select) CCJSqlParserUtil.parse(pp.replace().isReplaced() ? pp.getReplaceSql() : sql);
+            new RemoveOrderByHandler(sql, select).handleTryRemove();
+        } catch (Exception ignore) {
+            return sql;
+        }
+        return pp.restore(select.toString());
+    }
+
+    /**
+     * 原实现转换成select 1语句
+     */
+    private static String baselineSelectOne(final String sql) {
+        final ParameterParser pp = new ParameterParser(sql);
+        try {
+            final Select select = (Select) CCJSqlParserUtil.parse(pp.replace().isReplaced() ? pp.getReplaceSql()
+                : sql);
+            new RemoveOrderByHandler(sql, select).handleTryRemove();
+            return new SqlParser(false).toSelectOneSql(select, pp);
+        } catch (Exception ignore) {
+            return null;
+        }
+    }
+
+    /**
+     * 参数替换后经JSqlParser格式化
+     */
+    private static String normalize(final String sql) throws Exception {
+        final ParameterParser pp = new ParameterParser(sql);
+        return CCJSqlParserUtil.parse(pp.replace().isReplaced() ? pp.getReplaceSql() : sql).toString();
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.jsql.parser;
+
+import io.github.mybatisx.jsql.handler.RemoveOrderByHandler;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.update.Update;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * SQL词法扫描器测试
+ * <p>快速处理结果经JSqlParser规范化后须与纯JSqlParser解析结果一致；无法快速处理的SQL须退回JSqlParser解析。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class SqlScannerTest {
+
+    /**
+     * 可快速处理的查询语句
+     */
+    private static final String[] SELECTS = {
+        "SELECT id, name FROM t_user",
+        "SELECT id, name FROM t_user WHERE status = ?",
+        "select id, name from t_user where status = ? and age > ? order by id desc",
+        "SELECT u.id, u.name FROM t_user u WHERE u.status = ? ORDER BY u.created_at DESC, u.id",
+        "SELECT u.id, r.name FROM t_user u LEFT JOIN t_role r ON r.id = u.role_id WHERE u.status = ? "
+            + "ORDER BY u.id",
+        "SELECT u.id FROM t_user u INNER JOIN t_dept d ON d.id = u.dept_id AND d.state IN (?, ?) "
+            + "WHERE u.name LIKE ? ORDER BY u.id",
+        "SELECT id, `order`, \"from\" FROM t_user WHERE `limit` = ? ORDER BY `order`",
+        "SELECT id FROM t_user WHERE name = 'order by it''s from' AND remark <> 'WHERE ?' ORDER BY id",
+        "SELECT id FROM t_user WHERE (status = ? OR status = ?) AND deleted = 0 ORDER BY id",
+        "SELECT id, order_no, from_date, where_flag FROM t_order WHERE order_no = ? ORDER BY order_no",
+        "SELECT id FROM t_user WHERE status = ?\n  ORDER BY\n  id",
+        "SELECT id FROM t_user ORDER BY FIELD(status, ?, ?), id",
+        "SELECT id FROM t_user WHERE created_at BETWEEN ? AND ? ORDER BY created_at",
+    };
+    /**
+     * 仅部分操作可快速处理的查询语句(总记录数须包装子查询)
+     */
+    private static final String[] PARTIAL_SELECTS = {
+        "SELECT DISTINCT dept_id FROM t_user WHERE status = ? ORDER BY dept_id",
+        "SELECT dept_id, COUNT(1) FROM t_user WHERE status = ? GROUP BY dept_id ORDER BY dept_id",
+        "SELECT dept_id FROM t_user GROUP BY dept_id HAVING COUNT(1) > ? ORDER BY dept_id",
+        "SELECT id, ? AS flag FROM t_user WHERE status = ?",
+        "SELECT COALESCE(nick, name) AS label FROM t_user WHERE id > ?",
+    };
+    /**
+     * 限制返回记录数的查询语句(排序决定返回的记录，须保留ORDER BY)
+     */
+    private static final String[] LIMITED = {
+        "SELECT id FROM t_user WHERE status = ? ORDER BY id LIMIT 10",
+        "SELECT id FROM t_user WHERE status = ? ORDER BY id LIMIT ? OFFSET ?",
+        "SELECT id FROM t_user WHERE status = ? ORDER BY id OFFSET 10 ROWS FETCH NEXT 10 ROWS ONLY",
+        "SELECT id FROM t_user WHERE status = ? ORDER BY id FETCH FIRST 10 ROWS ONLY",
+        "SELECT TOP 10 id FROM t_user WHERE status = ? ORDER BY id",
+        "SELECT DISTINCT TOP 10 dept_id FROM t_user WHERE status = ? ORDER BY dept_id",
+    };
+    /**
+     * 更新、删除语句
+     */
+    private static final String[] MODIFIES = {
+        "UPDATE t_user SET name = ?, status = ? WHERE id = ? AND version = ?",
+        "update t_user u set u.name = ? where u.id in (?, ?)",
+        "DELETE FROM t_user WHERE id = ?",
+        "DELETE FROM t_user WHERE status = ? AND created_at < ?",
+        "UPDATE t_user SET status = 0",
+        "DELETE FROM t_user",
+    };
+    /**
+     * 须退回JSqlParser解析的语句
+     */
+    private static final String[] COMPLEX = {
+        "SELECT id FROM t_user /* keep */ WHERE status = ? ORDER BY id",
+        "SELECT id FROM t_user WHERE status = ? -- comment\n ORDER BY id",
+        "SELECT id FROM t_user WHERE status = ? ORDER BY id /*keep orderby*/",
+        "SELECT id FROM t_user # comment\n WHERE status = ?",
+        "SELECT id FROM ${table} WHERE status = ?",
+        "SELECT id FROM t_user WHERE dept_id IN (SELECT id FROM t_dept WHERE state = ?) ORDER BY id",
+        "SELECT t.id FROM (SELECT id FROM t_user ORDER BY id) t",
+        "SELECT id FROM t_user WHERE status = ? UNION SELECT id FROM t_admin WHERE status = ? ORDER BY id",
+        "SELECT id FROM t_user WHERE status = ? UNION ALL SELECT id FROM t_admin",
+        "WITH a AS (SELECT id FROM t_user) SELECT id FROM a",
+        "SELECT id FROM t_user WHERE status = ? AND order > ?",
+        "SELECT u.from FROM t_user u WHERE u.status = ?",
+        "SELECT id, limit FROM t_user",
+        "SELECT id FROM t_user WHERE name = 'it\\'s' ORDER BY id",
+        "SELECT id FROM t_user ORDER id",
+        "SELECT id FROM t_user WHERE status = ?;",
+        "INSERT INTO t_user (id) VALUES (?)",
+    };
+
+    private final SqlParser parser = new SqlParser(false);
+
+    @Test
+    public void countCorpusTest() throws Exception {
+        for (String sql : SELECTS) {
+            final String fast = SqlScanner.scan(sql).toCountSql("0");
+            Assertions.assertNotNull(fast, sql);
+            Assertions.assertEquals(this.baselineCount(sql), normalize(fast), sql);
+        }
+        for (String sql : PARTIAL_SELECTS) {
+            Assertions.assertNull(SqlScanner.scan(sql).toCountSql("0"), sql);
+            Assertions.assertEquals(this.baselineCount(sql), this.parser.smartCountParse(sql), sql);
+        }
+    }
+
+    @Test
+    public void removeOrderByCorpusTest() throws Exception {
+        for (String sql : SELECTS) {
+            final String fast = SqlScanner.scan(sql).removeOrderBy();
+            Assertions.assertNotNull(fast, sql);
+            Assertions.assertEquals(this.baselineRemoveOrderBy(sql), normalize(fast), sql);
+        }
+        for (String sql : PARTIAL_SELECTS) {
+            final String fast = SqlScanner.scan(sql).removeOrderBy();
+            Assertions.assertNotNull(fast, sql);
+            Assertions.assertEquals(this.baselineRemoveOrderBy(sql), normalize(fast), sql);
+        }
+    }
+
+    @Test
+    public void keepOrderByWithLimitTest() {
+        for (String sql : LIMITED) {
+            final SqlScanner scanner = SqlScanner.scan(sql);
+            Assertions.assertNull(scanner.removeOrderBy(), sql);
+            Assertions.assertNull(scanner.toSelectOneSql(), sql);
+            Assertions.assertNull(scanner.toCountSql("0"), sql);
+            final String result = this.parser.smartRemoveOrderBy(sql);
+            Assertions.assertEquals(SqlRewriter.scan(sql).removeOrderBy(), result, sql);
+            Assertions.assertTrue(result.toUpperCase().contains("ORDER BY"), sql);
+        }
+    }
+
+    @Test
+    public void selectOneCorpusTest() throws Exception {
+        for (String sql : SELECTS) {
+            final String fast = SqlScanner.scan(sql).toSelectOneSql();
+            Assertions.assertNotNull(fast, sql);
+            Assertions.assertEquals(this.baselineSelectOne(sql), normalize(fast), sql);
+        }
+    }
+
+    @Test
+    public void whereConditionCorpusTest() throws Exception {
+        for (String[] group : new String[][]{SELECTS, PARTIAL_SELECTS, MODIFIES}) {
+            for (String sql : group) {
+                final String fast = SqlScanner.scan(sql).whereCondition();
+                Assertions.assertNotNull(fast, sql);
+                final String baseline = this.baselineWhere(sql);
+                if (baseline == null) {
+                    Assertions.assertEquals("", fast, sql);
+                } else {
+                    // 返回原SQL中的条件片段(未经JSqlParser格式化)，语义及参数顺序与JSqlParser解析结果一致
+                    Assertions.assertTrue(sql.contains(fast), sql);
+                    Assertions.assertEquals(baseline, CCJSqlParserUtil.parseCondExpression(fast).toString(), sql);
+                    Assertions.assertEquals(count(baseline, '?'), count(fast, '?'), sql);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void whereConditionRawTest() {
+        Assertions.assertEquals("u.name = ?  and u.id in (?,?)",
+            SqlScanner.scan("update t_user u set u.name = ? where u.name = ?  and u.id in (?,?)").whereCondition());
+        Assertions.assertEquals("u.name = ?  AND u.id IN (?, ?)",
+            this.parser.parseWhereCondition("update t_user u set u.name = ? where u.name = ?  AND u.id IN (?, ?)"));
+        Assertions.assertNull(this.parser.parseWhereCondition("DELETE FROM t_user"));
+    }
+
+    @Test
+    public void bracketQuotedTest() {
+        // JSqlParser(3.2)不支持方括号标识符，原实现退回子查询包装或保留原SQL
+        final SqlScanner scanner = SqlScanner.scan("SELECT [id], [order] FROM [t_user] WHERE [where] = ? ORDER BY [order]");
+        Assertions.assertFalse(scanner.isComplex());
+        Assertions.assertEquals("SELECT COUNT(0) AS RECORDS FROM [t_user] WHERE [where] = ?", scanner.toCountSql("0"));
+        Assertions.assertEquals("SELECT [id], [order] FROM [t_user] WHERE [where] = ?", scanner.removeOrderBy());
+        Assertions.assertEquals("SELECT 1 FROM [t_user] WHERE [where] = ?", scanner.toSelectOneSql());
+        Assertions.assertEquals("[where] = ?", scanner.whereCondition());
+    }
+
+    @Test
+    public void complexTest() throws Exception {
+        for (String sql : COMPLEX) {
+            Assertions.assertTrue(SqlScanner.scan(sql).isComplex(), sql);
+            Assertions.assertNull(SqlScanner.scan(sql).toCountSql("0"), sql);
+            Assertions.assertNull(SqlScanner.scan(sql).removeOrderBy(), sql);
+            Assertions.assertNull(SqlScanner.scan(sql).toSelectOneSql(), sql);
+            Assertions.assertNull(SqlScanner.scan(sql).whereCondition(), sql);
+            Assertions.assertEquals(this.baselineWhere(sql), this.parser.parseWhereCondition(sql), sql);
+        }
+        Assertions.assertTrue(SqlScanner.scan(null).isComplex());
+    }
+
+    /**
+     * JSqlParser解析查询总记录数SQL(原实现)
+     */
+    private String baselineCount(final String sql) {
+        final Select select;
+        try {
+            select = (Select) CCJSqlParserUtil.parse(sql);
+            new RemoveOrderByHandler(sql, select).handleTryRemove();
+        } catch (Exception ignore) {
+            return this.parser.toSimpleQueryRecordSql(sql, "0");
+        }
+        this.parser.toQueryRecordSql(select, "0");
+        return select.toString();
+    }
+
+    /**
+     * JSqlParser移除ORDER BY(原实现)
+     */
+    private String baselineRemoveOrderBy(final String sql) {
+        final ParameterParser pp = new ParameterParser(sql);
+        final Select select;
+        try {
+            select = (Select) CCJSqlParserUtil.parse(pp.replace().isReplaced() ? pp.getReplaceSql() : sql);
+            new RemoveOrderByHandler(sql, select).handleTryRemove();
+        } catch (Exception ignore) {
+            return sql;
+        }
+        return pp.restore(select.toString());
+    }
+
+    /**
+     * JSqlParser转换成select 1语句(原实现)
+     */
+    private String baselineSelectOne(final String sql) throws Exception {
+        final ParameterParser pp = new ParameterParser(sql);
+        final Select select = (Select) CCJSqlParserUtil.parse(pp.replace().isReplaced() ? pp.getReplaceSql() : sql);
+        new RemoveOrderByHandler(sql, select).handleTryRemove();
+        return this.parser.toSelectOneSql(select, pp);
+    }
+
+    /**
+     * JSqlParser解析WHERE条件(原实现)
+     */
+    private String baselineWhere(final String sql) {
+        try {
+            final Statement statement = CCJSqlParserUtil.parse(sql);
+            final Expression where;
+            if (statement instanceof Select) {
+                where = ((PlainSelect) ((Select) statement).getSelectBody()).getWhere();
+            } else if (statement instanceof Update) {
+                where = ((Update) statement).getWhere();
+            } else if (statement instanceof Delete) {
+                where = ((Delete) statement).getWhere();
+            } else {
+                where = null;
+            }
+            return where == null ? null : where.toString();
+        } catch (Exception ignore) {
+            return null;
+        }
+    }
+
+    private static String normalize(final String sql) throws Exception {
+        return CCJSqlParserUtil.parse(sql).toString();
+    }
+
+    private static int count(final String value, final char c) {
+        int count = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == c) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -15,15 +15,23 @@
  */
 package io.github.mybatisx.spring.boot.sequence;
 
+import io.github.mybatisx.basic.keygen.DefaultKeyGenerator;
+import io.github.mybatisx.basic.keygen.KeyGenerator;
+import io.github.mybatisx.basic.keygen.lease.LeaseDistributor;
+import io.github.mybatisx.basic.keygen.segment.DatabaseSegmentAllocator;
+import io.github.mybatisx.basic.keygen.segment.TableSegmentKeyGenerator;
 import io.github.mybatisx.spring.boot.sequence.config.SnowflakeSequenceProperties;
 import io.github.sequence.snowflake.Category;
+import io.github.sequence.snowflake.HighWaterMark;
 import io.github.sequence.snowflake.SnowflakeConfig;
 import io.github.sequence.snowflake.Strategy;
 import io.github.sequence.snowflake.Worker;
 import io.github.sequence.snowflake.core.AtomicStampedSnowflakeSequence;
 import io.github.sequence.snowflake.core.CacheableSnowflakeSequence;
 import io.github.sequence.snowflake.core.DefaultSnowflakeSequence;
+import io.github.sequence.snowflake.core.RingBufferSnowflakeSequence;
 import io.github.sequence.snowflake.core.SnowflakeSequence;
+import io.github.sequence.snowflake.core.StripedSnowflakeSequence;
 import io.github.sequence.snowflake.distributor.DefaultMilliMacDistributor;
 import io.github.sequence.snowflake.distributor.DefaultSecondMacDistributor;
 import io.github.sequence.snowflake.distributor.DefaultMilliDistributor;
@@ -31,6 +39,10 @@ import io.github.sequence.snowflake.distributor.DefaultSecondDistributor;
 import io.github.sequence.snowflake.distributor.Distributor;
 import io.github.sequence.snowflake.distributor.MacDistributor;
 import io.github.sequence.snowflake.distributor.SpecifiedDistributor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -38,6 +50,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+
 /**
  * 雪花算法ID生成器自动注册配置
  * @author wvkity
@@ -46,6 +61,7 @@ import org.springframework.context.annotation.Configuration;
  */
 @Configuration
 @ConditionalOnClass(SnowflakeSequence.class)
+@AutoConfigureAfter(name = "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration")
 @EnableConfigurationProperties(SnowflakeSequenceProperties.class)
 @ConditionalOnProperty(prefix = "github.mybatisx.sequence", name = "enable", havingValue = "true", matchIfMissing = true)
 public class SnowflakeSequenceAutoConfiguration {
@@ -83,14 +99,32 @@ public class SnowflakeSequenceAutoConfiguration {
         }
     }
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "github.mybatisx.sequence", name = "high-water-mark-file")
+    public HighWaterMark highWaterMark() {
+        return new HighWaterMark(Paths.get(this.properties.getHighWaterMarkFile()),
+            this.properties.getHighWaterMarkFlushInterval(), this.properties.getHighWaterMarkReserve());
+    }
+
     @Bean
     @ConditionalOnMissingBean
-    public SnowflakeConfig snowflakeConfig(final Distributor distributor) {
+    public SnowflakeConfig snowflakeConfig(final Distributor distributor,
+                                           final ObjectProvider<HighWaterMark> highWaterMarkProvider) {
         return new SnowflakeConfig(this.properties.getEpochTimestamp(), this.properties.getCacheSize(),
-            this.properties.getCategory(), this.properties.getStrategy(), distributor);
+            this.properties.getCategory(), this.properties.getStrategy(), this.properties.getDriftPolicy(),
+            this.properties.getMaxDrift(), this.properties.getClock().getClock(),
+            highWaterMarkProvider.getIfAvailable(), distributor);
     }
 
-    @Bean
+    /**
+     * 雪花算法ID生成器
+     * <p>声明类型为{@link SnowflakeSequence}，按实际类型推断销毁方法，仅{@link RingBufferSnowflakeSequence}等
+     * 可关闭的实现在容器关闭时调用{@code close()}。</p>
+     * @param snowflakeConfig 雪花算法配置
+     * @return {@link SnowflakeSequence}
+     */
+    @Bean(destroyMethod = AbstractBeanDefinition.INFER_METHOD)
     @ConditionalOnMissingBean
     public SnowflakeSequence snowflakeSequence(SnowflakeConfig snowflakeConfig) {
         final Strategy strategy = snowflakeConfig.getStrategy();
@@ -98,6 +132,10 @@ public class SnowflakeSequenceAutoConfiguration {
             return new AtomicStampedSnowflakeSequence(snowflakeConfig);
         } else if (strategy == Strategy.CACHEABLE) {
             return new CacheableSnowflakeSequence(snowflakeConfig);
+        } else if (strategy == Strategy.RING_BUFFER) {
+            return new RingBufferSnowflakeSequence(snowflakeConfig);
+        } else if (strategy == Strategy.STRIPED) {
+            return new StripedSnowflakeSequence(snowflakeConfig);
         }
         return new DefaultSnowflakeSequence(snowflakeConfig);
     }
@@ -105,4 +143,51 @@ public class SnowflakeSequenceAutoConfiguration {
     public SnowflakeSequenceProperties getProperties() {
         return properties;
     }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.github.mybatisx.basic.keygen.lease.LeaseDistributor")
+    @ConditionalOnBean(DataSource.class)
+    @ConditionalOnProperty(prefix = "github.mybatisx.sequence", name = "worker", havingValue = "LEASE")
+    static class LeaseDistributorConfiguration {
+
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean
+        public Distributor distributor(final SnowflakeSequenceProperties properties, final DataSource dataSource) {
+            final int timestampBits, workerBits, dataCenterBits, sequenceBits;
+            if (properties.isUseDefaultConfig()) {
+                // 与默认分配器位数保持一致
+                final Distributor defaults = properties.getCategory() == Category.SECONDS ?
+                    new DefaultSecondDistributor(0L, 0L) : new DefaultMilliDistributor(0L, 0L);
+                timestampBits = defaults.getTimestampBits();
+                workerBits = defaults.getWorkerBits();
+                dataCenterBits = defaults.getDataCenterBits();
+                sequenceBits = defaults.getSequenceBits();
+            } else {
+                timestampBits = properties.getTimestampBits();
+                workerBits = properties.getWorkerBits();
+                dataCenterBits = properties.getDataCenterBits();
+                sequenceBits = properties.getSequenceBits();
+            }
+            return new LeaseDistributor(dataSource, properties.getLeaseTable(), properties.getLeaseTtl(),
+                properties.isLeaseAutoCreateTable(), timestampBits, workerBits, dataCenterBits, sequenceBits);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "io.github.mybatisx.basic.keygen.segment.TableSegmentKeyGenerator")
+    @ConditionalOnBean(DataSource.class)
+    @ConditionalOnProperty(prefix = "github.mybatisx.sequence", name = "segment-enable", havingValue = "true")
+    static class SegmentKeyGeneratorConfiguration {
+
+        @Bean(destroyMethod = "close")
+        @ConditionalOnMissingBean(KeyGenerator.class)
+        public TableSegmentKeyGenerator segmentKeyGenerator(final SnowflakeSequenceProperties properties,
+                                                            final DataSource dataSource,
+                                                            final SnowflakeSequence snowflakeSequence) {
+            final DatabaseSegmentAllocator allocator = new DatabaseSegmentAllocator(dataSource,
+                properties.getSegmentTable(), properties.isSegmentAutoCreateTable());
+            return new TableSegmentKeyGenerator(new DefaultKeyGenerator(snowflakeSequence), allocator,
+                properties.getSegmentTables(), properties.getSegmentStep(), properties.getSegmentPreloadFactor());
+        }
+    }
 }
@@ -15,11 +15,17 @@
  */
 package io.github.mybatisx.spring.boot.sequence.config;
 
+import io.github.sequence.clock.ClockType;
 import io.github.sequence.snowflake.Category;
+import io.github.sequence.snowflake.DriftPolicy;
+import io.github.sequence.snowflake.HighWaterMark;
 import io.github.sequence.snowflake.Strategy;
 import io.github.sequence.snowflake.Worker;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 /**
  * @author wvkity
  * @created 2021-02-17
@@ -74,13 +80,73 @@ public class SnowflakeSequenceProperties {
      */
     private Strategy strategy = Strategy.DEFAULT;
     /**
-     * 缓存大小(针对: CacheableSnowflakeSequence)
+     * 缓存大小(针对: CacheableSnowflakeSequence/RingBufferSnowflakeSequence)
      */
     private int cacheSize = 50;
     /**
      * 使用默认配置
      */
     private boolean useDefaultConfig;
+    /**
+     * 时钟回拨/序号耗尽处理策略
+     */
+    private DriftPolicy driftPolicy = DriftPolicy.REFUSE;
+    /**
+     * 允许的最大时钟偏移(单位与类别一致)
+     */
+    private long maxDrift = 0L;
+    /**
+     * 时钟类型
+     */
+    private ClockType clock = ClockType.SYSTEM;
+    /**
+     * 租约表(针对: Worker.LEASE)
+     */
+    private String leaseTable = "MYBATISX_WORKER_LEASE";
+    /**
+     * 租约有效期(毫秒，针对: Worker.LEASE)
+     */
+    private long leaseTtl = 60000L;
+    /**
+     * 自动创建租约表(针对: Worker.LEASE)
+     */
+    private boolean leaseAutoCreateTable = true;
+    /**
+     * 时间戳高水位文件(为空则不启用)
+     */
+    private String highWaterMarkFile;
+    /**
+     * 高水位刷盘间隔(毫秒)
+     */
+    private long highWaterMarkFlushInterval = HighWaterMark.DEF_FLUSH_INTERVAL;
+    /**
+     * 高水位每次预留的时间(毫秒)
+     */
+    private long highWaterMarkReserve = HighWaterMark.DEF_RESERVE;
+    /**
+     * 启用号段模式ID生成器(仅作用于{@link #segmentTables}中的表，其余表仍使用雪花算法)
+     */
+    private boolean segmentEnable;
+    /**
+     * 号段表
+     */
+    private String segmentTable = "MYBATISX_ID_SEGMENT";
+    /**
+     * 使用号段模式的表(以表名作为号段业务标识，各表独立计数)
+     */
+    private Set<String> segmentTables = new LinkedHashSet<>();
+    /**
+     * 号段长度
+     */
+    private int segmentStep = 1000;
+    /**
+     * 号段预加载因子(剩余量低于号段长度的该比例时预加载下一号段)
+     */
+    private double segmentPreloadFactor = 0.9D;
+    /**
+     * 自动创建号段表
+     */
+    private boolean segmentAutoCreateTable = true;
 
     public boolean isEnable() {
         return enable;
@@ -185,4 +251,124 @@ public class SnowflakeSequenceProperties {
     public void setUseDefaultConfig(boolean useDefaultConfig) {
         this.useDefaultConfig = useDefaultConfig;
     }
+
+    public DriftPolicy getDriftPolicy() {
+        return driftPolicy;
+    }
+
+    public void setDriftPolicy(DriftPolicy driftPolicy) {
+        this.driftPolicy = driftPolicy;
+    }
+
+    public long getMaxDrift() {
+        return maxDrift;
+    }
+
+    public void setMaxDrift(long maxDrift) {
+        this.maxDrift = maxDrift;
+    }
+
+    public ClockType getClock() {
+        return clock;
+    }
+
+    public void setClock(ClockType clock) {
+        this.clock = clock;
+    }
+
+    public String getLeaseTable() {
+        return leaseTable;
+    }
+
+    public void setLeaseTable(String leaseTable) {
+        this.leaseTable = leaseTable;
+    }
+
+    public long getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(long leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public boolean isLeaseAutoCreateTable() {
+        return leaseAutoCreateTable;
+    }
+
+    public void setLeaseAutoCreateTable(boolean leaseAutoCreateTable) {
+        this.leaseAutoCreateTable = leaseAutoCreateTable;
+    }
+
+    public String getHighWaterMarkFile() {
+        return highWaterMarkFile;
+    }
+
+    public void setHighWaterMarkFile(String highWaterMarkFile) {
+        this.highWaterMarkFile = highWaterMarkFile;
+    }
+
+    public long getHighWaterMarkFlushInterval() {
+        return highWaterMarkFlushInterval;
+    }
+
+    public void setHighWaterMarkFlushInterval(long highWaterMarkFlushInterval) {
+        this.highWaterMarkFlushInterval = highWaterMarkFlushInterval;
+    }
+
+    public long getHighWaterMarkReserve() {
+        return highWaterMarkReserve;
+    }
+
+    public void setHighWaterMarkReserve(long highWaterMarkReserve) {
+        this.highWaterMarkReserve = highWaterMarkReserve;
+    }
+
+    public boolean isSegmentEnable() {
+        return segmentEnable;
+    }
+
+    public void setSegmentEnable(boolean segmentEnable) {
+        this.segmentEnable = segmentEnable;
+    }
+
+    public String getSegmentTable() {
+        return segmentTable;
+    }
+
+    public void setSegmentTable(String segmentTable) {
+        this.segmentTable = segmentTable;
+    }
+
+    public Set<String> getSegmentTables() {
+        return segmentTables;
+    }
+
+    public void setSegmentTables(Set<String> segmentTables) {
+        this.segmentTables = segmentTables;
+    }
+
+    public int getSegmentStep() {
+        return segmentStep;
+    }
+
+    public void setSegmentStep(int segmentStep) {
+        this.segmentStep = segmentStep;
+    }
+
+    public double getSegmentPreloadFactor() {
+        return segmentPreloadFactor;
+    }
+
+    public void setSegmentPreloadFactor(double segmentPreloadFactor) {
+        this.segmentPreloadFactor = segmentPreloadFactor;
+    }
+
+    public boolean isSegmentAutoCreateTable() {
+        return segmentAutoCreateTable;
+    }
+
+    public void setSegmentAutoCreateTable(boolean segmentAutoCreateTable) {
+        this.segmentAutoCreateTable = segmentAutoCreateTable;
+    }
 }
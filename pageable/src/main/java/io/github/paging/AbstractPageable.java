@@ -90,6 +90,14 @@ public abstract class AbstractPageable implements Pageable {
      * 结束页码
      */
     protected long end;
+    /**
+     * 是否存在下一页(未查询总记录数时由分页查询结果决定)
+     */
+    protected Boolean hasNext;
+    /**
+     * 总记录数查询策略
+     */
+    protected CountStrategy countStrategy;
 
     /**
      * 构造方法
@@ -217,6 +225,7 @@ public abstract class AbstractPageable implements Pageable {
     @Override
     public void setRecords(long records) {
         this.records = Math.max(records, DEF_ZERO);
+        this.hasNext = null;
         this.calculateTotal();
     }
 
@@ -259,10 +268,28 @@ public abstract class AbstractPageable implements Pageable {
 
     @Override
     public boolean isHasNext() {
+        if (this.hasNext != null) {
+            return this.hasNext;
+        }
         return this.records > DEF_ZERO && this.page > DEF_ZERO && (this.page + DEF_ONE) > DEF_ZERO
             && this.page < this.totals;
     }
 
+    @Override
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    @Override
+    public CountStrategy getCountStrategy() {
+        return this.countStrategy;
+    }
+
+    @Override
+    public void setCountStrategy(CountStrategy countStrategy) {
+        this.countStrategy = countStrategy;
+    }
+
 
     ///// Static methods /////
 
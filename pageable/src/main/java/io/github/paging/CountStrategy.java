@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.paging;
+
+/**
+ * 总记录数查询策略
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public enum CountStrategy {
+
+    /**
+     * 精确查询(COUNT)
+     */
+    EXACT,
+    /**
+     * 不查询总记录数，多查询一条记录判断是否存在下一页
+     */
+    NONE,
+    /**
+     * 按SQL及参数缓存总记录数(过期后重新查询)
+     */
+    CACHED,
+    /**
+     * 读取数据库执行计划估算行数(不支持的数据库退化为精确查询)
+     */
+    ESTIMATED
+}
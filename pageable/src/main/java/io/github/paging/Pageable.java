@@ -109,4 +109,28 @@ public interface Pageable extends Serializable {
      */
     boolean isHasNext();
 
+    /**
+     * 设置是否存在下一页(不查询总记录数时使用)
+     * @param hasNext 是否存在下一页
+     */
+    default void setHasNext(final boolean hasNext) {
+        // 默认不处理
+    }
+
+    /**
+     * 获取总记录数查询策略
+     * @return {@link CountStrategy}，为空时使用全局配置
+     */
+    default CountStrategy getCountStrategy() {
+        return null;
+    }
+
+    /**
+     * 设置总记录数查询策略
+     * @param countStrategy {@link CountStrategy}
+     */
+    default void setCountStrategy(final CountStrategy countStrategy) {
+        // 默认不处理
+    }
+
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.sequence.benchmark;
+
+import io.github.sequence.clock.Clock;
+import io.github.sequence.clock.ClockType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时钟读取性能对比
+ * @author wvkity
+ * @created 2021-08-23
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClockBenchmark {
+
+    @Param({"SYSTEM", "CACHED", "MONOTONIC", "SCHEDULED"})
+    private ClockType type;
+    private Clock clock;
+
+    @Setup
+    public void setup() {
+        this.clock = this.type.getClock();
+    }
+
+    @Benchmark
+    public long now() {
+        return this.clock.now();
+    }
+
+    /**
+     * 统计读取值落后于系统时间的情况(结果见辅助计数器)
+     * @param counters {@link LagCounters}
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void lag(final LagCounters counters) {
+        final long value = this.clock.now();
+        final long lag = System.currentTimeMillis() - value;
+        counters.reads++;
+        if (lag > 0) {
+            counters.staleReads++;
+            counters.lagMillis += lag;
+        }
+    }
+
+    /**
+     * 时钟偏差计数器(lagMillis / staleReads即平均落后毫秒数)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class LagCounters {
+        /**
+         * 读取次数
+         */
+        public long reads;
+        /**
+         * 读取值落后于系统时间的次数
+         */
+        public long staleReads;
+        /**
+         * 累计落后时间(毫秒)
+         */
+        public long lagMillis;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.reads = 0L;
+            this.staleReads = 0L;
+            this.lagMillis = 0L;
+        }
+    }
+}
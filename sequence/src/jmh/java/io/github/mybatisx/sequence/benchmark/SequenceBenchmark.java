@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.sequence.benchmark;
+
+import io.github.sequence.snowflake.Category;
+import io.github.sequence.snowflake.SnowflakeConfig;
+import io.github.sequence.snowflake.Strategy;
+import io.github.sequence.snowflake.core.AtomicStampedSnowflakeSequence;
+import io.github.sequence.snowflake.core.CacheableSnowflakeSequence;
+import io.github.sequence.snowflake.core.DefaultSnowflakeSequence;
+import io.github.sequence.snowflake.core.RingBufferSnowflakeSequence;
+import io.github.sequence.snowflake.core.SnowflakeSequence;
+import io.github.sequence.snowflake.core.StripedSnowflakeSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 雪花算法ID生成策略性能对比
+ * <p>吞吐量与延迟分布(SampleTime模式输出p99)分别在1/4/16/64线程下测量，运行时附加GC分析器统计分配速率。
+ * 注：秒级类别每秒可用序号有限，高并发下主要反映等待下一时间窗口的开销。</p>
+ * @author wvkity
+ * @created 2021-08-27
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+
+    @Param({"DEFAULT", "ATOMIC", "CACHEABLE", "RING_BUFFER", "STRIPED"})
+    private Strategy strategy;
+    @Param({"MILLISECONDS", "SECONDS"})
+    private Category category;
+    private SnowflakeSequence sequence;
+
+    @Setup
+    public void setup() {
+        final SnowflakeConfig config = this.category == Category.SECONDS ?
+            SnowflakeConfig.secondSnowflakeConfig(this.strategy) : SnowflakeConfig.millisSnowflakeConfig(this.strategy);
+        switch (this.strategy) {
+            case ATOMIC:
+                this.sequence = new AtomicStampedSnowflakeSequence(config);
+                break;
+            case CACHEABLE:
+                this.sequence = new CacheableSnowflakeSequence(config);
+                break;
+            case RING_BUFFER:
+                this.sequence = new RingBufferSnowflakeSequence(config);
+                break;
+            case STRIPED:
+                this.sequence = new StripedSnowflakeSequence(config);
+                break;
+            default:
+                this.sequence = new DefaultSnowflakeSequence(config);
+                break;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long threads1() {
+        return this.sequence.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long threads4() {
+        return this.sequence.nextId();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long threads16() {
+        return this.sequence.nextId();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public long threads64() {
+        return this.sequence.nextId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SequenceBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
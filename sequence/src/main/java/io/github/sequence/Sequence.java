@@ -39,4 +39,25 @@ public interface Sequence extends Serializable {
         return String.valueOf(this.nextId());
     }
 
+    /**
+     * 批量生成ID
+     * @param size 数量
+     * @return ID数组
+     */
+    default long[] nextIds(final int size) {
+        final long[] ids = new long[Math.max(size, 0)];
+        this.fill(ids);
+        return ids;
+    }
+
+    /**
+     * 生成ID并填充至指定数组
+     * @param dst 目标数组
+     */
+    default void fill(final long[] dst) {
+        for (int i = 0, size = dst.length; i < size; i++) {
+            dst[i] = this.nextId();
+        }
+    }
+
 }
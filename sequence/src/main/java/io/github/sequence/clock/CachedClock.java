@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.clock;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 自适应缓存时钟
+ * <p>后台线程按周期刷新缓存时间，连续多个周期无读取时挂起刷新线程，下次读取时再唤醒，
+ * 唤醒期间直接读取{@link System#currentTimeMillis()}。</p>
+ * <p>缓存时间只增不减(直接读取与刷新均按最大值推进)，因此读取结果单调不减；系统时钟回拨时保持不变，直至系统时钟追上。</p>
+ * @author wvkity
+ * @created 2021-08-23
+ * @since 1.0.0
+ */
+public class CachedClock implements Clock {
+
+    /**
+     * 默认空闲周期数
+     */
+    public static final int DEF_IDLE_TICKS = 1000;
+    private static final AtomicLongFieldUpdater<CachedClock> NOW_UPDATER =
+        AtomicLongFieldUpdater.newUpdater(CachedClock.class, "now");
+    private final long periodNanos;
+    private final int idleTicks;
+    private final Thread ticker;
+    private volatile long now;
+    private volatile boolean accessed;
+    private volatile boolean sleeping;
+
+    public CachedClock(long period) {
+        this(period, DEF_IDLE_TICKS);
+    }
+
+    public CachedClock(long period, int idleTicks) {
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(period, 1L));
+        this.idleTicks = Math.max(idleTicks, 1);
+        this.now = System.currentTimeMillis();
+        this.ticker = new Thread(this::tick, "CACHED CLOCK");
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    private void tick() {
+        int idle = 0;
+        for (; ; ) {
+            this.advance(System.currentTimeMillis());
+            LockSupport.parkNanos(this, this.periodNanos);
+            if (this.accessed) {
+                this.accessed = false;
+                idle = 0;
+            } else if (++idle >= this.idleTicks) {
+                this.sleeping = true;
+                if (!this.accessed) {
+                    LockSupport.park(this);
+                }
+                this.advance(System.currentTimeMillis());
+                this.sleeping = false;
+                idle = 0;
+            }
+        }
+    }
+
+    @Override
+    public long now() {
+        if (!this.accessed) {
+            this.accessed = true;
+        }
+        if (this.sleeping) {
+            LockSupport.unpark(this.ticker);
+            return this.advance(System.currentTimeMillis());
+        }
+        return this.now;
+    }
+
+    /**
+     * 推进缓存时间(仅向前推进)
+     * @param timestamp 读取的系统时间
+     * @return 推进后的缓存时间
+     */
+    private long advance(final long timestamp) {
+        long current;
+        while ((current = this.now) < timestamp) {
+            if (NOW_UPDATER.compareAndSet(this, current, timestamp)) {
+                return timestamp;
+            }
+        }
+        return current;
+    }
+
+    ///// Inner class /////
+
+    private static final class SingletonHolder {
+        protected static final CachedClock INSTANCE = new CachedClock(1L);
+    }
+
+    public static CachedClock getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
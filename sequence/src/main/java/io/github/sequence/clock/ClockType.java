@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.clock;
+
+/**
+ * 时钟类型
+ * @author wvkity
+ * @created 2021-08-23
+ * @since 1.0.0
+ */
+public enum ClockType {
+
+    /**
+     * 系统时钟
+     * @see SystemClock
+     */
+    SYSTEM,
+    /**
+     * 自适应缓存时钟
+     * @see CachedClock
+     */
+    CACHED,
+    /**
+     * 单调时钟
+     * @see MonotonicClock
+     */
+    MONOTONIC,
+    /**
+     * 定时刷新毫秒时钟
+     * @see MillisecondsClock
+     */
+    SCHEDULED;
+
+    /**
+     * 获取对应的时钟实例
+     * @return {@link Clock}
+     */
+    public Clock getClock() {
+        switch (this) {
+            case SYSTEM:
+                return SystemClock.INSTANCE;
+            case MONOTONIC:
+                return MonotonicClock.getInstance();
+            case SCHEDULED:
+                return MillisecondsClock.getInstance();
+            default:
+                return CachedClock.getInstance();
+        }
+    }
+}
@@ -25,7 +25,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * @created 2021-02-17
  * @since 1.0.0
  */
-public class MillisecondsClock {
+public class MillisecondsClock implements Clock {
 
     private final long period;
     private final AtomicLong now;
@@ -45,6 +45,7 @@ public class MillisecondsClock {
             this.period, this.period, TimeUnit.MILLISECONDS);
     }
 
+    @Override
     public long now() {
         return this.now.get();
     }
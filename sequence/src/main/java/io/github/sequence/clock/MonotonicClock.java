@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单调时钟
+ * <p>以创建时的{@link System#currentTimeMillis()}为锚点，通过{@link System#nanoTime()}推算当前时间，
+ * 不受系统时间回拨影响，但长期运行时可能与墙上时钟存在偏差。</p>
+ * @author wvkity
+ * @created 2021-08-23
+ * @since 1.0.0
+ */
+public class MonotonicClock implements Clock {
+
+    private final long anchorMillis;
+    private final long anchorNanos;
+
+    public MonotonicClock() {
+        this.anchorMillis = System.currentTimeMillis();
+        this.anchorNanos = System.nanoTime();
+    }
+
+    @Override
+    public long now() {
+        return this.anchorMillis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.anchorNanos);
+    }
+
+    ///// Inner class /////
+
+    private static final class SingletonHolder {
+        protected static final MonotonicClock INSTANCE = new MonotonicClock();
+    }
+
+    public static MonotonicClock getInstance() {
+        return SingletonHolder.INSTANCE;
+    }
+}
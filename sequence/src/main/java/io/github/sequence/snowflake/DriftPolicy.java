@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.snowflake;
+
+/**
+ * 时钟回拨/序号耗尽处理策略
+ * @author wvkity
+ * @created 2021-08-22
+ * @since 1.0.0
+ */
+public enum DriftPolicy {
+
+    /**
+     * 拒绝(时钟回拨时直接抛出异常)
+     */
+    REFUSE,
+    /**
+     * 借用(时钟回拨或序号耗尽时在最大偏移范围内借用未来时间戳)
+     */
+    BORROW,
+    /**
+     * 等待(时钟回拨时在最大偏移范围内挂起等待时钟追上)
+     */
+    WAIT
+}
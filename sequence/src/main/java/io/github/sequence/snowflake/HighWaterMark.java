@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.snowflake;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 时间戳高水位持久化
+ * <p>通过内存映射文件记录已预留的最大时间戳(毫秒)，写入仅为内存操作，由后台线程定期刷盘；
+ * 重启后ID生成器从该水位之上继续生成，避免时钟回拨导致ID重复。文件被截断或内容损坏(标识不匹配、水位非正数)时视为无水位并在下次
+ * 更新时重写。</p>
+ * @author wvkity
+ * @created 2021-08-25
+ * @since 1.0.0
+ */
+public class HighWaterMark implements Closeable, Serializable {
+
+    private static final long serialVersionUID = 4102675312389440823L;
+    private static final long MAGIC = 0x4D594258484D4B31L;
+    private static final int SIZE = 16;
+    /**
+     * 默认刷盘间隔(毫秒)
+     */
+    public static final long DEF_FLUSH_INTERVAL = 100L;
+    /**
+     * 默认预留时间(毫秒)
+     */
+    public static final long DEF_RESERVE = 10L;
+    private final Path file;
+    private final long flushInterval;
+    private final long reserve;
+    private final transient FileChannel channel;
+    private final transient MappedByteBuffer buffer;
+    private final transient ScheduledThreadPoolExecutor flusher;
+    private final long initialMark;
+    private volatile long mark;
+    private volatile boolean dirty;
+
+    public HighWaterMark(Path file) {
+        this(file, DEF_FLUSH_INTERVAL, DEF_RESERVE);
+    }
+
+    public HighWaterMark(Path file, long flushInterval, long reserve) {
+        this.file = file;
+        this.flushInterval = flushInterval <= 0 ? DEF_FLUSH_INTERVAL : flushInterval;
+        this.reserve = reserve <= 0 ? DEF_RESERVE : reserve;
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            // 映射会将不足的部分补零，需在映射前判断是否被截断
+            final boolean truncated = this.channel.size() < SIZE;
+            this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+            this.initialMark = truncated ? -1L : readMark(this.buffer);
+        } catch (IOException e) {
+            throw new SnowflakeException("Failed to map high water mark file: " + file, e);
+        }
+        this.mark = this.initialMark;
+        this.flusher = new ScheduledThreadPoolExecutor(1, it -> {
+            final Thread thread = new Thread(it, "HIGH WATER MARK FLUSHER");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flush, this.flushInterval, this.flushInterval,
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 更新水位(仅写入内存映射区域)
+     * @param millis 时间戳(毫秒)
+     */
+    public synchronized void update(final long millis) {
+        if (millis > this.mark) {
+            this.buffer.putLong(8, millis);
+            this.buffer.putLong(0, MAGIC);
+            this.mark = millis;
+            this.dirty = true;
+        }
+    }
+
+    /**
+     * 刷盘
+     */
+    public void flush() {
+        if (this.dirty) {
+            this.dirty = false;
+            this.buffer.force();
+        }
+    }
+
+    @Override
+    public void close() {
+        this.flusher.shutdownNow();
+        this.flush();
+        try {
+            this.channel.close();
+        } catch (IOException e) {
+            throw new SnowflakeException("Failed to close high water mark file: " + this.file, e);
+        }
+    }
+
+    private static long readMark(final MappedByteBuffer buffer) {
+        if (buffer.getLong(0) != MAGIC) {
+            return -1L;
+        }
+        final long mark = buffer.getLong(8);
+        return mark > 0 ? mark : -1L;
+    }
+
+    /**
+     * 获取启动时读取到的水位
+     * @return 时间戳(毫秒)，不存在时返回-1
+     */
+    public long getInitialMark() {
+        return initialMark;
+    }
+
+    public long getMark() {
+        return mark;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public long getReserve() {
+        return reserve;
+    }
+}
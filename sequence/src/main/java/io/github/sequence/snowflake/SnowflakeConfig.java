@@ -17,8 +17,10 @@ package io.github.sequence.snowflake;
 
 import io.github.sequence.snowflake.distributor.DefaultSecondMacDistributor;
 import io.github.sequence.snowflake.distributor.Distributor;
-import io.github.sequence.clock.MillisecondsClock;
+import io.github.sequence.clock.Clock;
+import io.github.sequence.clock.ClockType;
 import io.github.sequence.snowflake.distributor.DefaultMilliMacDistributor;
+import io.github.sequence.snowflake.distributor.LeasedDistributor;
 
 import java.util.concurrent.TimeUnit;
 
@@ -67,6 +69,14 @@ public class SnowflakeConfig {
     private final long dataCenterId;
     private final int cacheSize;
     private final Distributor distributor;
+    private final LeasedDistributor leasedDistributor;
+    // clock drift
+    private final DriftPolicy driftPolicy;
+    private final long maxDrift;
+    // clock
+    private final Clock clock;
+    // high water mark
+    private final HighWaterMark highWaterMark;
 
     public SnowflakeConfig(long epochTimestamp, Category category, Distributor distributor) {
         this(epochTimestamp, DEF_CACHE_SIZE, category, Strategy.CACHEABLE, distributor);
@@ -79,6 +89,56 @@ public class SnowflakeConfig {
 
     public SnowflakeConfig(long epochTimestamp, int cacheSize, Category category,
                            Strategy strategy, Distributor distributor) {
+        this(epochTimestamp, cacheSize, category, strategy, DriftPolicy.REFUSE, 0L, distributor);
+    }
+
+    /**
+     * 构造方法
+     * @param epochTimestamp 开始时间
+     * @param cacheSize      缓存大小
+     * @param category       {@link Category}
+     * @param strategy       {@link Strategy}
+     * @param driftPolicy    {@link DriftPolicy}
+     * @param maxDrift       允许的最大时钟偏移(借用/等待时间上限，单位与{@link Category}一致)
+     * @param distributor    {@link Distributor}
+     */
+    public SnowflakeConfig(long epochTimestamp, int cacheSize, Category category, Strategy strategy,
+                           DriftPolicy driftPolicy, long maxDrift, Distributor distributor) {
+        this(epochTimestamp, cacheSize, category, strategy, driftPolicy, maxDrift, ClockType.SYSTEM.getClock(),
+            distributor);
+    }
+
+    /**
+     * 构造方法
+     * @param epochTimestamp 开始时间
+     * @param cacheSize      缓存大小
+     * @param category       {@link Category}
+     * @param strategy       {@link Strategy}
+     * @param driftPolicy    {@link DriftPolicy}
+     * @param maxDrift       允许的最大时钟偏移(借用/等待时间上限，单位与{@link Category}一致)
+     * @param clock          {@link Clock}
+     * @param distributor    {@link Distributor}
+     */
+    public SnowflakeConfig(long epochTimestamp, int cacheSize, Category category, Strategy strategy,
+                           DriftPolicy driftPolicy, long maxDrift, Clock clock, Distributor distributor) {
+        this(epochTimestamp, cacheSize, category, strategy, driftPolicy, maxDrift, clock, null, distributor);
+    }
+
+    /**
+     * 构造方法
+     * @param epochTimestamp 开始时间
+     * @param cacheSize      缓存大小
+     * @param category       {@link Category}
+     * @param strategy       {@link Strategy}
+     * @param driftPolicy    {@link DriftPolicy}
+     * @param maxDrift       允许的最大时钟偏移(借用/等待时间上限，单位与{@link Category}一致)
+     * @param clock          {@link Clock}
+     * @param highWaterMark  {@link HighWaterMark}(可为空)
+     * @param distributor    {@link Distributor}
+     */
+    public SnowflakeConfig(long epochTimestamp, int cacheSize, Category category, Strategy strategy,
+                           DriftPolicy driftPolicy, long maxDrift, Clock clock, HighWaterMark highWaterMark,
+                           Distributor distributor) {
 
         this.distributor = distributor;
         this.timestampBits = distributor.getTimestampBits();
@@ -94,15 +154,21 @@ public class SnowflakeConfig {
         this.cacheSize = cacheSize < 1 ? DEF_CACHE_SIZE : cacheSize;
         this.category = category;
         this.strategy = strategy;
+        this.driftPolicy = driftPolicy == null ? DriftPolicy.REFUSE : driftPolicy;
+        this.maxDrift = Math.max(maxDrift, 0L);
+        this.clock = clock == null ? ClockType.SYSTEM.getClock() : clock;
+        this.highWaterMark = highWaterMark;
         this.timeUnit = this.category == Category.SECONDS ? TimeUnit.SECONDS : TimeUnit.MILLISECONDS;
         this.workerId = distributor.getWorkerId();
         this.dataCenterId = distributor.getDataCenterId();
+        this.leasedDistributor = distributor instanceof LeasedDistributor ? (LeasedDistributor) distributor : null;
         this.maxDeltaTime = ~(-1L << this.timestampBits);
         this.maxWorkerId = ~(-1L << this.workerBits);
         this.maxDataCenterId = ~(-1L << this.dataCenterBits);
         this.maxSequence = ~(-1L << this.sequenceBits);
         this.timestampShift = this.workerBits + this.dataCenterBits + sequenceBits;
-        this.dataCenterIdShift = this.workerBits + this.dataCenterBits;
+        // 位布局: [时间戳 | 数据中心ID | 机器ID | 序号]，与SnowflakeParser解析方式一致
+        this.dataCenterIdShift = this.workerBits + sequenceBits;
         this.workerIdShift = sequenceBits;
         this.validate();
     }
@@ -119,7 +185,7 @@ public class SnowflakeConfig {
     }
 
     public Long getTimestamp() {
-        final long timestamp = this.timeUnit.convert(MillisecondsClock.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        final long timestamp = this.timeUnit.convert(this.clock.now(), TimeUnit.MILLISECONDS);
         if ((timestamp - this.epochTimestamp) > this.maxDeltaTime) {
             throw new SnowflakeException("Timestamp bits is exhausted. Refusing UID generate. Now: " + timestamp);
         }
@@ -133,6 +199,12 @@ public class SnowflakeConfig {
      * @return ID
      */
     public long allocate(final long deltaTime, long sequence) {
+        if (this.leasedDistributor != null) {
+            // 租约失效时抛出异常，租约重新申请后槽位可能变化
+            final long slot = this.leasedDistributor.getLeasedSlot();
+            return (deltaTime << this.timestampShift) | ((slot >>> this.workerBits) << this.dataCenterIdShift)
+                | ((slot & this.maxWorkerId) << this.workerIdShift) | sequence;
+        }
         return (deltaTime << this.timestampShift) | (this.dataCenterId << this.dataCenterIdShift)
             | (this.workerId << this.workerIdShift) | sequence;
     }
@@ -197,6 +269,22 @@ public class SnowflakeConfig {
         return distributor;
     }
 
+    public DriftPolicy getDriftPolicy() {
+        return driftPolicy;
+    }
+
+    public long getMaxDrift() {
+        return maxDrift;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    public HighWaterMark getHighWaterMark() {
+        return highWaterMark;
+    }
+
     ////// Static methods //////
 
     public static SnowflakeConfig secondSnowflakeConfig(Strategy strategy) {
@@ -244,6 +332,20 @@ public class SnowflakeConfig {
             Category.MILLISECONDS, strategy, distributor);
     }
 
+    public static SnowflakeConfig secondSnowflakeConfig(long epochTimestamp, int cacheSize, Strategy strategy,
+                                                        DriftPolicy driftPolicy, long maxDrift,
+                                                        Distributor distributor) {
+        return new SnowflakeConfig(epochTimestamp, cacheSize, Category.SECONDS, strategy, driftPolicy, maxDrift,
+            distributor);
+    }
+
+    public static SnowflakeConfig millisSnowflakeConfig(long epochTimestamp, int cacheSize, Strategy strategy,
+                                                        DriftPolicy driftPolicy, long maxDrift,
+                                                        Distributor distributor) {
+        return new SnowflakeConfig(epochTimestamp, cacheSize, Category.MILLISECONDS, strategy, driftPolicy,
+            maxDrift, distributor);
+    }
+
 
     public static SnowflakeConfig secondSnowflakeConfig() {
         return secondSnowflakeConfig(0L, DEF_CACHE_SIZE);
@@ -18,7 +18,9 @@ package io.github.sequence.snowflake;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -29,10 +31,31 @@ import java.util.stream.Stream;
  */
 public class SnowflakeParser {
 
+    /**
+     * 并行解析时每个分片的最小ID数量
+     */
+    public static final int PARALLEL_CHUNK_SIZE = 1 << 16;
     private final SnowflakeConfig config;
+    // shift & mask for columnar decoding
+    private final int timestampShift;
+    private final int dataCenterIdShift;
+    private final int workerIdShift;
+    private final long dataCenterIdMask;
+    private final long workerIdMask;
+    private final long sequenceMask;
+    private final long epochTimestamp;
+    private final boolean seconds;
 
     public SnowflakeParser(SnowflakeConfig config) {
         this.config = config;
+        this.workerIdShift = config.getSequenceBits();
+        this.dataCenterIdShift = config.getSequenceBits() + config.getWorkerBits();
+        this.timestampShift = this.dataCenterIdShift + config.getDataCenterBits();
+        this.dataCenterIdMask = ~(-1L << config.getDataCenterBits());
+        this.workerIdMask = ~(-1L << config.getWorkerBits());
+        this.sequenceMask = ~(-1L << config.getSequenceBits());
+        this.epochTimestamp = config.getEpochTimestamp();
+        this.seconds = config.getTimeUnit() == TimeUnit.SECONDS;
     }
 
     public SnowflakeSequenceInfo parse(final String id) {
@@ -66,4 +89,93 @@ public class SnowflakeParser {
         return ids == null || ids.isEmpty() ? new ArrayList<>(0) : this.parse(ids.toArray(new Long[0]));
     }
 
+    /**
+     * 按列批量解析ID(无对象分配)
+     * <p>结果写入调用方提供的数组中，不需要的列可传入null。</p>
+     * @param ids           ID数组
+     * @param timestamps    时间戳数组(毫秒)
+     * @param dataCenterIds 数据中心ID数组
+     * @param workerIds     机器ID数组
+     * @param sequences     序号数组
+     */
+    public void parse(final long[] ids, final long[] timestamps, final long[] dataCenterIds,
+                      final long[] workerIds, final long[] sequences) {
+        if (ids != null) {
+            this.parse(ids, 0, ids.length, timestamps, dataCenterIds, workerIds, sequences);
+        }
+    }
+
+    /**
+     * 按列解析指定范围内的ID(无对象分配)
+     * @param ids           ID数组
+     * @param from          起始位置(包含)
+     * @param to            结束位置(不包含)
+     * @param timestamps    时间戳数组(毫秒)
+     * @param dataCenterIds 数据中心ID数组
+     * @param workerIds     机器ID数组
+     * @param sequences     序号数组
+     */
+    public void parse(final long[] ids, final int from, final int to, final long[] timestamps,
+                      final long[] dataCenterIds, final long[] workerIds, final long[] sequences) {
+        if (timestamps != null) {
+            final long epoch = this.epochTimestamp;
+            final int shift = this.timestampShift;
+            if (this.seconds) {
+                for (int i = from; i < to; i++) {
+                    timestamps[i] = ((ids[i] >>> shift) + epoch) * 1000L;
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    timestamps[i] = (ids[i] >>> shift) + epoch;
+                }
+            }
+        }
+        if (dataCenterIds != null) {
+            final int shift = this.dataCenterIdShift;
+            final long mask = this.dataCenterIdMask;
+            for (int i = from; i < to; i++) {
+                dataCenterIds[i] = (ids[i] >>> shift) & mask;
+            }
+        }
+        if (workerIds != null) {
+            final int shift = this.workerIdShift;
+            final long mask = this.workerIdMask;
+            for (int i = from; i < to; i++) {
+                workerIds[i] = (ids[i] >>> shift) & mask;
+            }
+        }
+        if (sequences != null) {
+            final long mask = this.sequenceMask;
+            for (int i = from; i < to; i++) {
+                sequences[i] = ids[i] & mask;
+            }
+        }
+    }
+
+    /**
+     * 按列并行批量解析ID(适用于大批量数据)
+     * @param ids           ID数组
+     * @param timestamps    时间戳数组(毫秒)
+     * @param dataCenterIds 数据中心ID数组
+     * @param workerIds     机器ID数组
+     * @param sequences     序号数组
+     */
+    public void parallelParse(final long[] ids, final long[] timestamps, final long[] dataCenterIds,
+                              final long[] workerIds, final long[] sequences) {
+        if (ids == null) {
+            return;
+        }
+        final int size = ids.length;
+        if (size <= PARALLEL_CHUNK_SIZE) {
+            this.parse(ids, 0, size, timestamps, dataCenterIds, workerIds, sequences);
+            return;
+        }
+        final int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(it -> {
+            final int from = it * PARALLEL_CHUNK_SIZE;
+            this.parse(ids, from, Math.min(from + PARALLEL_CHUNK_SIZE, size), timestamps, dataCenterIds,
+                workerIds, sequences);
+        });
+    }
+
 }
@@ -25,5 +25,7 @@ public enum Strategy {
 
     ATOMIC,
     CACHEABLE,
-    DEFAULT
+    DEFAULT,
+    RING_BUFFER,
+    STRIPED
 }
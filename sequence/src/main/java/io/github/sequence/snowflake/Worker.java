@@ -29,5 +29,9 @@ public enum Worker {
     /**
      * 直接指定
      */
-    SPECIFIED
+    SPECIFIED,
+    /**
+     * 根据数据库租约分配
+     */
+    LEASE
 }
@@ -15,6 +15,8 @@
  */
 package io.github.sequence.snowflake.core;
 
+import io.github.sequence.snowflake.DriftPolicy;
+import io.github.sequence.snowflake.HighWaterMark;
 import io.github.sequence.snowflake.SnowflakeConfig;
 import io.github.sequence.snowflake.SnowflakeException;
 import io.github.sequence.snowflake.SnowflakeParser;
@@ -22,6 +24,9 @@ import io.github.sequence.snowflake.SnowflakeSequenceInfo;
 
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * 抽象雪花ID生成器
@@ -31,21 +36,75 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public abstract class AbstractSnowflakeSequence {
 
+    /**
+     * 最小挂起时间(纳秒)
+     */
+    protected static final long MIN_PARK_NANOS = 50000L;
     protected long sequence = 0L;
     protected long lastTimestamp = -1L;
     protected final SnowflakeConfig config;
     protected final SnowflakeParser parser;
+    /**
+     * 借用的未来时间(单位与{@link io.github.sequence.snowflake.Category}一致)
+     */
+    protected final LongAdder borrowedTime = new LongAdder();
+    /**
+     * 容忍的时钟回拨次数(按回拨事件计数)
+     */
+    protected final LongAdder backwardsCount = new LongAdder();
+    /**
+     * 当前回拨区间的恢复时间戳(时钟追上该值之前视为同一次回拨)
+     */
+    protected volatile long driftMark = -1L;
+    /**
+     * 当前回拨区间内最近读取的时钟值
+     */
+    protected volatile long driftObserved = -1L;
+    /**
+     * 挂起等待总时间(纳秒)
+     */
+    protected final LongAdder waitNanos = new LongAdder();
+    /**
+     * 时间戳高水位
+     */
+    protected final HighWaterMark highWaterMark;
+    /**
+     * 每次预留的时间跨度(单位与{@link io.github.sequence.snowflake.Category}一致)
+     */
+    protected final long reserveAhead;
+    /**
+     * 已预留的最大时间戳
+     */
+    protected volatile long reservedTimestamp = -1L;
 
     public AbstractSnowflakeSequence(SnowflakeConfig config) {
         this.config = config;
         this.parser = new SnowflakeParser(config);
+        this.highWaterMark = config.getHighWaterMark();
+        if (this.highWaterMark != null) {
+            final TimeUnit timeUnit = config.getTimeUnit();
+            this.reserveAhead = Math.max(timeUnit.convert(this.highWaterMark.getReserve(), TimeUnit.MILLISECONDS), 1L);
+            final long initialMark = this.highWaterMark.getInitialMark();
+            if (initialMark > 0) {
+                // 从上次运行预留的水位之上继续生成
+                final long mark = timeUnit.convert(initialMark, TimeUnit.MILLISECONDS);
+                this.lastTimestamp = mark;
+                this.sequence = config.getMaxSequence();
+                this.reservedTimestamp = mark;
+                final long now = config.getTimestamp();
+                if (now <= mark && mark - now <= this.reserveAhead) {
+                    this.await(mark + 1);
+                }
+            }
+        } else {
+            this.reserveAhead = 0L;
+        }
     }
 
     protected long nextValue() {
         long newTimestamp = this.config.getTimestamp();
         if (newTimestamp < lastTimestamp) {
-            throw new SnowflakeException(String.format("Clock moved backwards. Refusing for %s timeStamp",
-                lastTimestamp - newTimestamp));
+            newTimestamp = this.tolerate(lastTimestamp, newTimestamp);
         }
         if (newTimestamp == this.lastTimestamp) {
             this.sequence = (this.sequence + 1) & this.config.getMaxSequence();
@@ -56,17 +115,145 @@ public abstract class AbstractSnowflakeSequence {
             this.sequence = ThreadLocalRandom.current().nextLong(1, 3);
         }
         this.lastTimestamp = newTimestamp;
+        this.reserve(newTimestamp);
         return config.allocate(newTimestamp - this.config.getEpochTimestamp(), sequence);
     }
 
+    /**
+     * 批量生成ID(同一时间戳内一次性预留连续序号)
+     * @param dst 目标数组
+     */
+    protected void nextValues(final long[] dst) {
+        final long maxSequence = this.config.getMaxSequence();
+        int index = 0;
+        final int size = dst.length;
+        while (index < size) {
+            long newTimestamp = this.config.getTimestamp();
+            if (newTimestamp < lastTimestamp) {
+                newTimestamp = this.tolerate(lastTimestamp, newTimestamp);
+            }
+            long from;
+            if (newTimestamp == this.lastTimestamp) {
+                if (this.sequence >= maxSequence) {
+                    newTimestamp = tilNextMills(lastTimestamp);
+                    from = ThreadLocalRandom.current().nextLong(1, 3);
+                } else {
+                    from = this.sequence + 1;
+                }
+            } else {
+                from = ThreadLocalRandom.current().nextLong(1, 3);
+            }
+            final long to = Math.min(maxSequence, from + (size - index) - 1);
+            this.reserve(newTimestamp);
+            final long prefix = config.allocate(newTimestamp - this.config.getEpochTimestamp(), 0L);
+            for (long seq = from; seq <= to; seq++) {
+                dst[index++] = prefix | seq;
+            }
+            this.sequence = to;
+            this.lastTimestamp = newTimestamp;
+        }
+    }
+
+    /**
+     * 预留时间戳高水位(每{@link #reserveAhead}仅写入一次内存映射区域)
+     * @param timestamp 即将使用的时间戳
+     */
+    protected void reserve(final long timestamp) {
+        if (this.highWaterMark != null && timestamp > this.reservedTimestamp) {
+            final long reserved = timestamp + this.reserveAhead;
+            this.highWaterMark.update(this.config.getTimeUnit().toMillis(reserved));
+            this.reservedTimestamp = reserved;
+        }
+    }
+
+    /**
+     * 获取下一个时间戳(序号耗尽时调用)
+     * @param lastTimestamp 上次时间戳
+     * @return 时间戳
+     */
     protected long tilNextMills(final long lastTimestamp) {
+        final long timestamp = this.getTimestamp();
+        if (timestamp > lastTimestamp) {
+            return timestamp;
+        }
+        final long next = lastTimestamp + 1;
+        if (this.config.getDriftPolicy() == DriftPolicy.BORROW && next - timestamp <= this.config.getMaxDrift()) {
+            // 借用未来时间戳
+            this.borrowedTime.increment();
+            this.driftMark = Math.max(this.driftMark, next);
+            this.driftObserved = timestamp;
+            return next;
+        }
+        return this.await(next);
+    }
+
+    /**
+     * 时钟回拨处理
+     * @param lastTimestamp 上次时间戳
+     * @param newTimestamp  当前时间戳
+     * @return 可用时间戳
+     */
+    protected long tolerate(final long lastTimestamp, final long newTimestamp) {
+        final long offset = lastTimestamp - newTimestamp;
+        final DriftPolicy policy = this.config.getDriftPolicy();
+        if (policy != DriftPolicy.REFUSE && offset <= this.config.getMaxDrift()) {
+            if (newTimestamp >= this.driftMark || newTimestamp < this.driftObserved) {
+                // 时钟已越过上次回拨区间或再次回拨，记为新的回拨事件
+                this.backwardsCount.increment();
+                this.driftMark = lastTimestamp;
+            } else {
+                this.driftMark = Math.max(this.driftMark, lastTimestamp);
+            }
+            this.driftObserved = newTimestamp;
+            // 借用模式沿用上次时间戳，等待模式挂起至时钟追上
+            return policy == DriftPolicy.BORROW ? lastTimestamp : this.await(lastTimestamp);
+        }
+        throw new SnowflakeException(String.format("Clock moved backwards. Refusing for %s timeStamp", offset));
+    }
+
+    /**
+     * 挂起等待直至时间戳不小于目标时间戳
+     * @param target 目标时间戳
+     * @return 时间戳
+     */
+    protected long await(final long target) {
         long timestamp = this.getTimestamp();
-        while (timestamp <= lastTimestamp) {
-            timestamp = this.getTimestamp();
+        if (timestamp < target) {
+            final long begin = System.nanoTime();
+            do {
+                LockSupport.parkNanos(Math.max(this.config.getTimeUnit().toNanos(target - timestamp) >>> 4,
+                    MIN_PARK_NANOS));
+                timestamp = this.getTimestamp();
+            } while (timestamp < target);
+            this.waitNanos.add(System.nanoTime() - begin);
         }
         return timestamp;
     }
 
+    /**
+     * 获取借用的未来时间总量
+     * @return 借用时间(单位与{@link io.github.sequence.snowflake.Category}一致)
+     */
+    public long getBorrowedTime() {
+        return this.borrowedTime.sum();
+    }
+
+    /**
+     * 获取容忍的时钟回拨次数(同一次回拨期间的多次调用只计一次)
+     * @return 回拨次数
+     */
+    public long getBackwardsCount() {
+        return this.backwardsCount.sum();
+    }
+
+    /**
+     * 获取挂起等待总时间
+     * @return 等待时间(纳秒)
+     */
+    public long getWaitNanos() {
+        return this.waitNanos.sum();
+    }
+
     public SnowflakeSequenceInfo parse(final long id) {
         return this.parser.parse(id);
     }
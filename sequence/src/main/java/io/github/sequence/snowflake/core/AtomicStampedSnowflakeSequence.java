@@ -16,7 +16,6 @@
 package io.github.sequence.snowflake.core;
 
 import io.github.sequence.snowflake.SnowflakeConfig;
-import io.github.sequence.snowflake.SnowflakeException;
 
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicStampedReference;
@@ -31,10 +30,11 @@ import java.util.concurrent.atomic.AtomicStampedReference;
 public class AtomicStampedSnowflakeSequence extends AbstractSnowflakeSequence implements SnowflakeSequence {
 
     private static final long serialVersionUID = -8220000012403745019L;
-    private final AtomicStampedReference<Long> reference = new AtomicStampedReference<>(-1L, 0);
+    private final AtomicStampedReference<Long> reference;
 
     public AtomicStampedSnowflakeSequence(SnowflakeConfig config) {
         super(config);
+        this.reference = new AtomicStampedReference<>(this.lastTimestamp, (int) this.sequence);
     }
 
     @Override
@@ -46,8 +46,7 @@ public class AtomicStampedSnowflakeSequence extends AbstractSnowflakeSequence im
             oldSequence = this.reference.getStamp();
             newTimestamp = this.getTimestamp();
             if (newTimestamp < oldTimestamp) {
-                throw new SnowflakeException(String.format("Clock moved backwards. Refusing for %s timeStamp",
-                    oldTimestamp - newTimestamp));
+                newTimestamp = this.tolerate(oldTimestamp, newTimestamp);
             }
             if (newTimestamp.longValue() == oldTimestamp.longValue()) {
                 newSequence = (int) ((oldSequence + 1) & this.config.getMaxSequence());
@@ -61,9 +60,48 @@ public class AtomicStampedSnowflakeSequence extends AbstractSnowflakeSequence im
                 oldSequence, newSequence)) {
                 this.lastTimestamp = newTimestamp;
                 this.sequence = newSequence;
+                this.reserve(newTimestamp);
                 return this.config.allocate(newTimestamp - this.config.getEpochTimestamp(), newSequence);
             }
         }
     }
 
+    @Override
+    public void fill(long[] dst) {
+        final long maxSequence = this.config.getMaxSequence();
+        final int size = dst.length;
+        int index = 0;
+        Long newTimestamp, oldTimestamp;
+        int from, to, oldSequence;
+        while (index < size) {
+            oldTimestamp = this.reference.getReference();
+            oldSequence = this.reference.getStamp();
+            newTimestamp = this.getTimestamp();
+            if (newTimestamp < oldTimestamp) {
+                newTimestamp = this.tolerate(oldTimestamp, newTimestamp);
+            }
+            if (newTimestamp.longValue() == oldTimestamp.longValue()) {
+                if (oldSequence >= maxSequence) {
+                    newTimestamp = tilNextMills(oldTimestamp);
+                    from = ThreadLocalRandom.current().nextInt(1, 3);
+                } else {
+                    from = oldSequence + 1;
+                }
+            } else {
+                from = ThreadLocalRandom.current().nextInt(1, 3);
+            }
+            to = (int) Math.min(maxSequence, from + (size - index) - 1L);
+            // 一次CAS预留[from, to]区间内的全部序号
+            if (this.reference.compareAndSet(oldTimestamp, newTimestamp, oldSequence, to)) {
+                this.lastTimestamp = newTimestamp;
+                this.sequence = to;
+                this.reserve(newTimestamp);
+                final long prefix = this.config.allocate(newTimestamp - this.config.getEpochTimestamp(), 0L);
+                for (long seq = from; seq <= to; seq++) {
+                    dst[index++] = prefix | seq;
+                }
+            }
+        }
+    }
+
 }
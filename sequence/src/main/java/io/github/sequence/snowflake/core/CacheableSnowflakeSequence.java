@@ -54,6 +54,26 @@ public class CacheableSnowflakeSequence extends AbstractSnowflakeSequence implem
         return id;
     }
 
+    @Override
+    public void fill(long[] dst) {
+        final int size = dst.length;
+        int index = 0;
+        Long id;
+        while (index < size && (id = this.queue.poll()) != null) {
+            dst[index++] = id;
+        }
+        if (index < size) {
+            final long[] values = new long[size - index];
+            final long stamp = this.lock.writeLock();
+            try {
+                this.nextValues(values);
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+            System.arraycopy(values, 0, dst, index, values.length);
+        }
+    }
+
     private void batchGenerated(final int size) {
         for (int i = 0; i < size; i++) {
             this.queue.offer(this.nextValue());
@@ -45,4 +45,14 @@ public class DefaultSnowflakeSequence extends AbstractSnowflakeSequence implemen
         return id;
     }
 
+    @Override
+    public void fill(long[] dst) {
+        final long stamp = this.lock.writeLock();
+        try {
+            this.nextValues(dst);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
 }
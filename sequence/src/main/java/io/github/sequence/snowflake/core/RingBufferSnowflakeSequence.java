@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.snowflake.core;
+
+import io.github.sequence.snowflake.SnowflakeConfig;
+
+import java.io.Closeable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 环形缓冲区雪花算法ID生成器
+ * <p>预先生成ID并存放于{@code long[]}环形缓冲区中，获取ID时仅需一次CAS操作；当剩余可用ID低于阈值时由后台线程异步填充。
+ * 后台线程空闲超时后自动退出，不再使用时应调用{@link #close()}释放线程池，关闭后缓冲区耗尽时改为同步填充。</p>
+ * @author wvkity
+ * @created 2021-08-20
+ * @since 1.0.0
+ */
+public class RingBufferSnowflakeSequence extends AbstractSnowflakeSequence implements SnowflakeSequence, Closeable {
+
+    private static final long serialVersionUID = 3524907839372178506L;
+    /**
+     * 默认填充阈值百分比
+     */
+    public static final int DEF_PADDING_FACTOR = 50;
+    /**
+     * 填充线程空闲存活时间(毫秒)
+     */
+    private static final long KEEP_ALIVE_TIME = 60000L;
+    private final int bufferSize;
+    private final long indexMask;
+    private final int paddingThreshold;
+    private final long[] slots;
+    /**
+     * 已写入的最后位置
+     */
+    private final AtomicLong tail = new AtomicLong(-1L);
+    /**
+     * 已读取的最后位置
+     */
+    private final AtomicLong cursor = new AtomicLong(-1L);
+    private final AtomicBoolean padding = new AtomicBoolean(false);
+    private final ReentrantLock paddingLock = new ReentrantLock();
+    private final transient ThreadPoolExecutor executor;
+
+    public RingBufferSnowflakeSequence(SnowflakeConfig config) {
+        this(config, DEF_PADDING_FACTOR);
+    }
+
+    public RingBufferSnowflakeSequence(SnowflakeConfig config, int paddingFactor) {
+        super(config);
+        if (paddingFactor <= 0 || paddingFactor >= 100) {
+            throw new IllegalArgumentException("paddingFactor must be in (0, 100)");
+        }
+        this.bufferSize = tableSizeFor(Math.max(config.getCacheSize(), 2));
+        this.indexMask = this.bufferSize - 1;
+        this.paddingThreshold = this.bufferSize * paddingFactor / 100;
+        this.slots = new long[this.bufferSize];
+        this.executor = new ThreadPoolExecutor(1, 1, KEEP_ALIVE_TIME, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(), it -> {
+            final Thread thread = new Thread(it, "SNOWFLAKE RING BUFFER PADDING");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+        this.paddingBuffer();
+    }
+
+    @Override
+    public long nextId() {
+        long current, next, id;
+        for (; ; ) {
+            current = this.cursor.get();
+            next = current + 1;
+            if (next > this.tail.get()) {
+                // 缓冲区已耗尽，同步填充
+                this.paddingBuffer();
+                continue;
+            }
+            // 先读后CAS: CAS成功说明该槽位在读取期间未被覆盖
+            id = this.slots[(int) (next & this.indexMask)];
+            if (this.cursor.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        if (this.tail.get() - next < this.paddingThreshold) {
+            this.asyncPaddingBuffer();
+        }
+        return id;
+    }
+
+    /**
+     * 异步填充缓冲区
+     */
+    private void asyncPaddingBuffer() {
+        if (this.padding.compareAndSet(false, true)) {
+            try {
+                this.executor.execute(() -> {
+                    try {
+                        this.paddingBuffer();
+                    } finally {
+                        this.padding.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // 已关闭，缓冲区耗尽时由nextId同步填充
+                this.padding.set(false);
+            }
+        }
+    }
+
+    /**
+     * 填充缓冲区
+     */
+    private void paddingBuffer() {
+        this.paddingLock.lock();
+        try {
+            long next = this.tail.get() + 1;
+            while (next - this.cursor.get() <= this.bufferSize) {
+                this.slots[(int) (next & this.indexMask)] = this.nextValue();
+                this.tail.set(next);
+                next++;
+            }
+        } finally {
+            this.paddingLock.unlock();
+        }
+    }
+
+    /**
+     * 关闭后台填充线程池
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    private static int tableSizeFor(final int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(capacity - 1);
+        return n < 0 ? 1 : (n >= (1 << 30)) ? (1 << 30) : n + 1;
+    }
+
+}
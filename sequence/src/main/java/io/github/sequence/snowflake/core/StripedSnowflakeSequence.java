@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.snowflake.core;
+
+import io.github.sequence.snowflake.SnowflakeConfig;
+import io.github.sequence.snowflake.SnowflakeException;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 分段雪花算法ID生成器
+ * <p>将序号位拆分为[分段号 | 分段内序号]两部分，线程按哈希分配到不同分段，各分段独立CAS递增，
+ * 分段号不同则ID必然不同，从而在高并发下降低CAS冲突。</p>
+ * @author wvkity
+ * @created 2021-08-21
+ * @since 1.0.0
+ */
+public class StripedSnowflakeSequence extends AbstractSnowflakeSequence implements SnowflakeSequence {
+
+    private static final long serialVersionUID = -3076528871512263180L;
+    /**
+     * 分段内序号最少保留位数
+     */
+    public static final int MIN_LOCAL_SEQUENCE_BITS = 4;
+    /**
+     * 每个分段状态占用的槽位数(64字节缓存行，避免伪共享)
+     */
+    private static final int PADDING_SHIFT = 3;
+    private final int stripes;
+    private final int stripeMask;
+    private final int localSequenceBits;
+    private final long localSequenceMask;
+    /**
+     * 分段状态: (时间差 << localSequenceBits) | 分段内序号
+     */
+    private final AtomicLongArray states;
+
+    public StripedSnowflakeSequence(SnowflakeConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StripedSnowflakeSequence(SnowflakeConfig config, int stripes) {
+        super(config);
+        final int maxStripeBits = config.getSequenceBits() - MIN_LOCAL_SEQUENCE_BITS;
+        if (maxStripeBits < 0) {
+            throw new SnowflakeException("Sequence bits must be at least %d.", MIN_LOCAL_SEQUENCE_BITS);
+        }
+        final int stripeBits = Math.min(32 - Integer.numberOfLeadingZeros(Math.max(stripes, 1) - 1), maxStripeBits);
+        this.stripes = 1 << stripeBits;
+        this.stripeMask = this.stripes - 1;
+        this.localSequenceBits = config.getSequenceBits() - stripeBits;
+        this.localSequenceMask = ~(-1L << this.localSequenceBits);
+        this.states = new AtomicLongArray(this.stripes << PADDING_SHIFT);
+        if (this.lastTimestamp > 0) {
+            // 恢复高水位: 各分段从水位时间戳的最大序号开始
+            final long state = ((this.lastTimestamp - config.getEpochTimestamp()) << this.localSequenceBits)
+                | this.localSequenceMask;
+            for (int i = 0; i < this.stripes; i++) {
+                this.states.set(i << PADDING_SHIFT, state);
+            }
+        }
+    }
+
+    @Override
+    public long nextId() {
+        int stripe = this.stripeOf(Thread.currentThread()), exhausted = 0;
+        long oldState, oldDeltaTime, newDeltaTime, newSequence;
+        for (; ; ) {
+            final int index = stripe << PADDING_SHIFT;
+            oldState = this.states.get(index);
+            oldDeltaTime = oldState >>> this.localSequenceBits;
+            newDeltaTime = this.getTimestamp() - this.config.getEpochTimestamp();
+            if (newDeltaTime < oldDeltaTime) {
+                newDeltaTime = this.tolerate(oldDeltaTime + this.config.getEpochTimestamp(),
+                    newDeltaTime + this.config.getEpochTimestamp()) - this.config.getEpochTimestamp();
+            }
+            if (newDeltaTime == oldDeltaTime) {
+                newSequence = (oldState + 1) & this.localSequenceMask;
+                if (newSequence == 0) {
+                    if (++exhausted < this.stripes) {
+                        // 当前分段序号耗尽，优先尝试其他分段
+                        stripe = (stripe + 1) & this.stripeMask;
+                        continue;
+                    }
+                    // 所有分段均已耗尽，等待下一个时间戳
+                    exhausted = 0;
+                    newDeltaTime = this.tilNextMills(oldDeltaTime + this.config.getEpochTimestamp())
+                        - this.config.getEpochTimestamp();
+                }
+            } else {
+                newSequence = 0L;
+            }
+            if (this.states.compareAndSet(index, oldState, (newDeltaTime << this.localSequenceBits) | newSequence)) {
+                this.reserve(newDeltaTime + this.config.getEpochTimestamp());
+                return this.config.allocate(newDeltaTime, ((long) stripe << this.localSequenceBits) | newSequence);
+            }
+            // 存在竞争，切换至下一个分段
+            stripe = (stripe + 1) & this.stripeMask;
+        }
+    }
+
+    @Override
+    public void fill(long[] dst) {
+        final int size = dst.length;
+        int stripe = this.stripeOf(Thread.currentThread()), index = 0, exhausted = 0;
+        long oldState, oldDeltaTime, newDeltaTime, from, to;
+        while (index < size) {
+            final int slot = stripe << PADDING_SHIFT;
+            oldState = this.states.get(slot);
+            oldDeltaTime = oldState >>> this.localSequenceBits;
+            newDeltaTime = this.getTimestamp() - this.config.getEpochTimestamp();
+            if (newDeltaTime < oldDeltaTime) {
+                newDeltaTime = this.tolerate(oldDeltaTime + this.config.getEpochTimestamp(),
+                    newDeltaTime + this.config.getEpochTimestamp()) - this.config.getEpochTimestamp();
+            }
+            if (newDeltaTime == oldDeltaTime) {
+                from = (oldState & this.localSequenceMask) + 1;
+                if (from > this.localSequenceMask) {
+                    if (++exhausted < this.stripes) {
+                        stripe = (stripe + 1) & this.stripeMask;
+                        continue;
+                    }
+                    exhausted = 0;
+                    newDeltaTime = this.tilNextMills(oldDeltaTime + this.config.getEpochTimestamp())
+                        - this.config.getEpochTimestamp();
+                    from = 0L;
+                }
+            } else {
+                from = 0L;
+            }
+            to = Math.min(this.localSequenceMask, from + (size - index) - 1);
+            if (this.states.compareAndSet(slot, oldState, (newDeltaTime << this.localSequenceBits) | to)) {
+                this.reserve(newDeltaTime + this.config.getEpochTimestamp());
+                final long prefix = this.config.allocate(newDeltaTime, (long) stripe << this.localSequenceBits);
+                for (long seq = from; seq <= to; seq++) {
+                    dst[index++] = prefix | seq;
+                }
+                exhausted = 0;
+            } else {
+                stripe = (stripe + 1) & this.stripeMask;
+            }
+        }
+    }
+
+    private int stripeOf(final Thread thread) {
+        long h = thread.getId() * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & this.stripeMask;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public int getLocalSequenceBits() {
+        return localSequenceBits;
+    }
+
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.sequence.snowflake.distributor;
+
+/**
+ * 基于租约的分配器
+ * <p>机器ID-数据中心ID仅在租约有效期内独占，租约失效(续约失败超过有效期或被其他节点接管)后必须停止生成ID；
+ * 重新申请租约后机器ID-数据中心ID可能发生变化。</p>
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public interface LeasedDistributor extends Distributor {
+
+    /**
+     * 获取当前租约槽位(数据中心ID &lt;&lt; 机器标识位数 | 机器ID)
+     * @return 槽位
+     * @throws io.github.sequence.snowflake.SnowflakeException 租约已失效
+     */
+    long getLeasedSlot();
+}
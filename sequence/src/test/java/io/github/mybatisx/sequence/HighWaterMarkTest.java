@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.sequence;
+
+import io.github.sequence.snowflake.Category;
+import io.github.sequence.snowflake.DriftPolicy;
+import io.github.sequence.snowflake.HighWaterMark;
+import io.github.sequence.snowflake.SnowflakeConfig;
+import io.github.sequence.snowflake.SnowflakeException;
+import io.github.sequence.snowflake.Strategy;
+import io.github.sequence.snowflake.core.DefaultSnowflakeSequence;
+import io.github.sequence.snowflake.distributor.DefaultMilliDistributor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 时间戳高水位重启安全测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class HighWaterMarkTest {
+
+    private static final long NOW = 1630108800000L;
+    private static final long MAGIC = 0x4D594258484D4B31L;
+    @TempDir
+    Path dir;
+
+    @Test
+    public void restartTest() {
+        final Path file = this.dir.resolve("hwm");
+        // 每次读取时钟前进1毫秒
+        final AtomicLong time = new AtomicLong(NOW);
+        final Set<Long> ids = new HashSet<>();
+        long last;
+        try (final HighWaterMark mark = new HighWaterMark(file, 100L, 10L)) {
+            Assertions.assertEquals(-1L, mark.getInitialMark());
+            last = this.issue(mark, time, ids, -1L);
+        }
+        // 重启后时钟位于水位之下(预留范围内)，等待时钟越过水位后继续生成
+        try (final HighWaterMark mark = new HighWaterMark(file, 100L, 10L)) {
+            Assertions.assertTrue(mark.getInitialMark() >= time.get());
+            time.set(mark.getInitialMark() - 5L);
+            last = this.issue(mark, time, ids, last);
+        }
+        // 回拨超过预留范围时拒绝生成，而非生成重复ID
+        try (final HighWaterMark mark = new HighWaterMark(file, 100L, 10L)) {
+            final long stored = mark.getInitialMark();
+            time.set(stored - 60000L);
+            Assertions.assertThrows(SnowflakeException.class, () -> this.issue(mark, time, ids, -1L));
+            // 拒绝生成不会降低水位
+            time.set(stored + 1L);
+            this.issue(mark, time, ids, last);
+        }
+    }
+
+    @Test
+    public void corruptFileTest() throws IOException {
+        final Path file = this.dir.resolve("hwm");
+        final long mark = NOW + 1000L;
+        // 截断的文件(标识完整但水位不完整)
+        Files.write(file, ByteBuffer.allocate(12).putLong(MAGIC).putInt((int) (mark >>> 32)).array());
+        this.assertIgnored(file);
+        // 标识不匹配
+        Files.write(file, ByteBuffer.allocate(16).putLong(~MAGIC).putLong(mark).array());
+        this.assertIgnored(file);
+        // 水位非正数
+        Files.write(file, ByteBuffer.allocate(16).putLong(MAGIC).putLong(-mark).array());
+        this.assertIgnored(file);
+        // 空文件
+        Files.write(file, new byte[0]);
+        this.assertIgnored(file);
+        // 完整文件
+        Files.write(file, ByteBuffer.allocate(16).putLong(MAGIC).putLong(mark).array());
+        try (final HighWaterMark it = new HighWaterMark(file)) {
+            Assertions.assertEquals(mark, it.getInitialMark());
+        }
+    }
+
+    private void assertIgnored(final Path file) {
+        final AtomicLong time = new AtomicLong(NOW);
+        try (final HighWaterMark mark = new HighWaterMark(file)) {
+            Assertions.assertEquals(-1L, mark.getInitialMark());
+            // 损坏的文件在下次更新时重写
+            this.issue(mark, time, new HashSet<>(), -1L);
+        }
+        try (final HighWaterMark mark = new HighWaterMark(file)) {
+            Assertions.assertTrue(mark.getInitialMark() > NOW);
+        }
+    }
+
+    /**
+     * 生成一批ID并校验不重复、不回退
+     * @return 最后一个ID
+     */
+    private long issue(final HighWaterMark mark, final AtomicLong time, final Set<Long> ids, final long after) {
+        final DefaultSnowflakeSequence sequence = new DefaultSnowflakeSequence(new SnowflakeConfig(0L, 0,
+            Category.MILLISECONDS, Strategy.DEFAULT, DriftPolicy.REFUSE, 0L, time::getAndIncrement, mark,
+            new DefaultMilliDistributor(1L, 1L)));
+        long last = after;
+        for (int i = 0; i < 1000; i++) {
+            final long id = sequence.nextId();
+            Assertions.assertTrue(id > last, "id went backwards: " + id + " <= " + last);
+            Assertions.assertTrue(ids.add(id), "duplicate id: " + id);
+            last = id;
+        }
+        return last;
+    }
+}
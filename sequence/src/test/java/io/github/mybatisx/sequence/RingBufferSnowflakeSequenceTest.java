@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.sequence;
+
+import io.github.sequence.snowflake.SnowflakeConfig;
+import io.github.sequence.snowflake.Strategy;
+import io.github.sequence.snowflake.core.RingBufferSnowflakeSequence;
+import io.github.sequence.snowflake.distributor.DefaultMilliDistributor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 环形缓冲区雪花算法ID生成器测试
+ * @author wvkity
+ * @created 2021-08-28
+ * @since 1.0.0
+ */
+public class RingBufferSnowflakeSequenceTest {
+
+    private static final int THREADS = 16;
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void concurrentTest() throws InterruptedException {
+        // 小缓冲区使并发获取期间多次触发同步及异步填充
+        try (final RingBufferSnowflakeSequence sequence = create(64)) {
+            final Set<Long> ids = ConcurrentHashMap.newKeySet(THREADS * ITERATIONS);
+            final List<Throwable> errors = new ArrayList<>();
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch end = new CountDownLatch(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                new Thread(() -> {
+                    try {
+                        start.await();
+                        long last = -1L;
+                        for (int j = 0; j < ITERATIONS; j++) {
+                            final long id = sequence.nextId();
+                            // 同一线程获取的ID严格递增
+                            Assertions.assertTrue(id > last, "id went backwards: " + id + " <= " + last);
+                            Assertions.assertTrue(ids.add(id), "duplicate id: " + id);
+                            last = id;
+                        }
+                    } catch (Throwable e) {
+                        synchronized (errors) {
+                            errors.add(e);
+                        }
+                    } finally {
+                        end.countDown();
+                    }
+                }).start();
+            }
+            start.countDown();
+            Assertions.assertTrue(end.await(60, TimeUnit.SECONDS));
+            Assertions.assertTrue(errors.isEmpty(), () -> errors.get(0).toString());
+            Assertions.assertEquals(THREADS * ITERATIONS, ids.size());
+        }
+    }
+
+    @Test
+    public void closeTest() {
+        final RingBufferSnowflakeSequence sequence = create(8);
+        long last = sequence.nextId();
+        sequence.close();
+        // 关闭后缓冲区耗尽时同步填充
+        for (int i = 0; i < 100; i++) {
+            final long id = sequence.nextId();
+            Assertions.assertTrue(id > last);
+            last = id;
+        }
+    }
+
+    private static RingBufferSnowflakeSequence create(final int cacheSize) {
+        return new RingBufferSnowflakeSequence(SnowflakeConfig.millisSnowflakeConfig(0L, cacheSize,
+            Strategy.RING_BUFFER, new DefaultMilliDistributor(1L, 1L)));
+    }
+}
@@ -20,6 +20,7 @@ import io.github.sequence.snowflake.Strategy;
 import io.github.sequence.snowflake.core.AtomicStampedSnowflakeSequence;
 import io.github.sequence.snowflake.core.CacheableSnowflakeSequence;
 import io.github.sequence.snowflake.core.DefaultSnowflakeSequence;
+import io.github.sequence.snowflake.core.RingBufferSnowflakeSequence;
 import io.github.sequence.snowflake.core.SnowflakeSequence;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -79,5 +80,12 @@ public class SequenceApp {
         log.info("{}", atomicSeq.parse(atomicSeq.nextId()).toJsonString());*/
     }
 
+    @Test
+    public void ringBufferSequenceTest() {
+        final SnowflakeSequence ringSeq = new RingBufferSnowflakeSequence(SnowflakeConfig.millisSnowflakeConfig(Strategy.RING_BUFFER));
+        for (int i = 0; i < 100; i++) {
+            log.info("id = {}", ringSeq.nextId());
+        }
+    }
 
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2020, wvkity(wvkity@gmail.com).
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package io.github.mybatisx.sequence;
+
+import io.github.sequence.snowflake.SnowflakeConfig;
+import io.github.sequence.snowflake.Strategy;
+import io.github.sequence.snowflake.core.AtomicStampedSnowflakeSequence;
+import io.github.sequence.snowflake.core.SnowflakeSequence;
+import io.github.sequence.snowflake.core.StripedSnowflakeSequence;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
+
+/**
+ * 高并发ID生成竞争测试
+ * @author wvkity
+ * @created 2021-08-21
+ * @since 1.0.0
+ */
+public class SequenceContentionApp {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenceContentionApp.class);
+    private static final int[] THREADS = {1, 4, 16, 32, 64};
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void atomicContentionTest() throws InterruptedException {
+        this.contention("atomic", () ->
+            new AtomicStampedSnowflakeSequence(SnowflakeConfig.millisSnowflakeConfig(Strategy.ATOMIC)));
+    }
+
+    @Test
+    public void stripedContentionTest() throws InterruptedException {
+        this.contention("striped", () ->
+            new StripedSnowflakeSequence(SnowflakeConfig.millisSnowflakeConfig(Strategy.STRIPED)));
+    }
+
+    private void contention(final String name, final Supplier<SnowflakeSequence> supplier)
+        throws InterruptedException {
+        for (int threads : THREADS) {
+            final SnowflakeSequence sequence = supplier.get();
+            final Set<Long> ids = ConcurrentHashMap.newKeySet(threads * ITERATIONS);
+            final CountDownLatch start = new CountDownLatch(1);
+            final CountDownLatch end = new CountDownLatch(threads);
+            for (int i = 0; i < threads; i++) {
+                new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int j = 0; j < ITERATIONS; j++) {
+                            ids.add(sequence.nextId());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        end.countDown();
+                    }
+                }).start();
+            }
+            final long begin = System.nanoTime();
+            start.countDown();
+            end.await();
+            final long elapsed = System.nanoTime() - begin;
+            Assertions.assertEquals(threads * ITERATIONS, ids.size());
+            log.info("{}: threads = {}, ops/ms = {}", name, threads,
+                (threads * ITERATIONS) * 1000000L / Math.max(elapsed, 1L));
+        }
+    }
+}